@@ -0,0 +1,67 @@
+#!/bin/bash
+
+# Startup Benchmark for Exchange Rates API
+# Builds each Docker startup variant (jvm, cds, aot, native) and records how
+# long a fresh container takes to report healthy and to answer its first
+# /exchangeRates request. Results are appended to build/startup-results.md.
+#
+# Usage: scripts/startup-benchmark.sh [variant ...]
+#   RUNS=5                   Containers started per variant (default 5)
+#   FIRST_REQUEST=/exchangeRates/EUR?symbols=USD,GBP
+
+set -e
+
+VARIANTS=("$@")
+if [ ${#VARIANTS[@]} -eq 0 ]; then
+    VARIANTS=(jvm cds aot native)
+fi
+RUNS=${RUNS:-5}
+FIRST_REQUEST=${FIRST_REQUEST:-/exchangeRates/EUR?symbols=USD,GBP}
+PORT=18080
+RESULTS=build/startup-results.md
+
+now_ms() {
+    date +%s%3N
+}
+
+mkdir -p build
+{
+    echo ""
+    echo "## $(date -u +%Y-%m-%dT%H:%M:%SZ) ($(uname -m), ${RUNS} runs each, median)"
+    echo ""
+    echo "| Variant | Image size | Started in (reported) | Healthy after | First request |"
+    echo "|---------|------------|-----------------------|---------------|---------------|"
+} >> "$RESULTS"
+
+for variant in "${VARIANTS[@]}"; do
+    echo "🔨 Building $variant..."
+    docker build -q --target "$variant" -t "exchangerates:$variant" . > /dev/null
+    size=$(docker image inspect "exchangerates:$variant" --format '{{.Size}}' | awk '{printf "%.0f MB", $1 / 1000000}')
+
+    healthy=()
+    first=()
+    reported=()
+    for run in $(seq "$RUNS"); do
+        start=$(now_ms)
+        container=$(docker run -d -p "$PORT:8080" "exchangerates:$variant")
+
+        until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+            sleep 0.01
+        done
+        healthy+=($(( $(now_ms) - start )))
+
+        first+=($(curl -s -o /dev/null -w '%{time_total}' "http://localhost:$PORT$FIRST_REQUEST" | awk '{printf "%.0f", $1 * 1000}'))
+        reported+=($(docker logs "$container" 2>&1 | grep -o 'Started ExchangeratesApplication in [0-9.]* seconds' \
+                     | grep -o '[0-9.]*' | head -1 | awk '{printf "%.0f", $1 * 1000}'))
+
+        docker rm -f "$container" > /dev/null
+        echo "   run $run: healthy after ${healthy[-1]} ms, first request ${first[-1]} ms"
+    done
+
+    median() {
+        printf '%s\n' "$@" | sort -n | awk '{a[NR] = $1} END {print a[int((NR + 1) / 2)]}'
+    }
+    echo "| $variant | $size | $(median "${reported[@]}") ms | $(median "${healthy[@]}") ms | $(median "${first[@]}") ms |" >> "$RESULTS"
+done
+
+echo "✅ Results appended to $RESULTS"
@@ -0,0 +1,66 @@
+package com.cj.exchangerates.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.cj.exchangerates.cache.CacheKey;
+import com.cj.exchangerates.model.ExchangeRateResponse;
+
+/**
+ * Benchmarks the cache key construction and rate averaging helpers of
+ * ExchangeRateService.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AggregationBenchmark {
+
+    @Param({"1", "5", "30"})
+    private int symbolCount;
+
+    private List<String> symbols;
+
+    private Map<String, ExchangeRateResponse> allRates;
+
+    private Map<String, List<Double>> combinedRates;
+
+    private final ProviderWeights weights = new ProviderWeights("fawaz:2");
+
+    @Setup
+    public void setUp() {
+        // Reverse order so the key has to be sorted.
+        symbols = BenchmarkSupport.CURRENCIES.subList(0, symbolCount).reversed();
+        allRates = new BenchmarkSupport.StubApiService().fetchAllRates("USD", symbols);
+        combinedRates = ExchangeRateService.combineRates(allRates);
+    }
+
+    @Benchmark
+    public CacheKey createCacheKey() {
+        return CacheKey.of("USD", symbols);
+    }
+
+    @Benchmark
+    public Map<String, List<Double>> combineRates() {
+        return ExchangeRateService.combineRates(allRates);
+    }
+
+    @Benchmark
+    public Map<String, Double> calculateAverages() {
+        return ExchangeRateService.calculateAverages(combinedRates);
+    }
+
+    @Benchmark
+    public Map<String, Double> weightedAverages() {
+        return ExchangeRateService.weightedAverages(allRates, weights);
+    }
+}
@@ -0,0 +1,92 @@
+package com.cj.exchangerates.service;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.cj.exchangerates.cache.NegativeCache;
+import com.cj.exchangerates.cache.RateCache;
+import com.cj.exchangerates.cache.RateChangeLog;
+import com.cj.exchangerates.cache.RateExpiryPolicy;
+import com.cj.exchangerates.cache.RateMatrix;
+import com.cj.exchangerates.model.ExchangeRateResponse;
+
+/**
+ * Shared fixtures for the benchmarks.
+ */
+final class BenchmarkSupport {
+
+    /**
+     * A representative set of currencies quoted by both providers.
+     */
+    static final List<String> CURRENCIES = List.of(
+            "AUD", "BGN", "BRL", "CAD", "CHF", "CNY", "CZK", "DKK", "EUR", "GBP",
+            "HKD", "HUF", "IDR", "ILS", "INR", "ISK", "JPY", "KRW", "MXN", "MYR",
+            "NOK", "NZD", "PHP", "PLN", "RON", "SEK", "SGD", "THB", "TRY", "ZAR");
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Creates an ExchangeRateService wired to the given collaborators.
+     *
+     * @param apiService     The API service to use
+     * @param metricsService The metrics service to use
+     * @return The wired service
+     */
+    static ExchangeRateService exchangeRateService(IApiService apiService, IMetricsService metricsService) {
+        final ExchangeRateService service = new ExchangeRateService();
+        inject(service, "apiService", apiService);
+        inject(service, "metricsService", metricsService);
+        inject(service, "cache", new RateCache());
+        inject(service, "prefetcher", new RatePrefetcher());
+        inject(service, "expiryPolicy", new RateExpiryPolicy());
+        inject(service, "matrix", new RateMatrix());
+        inject(service, "changeLog", new RateChangeLog());
+        inject(service, "negativeCache", new NegativeCache());
+        inject(service, "capabilities", new ProviderCapabilities());
+        inject(service, "weights", new ProviderWeights());
+        return service;
+    }
+
+    /**
+     * Builds a provider response quoting every requested symbol.
+     *
+     * @param base    The base currency
+     * @param symbols The symbols to quote
+     * @param offset  An offset added to each rate so providers differ
+     * @return The provider response
+     */
+    static ExchangeRateResponse providerResponse(String base, List<String> symbols, double offset) {
+        final Map<String, Double> rates = new HashMap<>();
+        for (int i = 0; i < symbols.size(); i++) {
+            rates.put(symbols.get(i), 1.0 + i / 100.0 + offset);
+        }
+        return new ExchangeRateResponse(base, rates);
+    }
+
+    private static void inject(Object target, String fieldName, Object value) {
+        try {
+            final Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to inject " + fieldName, e);
+        }
+    }
+
+    /**
+     * An IApiService that answers immediately with canned rates from two providers.
+     */
+    static final class StubApiService implements IApiService {
+
+        @Override
+        public Map<String, ExchangeRateResponse> fetchAllRates(String base, List<String> symbols) {
+            final Map<String, ExchangeRateResponse> allRates = new HashMap<>();
+            allRates.put("frankfurter", providerResponse(base, symbols, 0.0));
+            allRates.put("fawaz", providerResponse(base, symbols, 0.01));
+            return allRates;
+        }
+    }
+}
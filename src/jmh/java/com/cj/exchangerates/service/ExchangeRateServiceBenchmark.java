@@ -0,0 +1,54 @@
+package com.cj.exchangerates.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+
+/**
+ * Benchmarks ExchangeRateService.getExchangeRates on the cache-hit and
+ * cache-miss paths, with a stub IApiService so no network is involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExchangeRateServiceBenchmark {
+
+    @Param({"1", "5", "30"})
+    private int symbolCount;
+
+    private final IApiService apiService = new BenchmarkSupport.StubApiService();
+
+    private final MetricsService metricsService = new MetricsService();
+
+    private ExchangeRateService warmService;
+
+    private List<String> symbols;
+
+    @Setup
+    public void setUp() {
+        symbols = BenchmarkSupport.CURRENCIES.subList(0, symbolCount);
+        warmService = BenchmarkSupport.exchangeRateService(apiService, metricsService);
+        warmService.getExchangeRates("USD", symbols);
+    }
+
+    @Benchmark
+    public ExchangeRateResponse cacheHit() {
+        return warmService.getExchangeRates("USD", symbols);
+    }
+
+    @Benchmark
+    public ExchangeRateResponse cacheMiss() {
+        // A fresh service has an empty cache, so every call takes the fetch and aggregate path.
+        return BenchmarkSupport.exchangeRateService(apiService, metricsService).getExchangeRates("USD", symbols);
+    }
+}
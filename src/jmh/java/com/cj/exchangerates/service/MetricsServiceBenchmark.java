@@ -0,0 +1,35 @@
+package com.cj.exchangerates.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Benchmarks MetricsService counter increments with eight threads
+ * updating the same counters.
+ */
+@State(Scope.Benchmark)
+@Threads(8)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MetricsServiceBenchmark {
+
+    private final MetricsService metricsService = new MetricsService();
+
+    @Benchmark
+    public void incrementTotalQueries() {
+        metricsService.incrementTotalQueries();
+    }
+
+    @Benchmark
+    public void incrementRequestAndResponse() {
+        metricsService.incrementRequest("frankfurter");
+        metricsService.incrementResponse("frankfurter");
+    }
+}
@@ -0,0 +1,80 @@
+package com.cj.exchangerates.service;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Benchmarks decoding and parsing of Frankfurter-shaped and Fawaz-shaped
+ * provider payloads, from raw bytes to an ExchangeRateResponse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProviderResponseParserBenchmark {
+
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {};
+
+    /**
+     * Fawaz always returns every currency it knows (~300), regardless of the symbols asked for.
+     */
+    @Param({"300"})
+    private int fawazCurrencyCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ProviderResponseParser parser = new ProviderResponseParser(objectMapper);
+
+    private final List<String> symbols = BenchmarkSupport.CURRENCIES.subList(0, 5);
+
+    private byte[] frankfurterPayload;
+
+    private byte[] fawazPayload;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Map<String, Object> frankfurter = new LinkedHashMap<>();
+        frankfurter.put("amount", 1.0);
+        frankfurter.put("base", "USD");
+        frankfurter.put("date", "2024-01-02");
+        frankfurter.put("rates", BenchmarkSupport.providerResponse("USD", symbols, 0.0).getRates());
+        frankfurterPayload = objectMapper.writeValueAsBytes(frankfurter);
+
+        final Map<String, Double> allCurrencies = new LinkedHashMap<>();
+        for (int i = 0; i < fawazCurrencyCount; i++) {
+            final String code = i < BenchmarkSupport.CURRENCIES.size()
+                    ? BenchmarkSupport.CURRENCIES.get(i)
+                    : "c" + i;
+            allCurrencies.put(code.toLowerCase(), 1.0 + i / 1000.0);
+        }
+        final Map<String, Object> fawaz = new LinkedHashMap<>();
+        fawaz.put("date", "2024-01-02");
+        fawaz.put("usd", allCurrencies);
+        fawazPayload = objectMapper.writeValueAsBytes(fawaz);
+    }
+
+    @Benchmark
+    public ExchangeRateResponse parseFrankfurter() throws IOException {
+        return parser.parseFrankfurter("USD", objectMapper.readValue(frankfurterPayload, JSON_OBJECT));
+    }
+
+    @Benchmark
+    public ExchangeRateResponse parseFawaz() throws IOException {
+        return parser.parseFawaz("USD", symbols, objectMapper.readValue(fawazPayload, JSON_OBJECT));
+    }
+}
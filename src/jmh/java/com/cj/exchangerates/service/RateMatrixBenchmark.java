@@ -0,0 +1,56 @@
+package com.cj.exchangerates.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.cj.exchangerates.cache.RateMatrix;
+
+/**
+ * Benchmarks single-pair lookups and rebuilds of the rate matrix. Lookups
+ * should report no allocation under the gc profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateMatrixBenchmark {
+
+    private RateMatrix matrix;
+
+    private Map<String, Double> pivotRates;
+
+    private Instant expiresAt;
+
+    @Setup
+    public void setUp() {
+        pivotRates = new HashMap<>();
+        for (int i = 0; i < BenchmarkSupport.CURRENCIES.size(); i++) {
+            pivotRates.put(BenchmarkSupport.CURRENCIES.get(i), 1.0 + i / 10.0);
+        }
+        pivotRates.remove("EUR");
+        expiresAt = Instant.now().plus(1, ChronoUnit.DAYS);
+        matrix = new RateMatrix();
+        matrix.rebuild(pivotRates, null, expiresAt);
+    }
+
+    @Benchmark
+    public double lookup() {
+        return matrix.rate("USD", "JPY");
+    }
+
+    @Benchmark
+    public RateMatrix rebuild() {
+        matrix.rebuild(pivotRates, null, expiresAt);
+        return matrix;
+    }
+}
@@ -0,0 +1,50 @@
+package com.cj.exchangerates.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Chooses which of the generated request keys to send next.
+ */
+interface KeyDistribution {
+
+    /**
+     * Draws the index of the next key.
+     *
+     * @return An index in [0, keyCount)
+     */
+    int next();
+
+    /**
+     * Every key is equally likely.
+     *
+     * @param keyCount The number of keys
+     * @return The distribution
+     */
+    static KeyDistribution uniform(int keyCount) {
+        return () -> ThreadLocalRandom.current().nextInt(keyCount);
+    }
+
+    /**
+     * Key k (1-based) is drawn with probability proportional to 1 / k^exponent,
+     * so a handful of hot keys dominate, as with real client traffic.
+     *
+     * @param keyCount The number of keys
+     * @param exponent The skew; around 1.0 is typical
+     * @return The distribution
+     */
+    static KeyDistribution zipf(int keyCount, double exponent) {
+        final double[] cumulative = new double[keyCount];
+        double total = 0;
+        for (int k = 0; k < keyCount; k++) {
+            total += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = total;
+        }
+        final double sum = total;
+        return () -> {
+            final double target = ThreadLocalRandom.current().nextDouble() * sum;
+            final int index = Arrays.binarySearch(cumulative, target);
+            return Math.min(index >= 0 ? index : -index - 1, keyCount - 1);
+        };
+    }
+}
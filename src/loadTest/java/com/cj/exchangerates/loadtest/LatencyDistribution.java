@@ -0,0 +1,65 @@
+package com.cj.exchangerates.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A distribution of simulated upstream latencies.
+ * 
+ * Parsed from a spec of the form:
+ * <ul>
+ *   <li>{@code fixed:20ms} - always the same latency</li>
+ *   <li>{@code uniform:10ms:80ms} - uniform between a minimum and maximum</li>
+ *   <li>{@code lognormal:20ms:0.6} - log-normal with the given median and sigma, giving a long tail</li>
+ * </ul>
+ */
+interface LatencyDistribution {
+
+    /**
+     * Draws the next latency.
+     *
+     * @return The latency in nanoseconds
+     */
+    long nextNanos();
+
+    static LatencyDistribution parse(String spec) {
+        final String[] parts = spec.split(":");
+        switch (parts[0]) {
+            case "fixed": {
+                final long nanos = parseDuration(parts[1]).toNanos();
+                return () -> nanos;
+            }
+            case "uniform": {
+                final long min = parseDuration(parts[1]).toNanos();
+                final long max = parseDuration(parts[2]).toNanos();
+                return () -> ThreadLocalRandom.current().nextLong(min, max + 1);
+            }
+            case "lognormal": {
+                final double median = parseDuration(parts[1]).toNanos();
+                final double sigma = Double.parseDouble(parts[2]);
+                return () -> (long) (median * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+            }
+            default:
+                throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+        }
+    }
+
+    /**
+     * Parses a duration such as {@code 250ms}, {@code 30s} or {@code 2m}.
+     *
+     * @param value The duration text
+     * @return The parsed duration
+     */
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        throw new IllegalArgumentException("Duration must end in ms, s or m: " + value);
+    }
+}
@@ -0,0 +1,75 @@
+package com.cj.exchangerates.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings for a load test run, parsed from {@code --name=value} arguments.
+ *
+ * @param rate                  Requests per second issued to /exchangeRates, independent of response times
+ * @param warmup                Time spent at the target rate before measuring
+ * @param duration              Measured time
+ * @param distribution          {@code zipf} or {@code uniform}
+ * @param zipfExponent          Skew of the Zipfian distribution
+ * @param keys                  Number of distinct (base, symbols) keys
+ * @param maxSymbols            Maximum number of symbols per request
+ * @param frankfurterLatency    Latency distribution of the Frankfurter stub
+ * @param fawazLatency          Latency distribution of the Fawaz stub
+ * @param frankfurterErrorRate  Fraction of Frankfurter stub calls answered with a 503
+ * @param fawazErrorRate        Fraction of Fawaz stub calls answered with a 503
+ * @param payloadCurrencies     Number of currencies in each Fawaz stub table
+ * @param seed                  Seed used to generate the keys
+ */
+record LoadTestConfig(
+        int rate,
+        Duration warmup,
+        Duration duration,
+        String distribution,
+        double zipfExponent,
+        int keys,
+        int maxSymbols,
+        String frankfurterLatency,
+        String fawazLatency,
+        double frankfurterErrorRate,
+        double fawazErrorRate,
+        int payloadCurrencies,
+        long seed) {
+
+    static LoadTestConfig parse(String[] args) {
+        final Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Arguments must be of the form --name=value: " + arg);
+            }
+            final int split = arg.indexOf('=');
+            values.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+
+        return new LoadTestConfig(
+                Integer.parseInt(values.getOrDefault("rate", "500")),
+                LatencyDistribution.parseDuration(values.getOrDefault("warmup", "10s")),
+                LatencyDistribution.parseDuration(values.getOrDefault("duration", "30s")),
+                values.getOrDefault("distribution", "zipf"),
+                Double.parseDouble(values.getOrDefault("zipf-exponent", "1.1")),
+                Integer.parseInt(values.getOrDefault("keys", "1000")),
+                Integer.parseInt(values.getOrDefault("max-symbols", "5")),
+                values.getOrDefault("frankfurter-latency", "lognormal:40ms:0.5"),
+                values.getOrDefault("fawaz-latency", "lognormal:25ms:0.8"),
+                Double.parseDouble(values.getOrDefault("frankfurter-error-rate", "0.01")),
+                Double.parseDouble(values.getOrDefault("fawaz-error-rate", "0.01")),
+                Integer.parseInt(values.getOrDefault("payload-currencies", "300")),
+                Long.parseLong(values.getOrDefault("seed", "42")));
+    }
+
+    KeyDistribution keyDistribution() {
+        switch (distribution) {
+            case "zipf":
+                return KeyDistribution.zipf(keys, zipfExponent);
+            case "uniform":
+                return KeyDistribution.uniform(keys);
+            default:
+                throw new IllegalArgumentException("Unknown key distribution: " + distribution);
+        }
+    }
+}
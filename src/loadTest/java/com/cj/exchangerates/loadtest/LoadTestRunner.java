@@ -0,0 +1,173 @@
+package com.cj.exchangerates.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.cj.exchangerates.ExchangeratesApplication;
+
+/**
+ * Offline load test for /exchangeRates.
+ * 
+ * Starts local stub providers, starts the application pointed at them, and
+ * then issues requests at a fixed rate regardless of how quickly responses
+ * come back (an open-loop load). Latency is measured from the time each
+ * request was scheduled to be sent rather than from when it actually was, so
+ * stalls in the application are not hidden by the generator backing off
+ * (coordinated omission). The uncorrected service time is reported alongside
+ * for comparison.
+ */
+public final class LoadTestRunner {
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9, 99.99};
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        final LoadTestConfig config = LoadTestConfig.parse(args);
+
+        try (StubProviderServer stubs = StubProviderServer.start(config);
+             ConfigurableApplicationContext app = new SpringApplicationBuilder(ExchangeratesApplication.class)
+                     .properties(
+                         "server.port=0",
+                         "spring.main.banner-mode=off",
+                         "logging.level.com.cj.exchangerates=WARN",
+                         "exchangerates.admission.enabled=false",
+                         "exchangerates.providers.frankfurter.url=" + stubs.baseUrl() + "/frankfurter",
+                         "exchangerates.providers.fawaz.url=" + stubs.baseUrl() + "/fawaz")
+                     .run()) {
+
+            final int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            System.out.printf("Stub providers on %s, application on port %d%n", stubs.baseUrl(), port);
+            System.out.println(config);
+
+            run(config, keys(config, "http://localhost:" + port));
+        }
+    }
+
+    /**
+     * Generates the distinct request URIs, each a base with a random set of symbols.
+     */
+    private static List<URI> keys(LoadTestConfig config, String baseUrl) {
+        final Random random = new Random(config.seed());
+        final List<String> currencies = StubProviderServer.CURRENCIES;
+        final List<URI> keys = new ArrayList<>(config.keys());
+        for (int i = 0; i < config.keys(); i++) {
+            final String base = currencies.get(random.nextInt(currencies.size()));
+            final TreeSet<String> symbols = new TreeSet<>();
+            final int count = 1 + random.nextInt(config.maxSymbols());
+            while (symbols.size() < count) {
+                final String symbol = currencies.get(random.nextInt(currencies.size()));
+                if (!symbol.equals(base)) {
+                    symbols.add(symbol);
+                }
+            }
+            keys.add(URI.create(baseUrl + "/exchangeRates/" + base + "?symbols=" + String.join(",", symbols)));
+        }
+        return keys;
+    }
+
+    private static void run(LoadTestConfig config, List<URI> keys) throws InterruptedException {
+        final KeyDistribution distribution = config.keyDistribution();
+        final Recorder corrected = new Recorder(3);
+        final Recorder uncorrected = new Recorder(3);
+        final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        final LongAdder completed = new LongAdder();
+
+        final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        final HttpClient client = HttpClient.newBuilder()
+                                            .version(HttpClient.Version.HTTP_1_1)
+                                            .connectTimeout(Duration.ofSeconds(5))
+                                            .executor(executor)
+                                            .build();
+
+        final long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        final long warmupRequests = config.warmup().toSeconds() * config.rate();
+        final long totalRequests = warmupRequests + config.duration().toSeconds() * config.rate();
+        final long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureStart = start;
+
+        for (long i = 0; i < totalRequests; i++) {
+            final long intended = start + i * intervalNanos;
+            long now;
+            while ((now = System.nanoTime()) < intended) {
+                LockSupport.parkNanos(intended - now);
+            }
+
+            final boolean measured = i >= warmupRequests;
+            if (i == warmupRequests) {
+                measureStart = intended;
+                corrected.reset();
+                uncorrected.reset();
+            }
+
+            final long sent = now;
+            final HttpRequest request = HttpRequest.newBuilder(keys.get(distribution.next()))
+                                                   .timeout(Duration.ofSeconds(30))
+                                                   .GET()
+                                                   .build();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                  .whenComplete((response, error) -> {
+                      final long end = System.nanoTime();
+                      if (measured) {
+                          corrected.recordValue(end - intended);
+                          uncorrected.recordValue(end - sent);
+                          final String outcome = error != null
+                                  ? error.getClass().getSimpleName()
+                                  : String.valueOf(response.statusCode());
+                          outcomes.computeIfAbsent(outcome, k -> new LongAdder()).increment();
+                          completed.increment();
+                      }
+                  });
+        }
+        final long measureEnd = System.nanoTime();
+
+        // Wait for the stragglers so the tail is included.
+        final long measuredRequests = totalRequests - warmupRequests;
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (completed.sum() < measuredRequests && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        executor.shutdownNow();
+
+        report(config, measureEnd - measureStart, completed.sum(), measuredRequests, outcomes,
+               corrected.getIntervalHistogram(), uncorrected.getIntervalHistogram());
+    }
+
+    private static void report(LoadTestConfig config, long elapsedNanos, long completed, long issued,
+                               Map<String, LongAdder> outcomes, Histogram corrected, Histogram uncorrected) {
+        final double seconds = elapsedNanos / 1e9;
+        System.out.println();
+        System.out.printf("Target rate:        %d req/s (%s keys)%n", config.rate(), config.distribution());
+        System.out.printf("Achieved rate:      %.1f req/s over %.1f s%n", completed / seconds, seconds);
+        System.out.printf("Completed/issued:   %d/%d%n", completed, issued);
+        System.out.printf("Outcomes:           %s%n", outcomes);
+        System.out.println();
+        System.out.printf("%-12s %18s %18s%n", "Percentile", "Corrected (ms)", "Service time (ms)");
+        for (double percentile : PERCENTILES) {
+            System.out.printf("%-12s %18.3f %18.3f%n", "p" + percentile,
+                    corrected.getValueAtPercentile(percentile) / 1e6,
+                    uncorrected.getValueAtPercentile(percentile) / 1e6);
+        }
+        System.out.printf("%-12s %18.3f %18.3f%n", "max", corrected.getMaxValue() / 1e6, uncorrected.getMaxValue() / 1e6);
+    }
+}
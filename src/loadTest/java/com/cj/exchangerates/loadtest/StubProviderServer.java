@@ -0,0 +1,186 @@
+package com.cj.exchangerates.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-ins for the Frankfurter and Fawaz endpoints.
+ * 
+ * Serves Frankfurter-shaped responses under {@code /frankfurter/latest} and
+ * Fawaz-shaped tables under {@code /fawaz/currencies/{base}.json}, each with its
+ * own latency distribution and error rate. Rates are derived deterministically
+ * from the currency codes, so both stubs agree with each other.
+ */
+final class StubProviderServer implements AutoCloseable {
+
+    /**
+     * Currencies used to build request keys; all of them are quoted by both stubs.
+     */
+    static final List<String> CURRENCIES = List.of(
+            "USD", "EUR", "GBP", "JPY", "AUD", "CAD", "CHF", "CNY", "HKD", "NZD",
+            "SEK", "NOK", "DKK", "SGD", "KRW", "INR", "MXN", "BRL", "ZAR", "PLN",
+            "CZK", "HUF", "ILS", "THB", "TRY", "IDR", "MYR", "PHP", "RON", "ISK");
+
+    private static final String DATE = "2024-01-02";
+
+    private final HttpServer server;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final List<String> universe;
+
+    private StubProviderServer(LoadTestConfig config) throws IOException {
+        this.universe = universe(config.payloadCurrencies());
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+
+        final LatencyDistribution frankfurterLatency = LatencyDistribution.parse(config.frankfurterLatency());
+        final LatencyDistribution fawazLatency = LatencyDistribution.parse(config.fawazLatency());
+
+        server.createContext("/frankfurter/latest",
+                exchange -> handle(exchange, frankfurterLatency, config.frankfurterErrorRate(), this::frankfurterBody));
+        server.createContext("/fawaz/currencies/",
+                exchange -> handle(exchange, fawazLatency, config.fawazErrorRate(), this::fawazBody));
+        server.setExecutor(executor);
+    }
+
+    static StubProviderServer start(LoadTestConfig config) throws IOException {
+        final StubProviderServer stubs = new StubProviderServer(config);
+        stubs.server.start();
+        return stubs;
+    }
+
+    String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange, LatencyDistribution latency, double errorRate,
+                        ResponseBody body) throws IOException {
+        try (exchange) {
+            TimeUnit.NANOSECONDS.sleep(latency.nextNanos());
+
+            if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            final String json = body.render(exchange.getRequestURI());
+            if (json == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * {"amount":1.0,"base":"USD","date":"...","rates":{"EUR":0.9,...}} for the requested symbols.
+     */
+    private String frankfurterBody(URI uri) {
+        final Map<String, String> query = query(uri);
+        final String base = query.getOrDefault("from", "EUR").toUpperCase(Locale.ROOT);
+        final StringBuilder json = new StringBuilder(64)
+                .append("{\"amount\":1.0,\"base\":\"").append(base)
+                .append("\",\"date\":\"").append(DATE).append("\",\"rates\":{");
+        boolean first = true;
+        for (String symbol : query.getOrDefault("to", "").split(",")) {
+            if (symbol.isEmpty()) {
+                continue;
+            }
+            json.append(first ? "" : ",")
+                .append('"').append(symbol.toUpperCase(Locale.ROOT)).append("\":")
+                .append(rate(base, symbol));
+            first = false;
+        }
+        return json.append("}}").toString();
+    }
+
+    /**
+     * {"date":"...","usd":{"eur":0.9,...}} with every currency in the stub universe.
+     */
+    private String fawazBody(URI uri) {
+        final String path = uri.getPath();
+        if (!path.endsWith(".json")) {
+            return null;
+        }
+        final String base = path.substring(path.lastIndexOf('/') + 1, path.length() - ".json".length());
+        final StringBuilder json = new StringBuilder(universe.size() * 24)
+                .append("{\"date\":\"").append(DATE).append("\",\"").append(base).append("\":{");
+        for (int i = 0; i < universe.size(); i++) {
+            final String symbol = universe.get(i);
+            json.append(i == 0 ? "" : ",")
+                .append('"').append(symbol.toLowerCase(Locale.ROOT)).append("\":")
+                .append(rate(base, symbol));
+        }
+        return json.append("}}").toString();
+    }
+
+    private static double rate(String base, String symbol) {
+        return value(symbol) / value(base);
+    }
+
+    private static double value(String code) {
+        return 0.5 + Math.floorMod(code.toUpperCase(Locale.ROOT).hashCode(), 1000) / 500.0;
+    }
+
+    /**
+     * The real currencies followed by synthetic codes, up to the configured payload size.
+     */
+    private static List<String> universe(int size) {
+        final List<String> codes = new ArrayList<>(CURRENCIES);
+        for (char second = 'A'; second <= 'Z' && codes.size() < size; second++) {
+            for (char third = 'A'; third <= 'Z' && codes.size() < size; third++) {
+                codes.add("Q" + second + third);
+            }
+        }
+        return codes;
+    }
+
+    private static Map<String, String> query(URI uri) {
+        final Map<String, String> values = new HashMap<>();
+        if (uri.getRawQuery() == null) {
+            return values;
+        }
+        for (String pair : uri.getQuery().split("&")) {
+            final int split = pair.indexOf('=');
+            if (split > 0) {
+                values.put(pair.substring(0, split), pair.substring(split + 1));
+            }
+        }
+        return values;
+    }
+
+    @FunctionalInterface
+    private interface ResponseBody {
+        String render(URI uri);
+    }
+}
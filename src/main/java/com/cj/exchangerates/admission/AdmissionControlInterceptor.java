@@ -0,0 +1,139 @@
+package com.cj.exchangerates.admission;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.cj.exchangerates.exception.AdmissionRejectedException;
+import com.cj.exchangerates.service.IExchangeRateService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admission control for the exchange rate and conversion endpoints.
+ * 
+ * Requests are checked in two stages before they reach the controller:
+ * <ol>
+ *   <li>A per-client token bucket, keyed on the API key header for
+ *       configured keys or else the remote address, rejects clients over
+ *       their rate with 429. Unrecognised keys are ignored, so a client
+ *       cannot escape its limit by sending a new key with every request.</li>
+ *   <li>An adaptive concurrency limit sheds excess load with 503. Requests
+ *       already cached locally may use the whole limit; misses, which fan out
+ *       to the providers, only a share of it, so under overload cheap hits keep
+ *       being served while expensive misses are shed first.</li>
+ * </ol>
+ * Both rejections are raised as {@link AdmissionRejectedException} and carry
+ * a Retry-After hint.
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlInterceptor.class);
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private static final String START_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".start";
+
+    private static final String CACHED_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".cached";
+
+    private final TokenBucketRateLimiter rateLimiter;
+
+    private final GradientConcurrencyLimiter concurrencyLimiter;
+
+    private final ObjectProvider<IExchangeRateService> exchangeRateService;
+
+    private final Set<String> apiKeys;
+
+    private final double missShare;
+
+    private final long retryAfterSeconds;
+
+    public AdmissionControlInterceptor(TokenBucketRateLimiter rateLimiter,
+                                       GradientConcurrencyLimiter concurrencyLimiter,
+                                       ObjectProvider<IExchangeRateService> exchangeRateService,
+                                       Set<String> apiKeys, double missShare, long retryAfterSeconds) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.exchangeRateService = exchangeRateService;
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.missShare = missShare;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        final String clientId = clientId(request, apiKeys);
+        final long waitNanos = rateLimiter.tryAcquire(clientId);
+        if (waitNanos > 0) {
+            logger.debug("Rate limit exceeded for client: {}", clientId);
+            throw new AdmissionRejectedException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Rate limit exceeded", Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999)));
+        }
+
+        final boolean cached = isCached(request);
+        if (!concurrencyLimiter.tryAcquire(cached ? 1.0 : missShare)) {
+            logger.debug("Shedding request, limit: {}, in flight: {}",
+                    concurrencyLimiter.getLimit(), concurrencyLimiter.getInFlight());
+            throw new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Service is overloaded", retryAfterSeconds);
+        }
+
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        request.setAttribute(CACHED_ATTRIBUTE, cached);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        final Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start instanceof Long startNanos) {
+            request.removeAttribute(START_ATTRIBUTE);
+            concurrencyLimiter.release(System.nanoTime() - startNanos, Boolean.TRUE.equals(request.getAttribute(CACHED_ATTRIBUTE)));
+        }
+    }
+
+    static String clientId(HttpServletRequest request, Set<String> apiKeys) {
+        final String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private boolean isCached(HttpServletRequest request) {
+        final IExchangeRateService service = exchangeRateService.getIfAvailable();
+        if (service == null) {
+            return false;
+        }
+
+        // Rate requests name the base in the path, conversions in the query
+        @SuppressWarnings("unchecked")
+        final Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        final String base = variables != null && variables.containsKey("base")
+                ? variables.get("base") : request.getParameter("base");
+        final String[] values = request.getParameterValues("symbols") != null
+                ? request.getParameterValues("symbols") : request.getParameterValues("target");
+        if (base == null || values == null) {
+            return false;
+        }
+
+        final List<String> symbols = new ArrayList<>();
+        for (String value : values) {
+            for (String symbol : value.split(",")) {
+                symbols.add(symbol.trim());
+            }
+        }
+        return service.isCached(base, symbols);
+    }
+}
@@ -0,0 +1,134 @@
+package com.cj.exchangerates.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive concurrency limiter in the style of the Gradient algorithm.
+ * 
+ * The limit on requests in flight is adjusted from observed latency: a
+ * long-term average RTT is compared with each new sample, and when samples
+ * grow (queueing) the ratio drops below one and shrinks the limit. A small
+ * headroom of sqrt(limit) lets the limit probe upwards while latency is
+ * steady. Requests beyond the current limit are shed immediately instead of
+ * queueing and dragging down latency for everyone.
+ * 
+ * Cache hits and misses differ in latency by orders of magnitude, so each
+ * class is compared with its own long-term RTT; otherwise a shift in the hit
+ * ratio would read as queueing. The limit is only raised while at least half
+ * of it is in use, so an idle service does not drift to the maximum and then
+ * admit a burst it cannot serve.
+ */
+public class GradientConcurrencyLimiter {
+
+    private static final double SMOOTHING = 0.2;
+
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Serializes limit updates; samples that arrive while an update is in
+     * progress are skipped rather than waited for.
+     */
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile double limit;
+
+    /**
+     * Long-term RTT of misses and of cache hits.
+     */
+    private double missRtt;
+
+    private double hitRtt;
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Admits a request if fewer than the given share of the limit are in flight.
+     *
+     * @param share Fraction of the limit this request may use (0, 1]
+     * @return true if admitted; the caller must then call {@link #release}
+     */
+    public boolean tryAcquire(double share) {
+        final int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and feeds its latency into the limit.
+     *
+     * @param rttNanos The request's latency
+     * @param cached   Whether the request was admitted as a cache hit
+     */
+    public void release(long rttNanos, boolean cached) {
+        final int active = inFlight.getAndDecrement();
+        if (rttNanos > 0 && updateLock.tryLock()) {
+            try {
+                if (cached) {
+                    hitRtt = update(hitRtt, rttNanos, active);
+                } else {
+                    missRtt = update(missRtt, rttNanos, active);
+                }
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Moves the limit by one sample.
+     *
+     * @param longRtt  The long-term RTT of the sample's class
+     * @param rttNanos The sample
+     * @param active   Requests in flight when the sample completed, itself included
+     * @return The updated long-term RTT
+     */
+    private double update(double longRtt, long rttNanos, int active) {
+        if (longRtt == 0) {
+            longRtt = rttNanos;
+        } else {
+            longRtt += (rttNanos - longRtt) / LONG_WINDOW;
+        }
+
+        // After a sustained slowdown, let the baseline come back down faster.
+        if (longRtt / rttNanos > 2.0) {
+            longRtt *= 0.95;
+        }
+
+        final double gradient = Math.max(0.5, Math.min(1.0, longRtt / rttNanos));
+        final double current = limit;
+        final double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+        // Application-limited: low latency at low load says nothing about the limit.
+        if (next > current && active * 2 < current) {
+            next = current;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+        return longRtt;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,90 @@
+package com.cj.exchangerates.admission;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-client token bucket rate limiter.
+ * 
+ * Each client gets a bucket holding up to {@code burst} tokens that refills
+ * at {@code ratePerSecond}. A request takes one token; with none left it is
+ * rejected and told how long to wait. Buckets use a ReentrantLock rather than
+ * synchronized so that virtual threads never pin their carrier.
+ * 
+ * At most {@code maxClients} buckets are kept; once that many clients are
+ * active, new ones share a single overflow bucket until idle buckets are
+ * evicted, so a flood of distinct clients cannot exhaust the heap.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double ratePerNano;
+
+    private final double burst;
+
+    private final int maxClients;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private final Bucket overflow;
+
+    public TokenBucketRateLimiter(double ratePerSecond, int burst, int maxClients) {
+        this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.maxClients = maxClients;
+        this.overflow = new Bucket();
+    }
+
+    /**
+     * Takes a token for a client.
+     *
+     * @param clientId The client identifier
+     * @return 0 if the request is allowed, otherwise the number of nanoseconds
+     *         until a token becomes available
+     */
+    public long tryAcquire(String clientId) {
+        Bucket bucket = buckets.get(clientId);
+        if (bucket == null) {
+            bucket = buckets.size() < maxClients ? buckets.computeIfAbsent(clientId, id -> new Bucket()) : overflow;
+        }
+        return bucket.tryAcquire();
+    }
+
+    /**
+     * Removes buckets that have been idle long enough to be full again.
+     *
+     * @param idleNanos The idle time after which a bucket is dropped
+     */
+    public void evictIdle(long idleNanos) {
+        final long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> now - bucket.lastRefill > idleNanos);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private final class Bucket {
+        private final ReentrantLock lock = new ReentrantLock();
+        private double tokens = burst;
+        private volatile long lastRefill = System.nanoTime();
+
+        long tryAcquire() {
+            lock.lock();
+            try {
+                // Read under the lock, so that refills never go back in time
+                final long now = System.nanoTime();
+                tokens = Math.min(burst, tokens + (now - lastRefill) * ratePerNano);
+                lastRefill = now;
+                if (tokens >= 1.0) {
+                    tokens -= 1.0;
+                    return 0;
+                }
+                return (long) Math.ceil((1.0 - tokens) / ratePerNano);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.cj.exchangerates.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Canonical cache key for an exchange rate request.
+ * 
+ * Each 3-letter currency code is packed into a 15-bit id (5 bits per letter,
+ * case-insensitive), and the symbols are held as a sorted, de-duplicated
+ * array of those ids. The hash is computed once on construction, so lookups
+ * and request coalescing compare a short and a small primitive array instead
+ * of building and comparing strings. The same request in any symbol order or
+ * letter case yields an equal key.
+ */
+public final class CacheKey {
+
+    private final short base;
+    private final short[] symbols;
+    private final int hash;
+
+    private CacheKey(short base, short[] symbols) {
+        this.base = base;
+        this.symbols = symbols;
+        this.hash = 31 * base + Arrays.hashCode(symbols);
+    }
+
+    /**
+     * Creates the canonical key for a base currency and a list of symbols.
+     *
+     * @param base    The base currency code
+     * @param symbols The list of symbols
+     * @return The canonical cache key
+     * @throws IllegalArgumentException if any code is not a 3-letter code
+     */
+    public static CacheKey of(String base, List<String> symbols) {
+        final short[] ids = new short[symbols.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = encode(symbols.get(i));
+        }
+        Arrays.sort(ids);
+
+        // Drop duplicates in place
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return new CacheKey(encode(base), distinct == ids.length ? ids : Arrays.copyOf(ids, distinct));
+    }
+
+    /**
+     * Parses a key from its string form, as produced by {@link #toString()}.
+     *
+     * @param value The key in the form {base}|{sorted_symbols}
+     * @return The canonical cache key
+     * @throws IllegalArgumentException if the value is not a valid key
+     */
+    public static CacheKey parse(String value) {
+        final int split = value.indexOf('|');
+        if (split < 0) {
+            throw new IllegalArgumentException("Invalid cache key: " + value);
+        }
+        return of(value.substring(0, split), List.of(value.substring(split + 1).split(",")));
+    }
+
+    /**
+     * Packs a 3-letter currency code into a 15-bit id.
+     *
+     * @param code The currency code
+     * @return The packed id
+     * @throws IllegalArgumentException if the code is not a 3-letter code
+     */
+    public static short encode(String code) {
+        final int id = tryEncode(code);
+        if (id < 0) {
+            throw new IllegalArgumentException("Currency codes must be 3-letter codes: " + code);
+        }
+        return (short) id;
+    }
+
+    /**
+     * Packs a 3-letter currency code into a 15-bit id without throwing.
+     *
+     * @param code The currency code, in either case
+     * @return The id, or -1 if the code is not three ASCII letters
+     */
+    public static int tryEncode(String code) {
+        if (code == null || code.length() != 3) {
+            return -1;
+        }
+        int id = 0;
+        for (int i = 0; i < 3; i++) {
+            final int letter = (code.charAt(i) | 0x20) - 'a';
+            if (letter < 0 || letter >= 26) {
+                return -1;
+            }
+            id = (id << 5) | letter;
+        }
+        return id;
+    }
+
+    /**
+     * Unpacks a 15-bit id into an upper-case currency code.
+     *
+     * @param id The packed id
+     * @return The currency code
+     */
+    public static String decode(short id) {
+        return new String(new char[] {
+            (char) ('A' + ((id >> 10) & 0x1F)),
+            (char) ('A' + ((id >> 5) & 0x1F)),
+            (char) ('A' + (id & 0x1F))
+        });
+    }
+
+    public String getBase() {
+        return decode(base);
+    }
+
+    public List<String> getSymbols() {
+        final List<String> codes = new ArrayList<>(symbols.length);
+        for (short symbol : symbols) {
+            codes.add(decode(symbol));
+        }
+        return codes;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CacheKey other)) {
+            return false;
+        }
+        return hash == other.hash && base == other.base && Arrays.equals(symbols, other.symbols);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * @return The key in the form {base}|{sorted_symbols} (e.g., "USD|EUR,GBP,JPY")
+     */
+    @Override
+    public String toString() {
+        return getBase() + "|" + String.join(",", getSymbols());
+    }
+}
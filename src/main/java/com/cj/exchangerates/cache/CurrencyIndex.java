@@ -0,0 +1,104 @@
+package com.cj.exchangerates.cache;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Assigns dense indexes 0..capacity-1 to currency codes in the order they are
+ * first seen, so rate tables can be laid out as fixed-size rows and columns.
+ * 
+ * Lookups go through a table indexed by the packed 15-bit code (see
+ * {@link CacheKey#tryEncode}), so reading an index neither hashes nor allocates.
+ */
+public class CurrencyIndex {
+
+    private final int capacity;
+
+    /**
+     * Dense index by packed code, -1 where unassigned. Entries go from -1 to
+     * their final value exactly once, so racing readers at worst see -1. Each
+     * is set with a volatile write after the code it indexes, so a reader
+     * that sees an index also sees {@link #codeAt} return its code.
+     */
+    private final AtomicIntegerArray indexByCode = new AtomicIntegerArray(1 << 15);
+
+    /**
+     * Codes by index, published by the writes to indexByCode and size.
+     */
+    private final String[] codeByIndex;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile int size;
+
+    public CurrencyIndex(int capacity) {
+        if (capacity <= 0 || capacity > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Currency index capacity must be between 1 and " + Short.MAX_VALUE);
+        }
+        this.capacity = capacity;
+        this.codeByIndex = new String[capacity];
+        for (int id = 0; id < indexByCode.length(); id++) {
+            indexByCode.set(id, -1);
+        }
+    }
+
+    /**
+     * @param code The currency code
+     * @return The code's index, or -1 if it is invalid or not registered
+     */
+    public int indexOf(String code) {
+        final int id = CacheKey.tryEncode(code);
+        return id < 0 ? -1 : indexByCode.get(id);
+    }
+
+    /**
+     * Returns the code's index, assigning the next free one if needed.
+     *
+     * @param code The currency code
+     * @return The code's index, or -1 if it is invalid or the index is full
+     */
+    public int register(String code) {
+        final int id = CacheKey.tryEncode(code);
+        if (id < 0) {
+            return -1;
+        }
+        final int existing = indexByCode.get(id);
+        if (existing >= 0) {
+            return existing;
+        }
+
+        lock.lock();
+        try {
+            final int raced = indexByCode.get(id);
+            if (raced >= 0) {
+                return raced;
+            }
+            if (size == capacity) {
+                return -1;
+            }
+            final int index = size;
+            codeByIndex[index] = code.toUpperCase();
+            size = index + 1;
+            indexByCode.set(id, index);
+            return index;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param index A registered index
+     * @return The upper-case currency code at that index
+     */
+    public String codeAt(int index) {
+        return codeByIndex[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,61 @@
+package com.cj.exchangerates.cache;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+
+/**
+ * Rate tables held as immutable maps on the heap.
+ */
+public class HeapRateTableStore implements IRateTableStore {
+
+    private final Map<String, ExchangeRateResponse> tables = new ConcurrentHashMap<>();
+
+    @Override
+    public void put(String base, Map<String, Double> rates, LocalDate date) {
+        final String code = base.toUpperCase();
+        tables.put(code, new ExchangeRateResponse(code, Map.copyOf(rates), date));
+    }
+
+    @Override
+    public ExchangeRateResponse get(String base, List<String> symbols) {
+        final ExchangeRateResponse table = tables.get(base.trim().toUpperCase());
+        if (table == null) {
+            return null;
+        }
+
+        final Map<String, Double> rates = new HashMap<>();
+        for (String symbol : symbols) {
+            final String key = symbol.trim().toUpperCase();
+            final Double rate = table.getRates().get(key);
+            if (rate == null) {
+                return null;
+            }
+            rates.put(key, rate);
+        }
+        return new ExchangeRateResponse(table.getBase(), rates, table.getDate());
+    }
+
+    @Override
+    public boolean contains(String base, List<String> symbols) {
+        final ExchangeRateResponse table = tables.get(base.trim().toUpperCase());
+        if (table == null) {
+            return false;
+        }
+        for (String symbol : symbols) {
+            if (symbol == null || !table.getRates().containsKey(symbol.trim().toUpperCase())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return tables.size();
+    }
+}
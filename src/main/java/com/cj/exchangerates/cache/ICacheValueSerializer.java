@@ -0,0 +1,21 @@
+package com.cj.exchangerates.cache;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+
+/**
+ * Converts cached responses to and from the bytes held in the remote cache tier.
+ */
+public interface ICacheValueSerializer {
+
+    /**
+     * @param value The response to serialize
+     * @return The serialized bytes
+     */
+    public byte[] serialize(ExchangeRateResponse value);
+
+    /**
+     * @param bytes The serialized bytes
+     * @return The deserialized response
+     */
+    public ExchangeRateResponse deserialize(byte[] bytes);
+}
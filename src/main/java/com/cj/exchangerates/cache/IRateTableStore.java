@@ -0,0 +1,46 @@
+package com.cj.exchangerates.cache;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+
+/**
+ * Holds full rate tables, one per base currency, for requests to be answered
+ * from whatever subset of symbols they ask for.
+ */
+public interface IRateTableStore {
+
+    /**
+     * Stores a base's table, replacing the previous one.
+     *
+     * @param base  The base currency
+     * @param rates The rates by upper-case symbol
+     * @param date  The date of the data, or null if unknown
+     */
+    public void put(String base, Map<String, Double> rates, LocalDate date);
+
+    /**
+     * Reads the requested symbols from a base's table.
+     *
+     * @param base    The base currency
+     * @param symbols The symbols
+     * @return The rates, or null unless the table holds every symbol
+     */
+    public ExchangeRateResponse get(String base, List<String> symbols);
+
+    /**
+     * Checks whether a base's table holds every requested symbol.
+     *
+     * @param base    The base currency
+     * @param symbols The symbols
+     * @return true if {@link #get} would return rates
+     */
+    public boolean contains(String base, List<String> symbols);
+
+    /**
+     * @return The number of bases with a table
+     */
+    public int size();
+}
@@ -0,0 +1,49 @@
+package com.cj.exchangerates.cache;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * A key-value store shared by all replicas, used as the second cache tier.
+ */
+public interface IRemoteCacheStore {
+
+    /**
+     * Reads a value.
+     *
+     * @param key The key
+     * @return The stored bytes, or null if absent
+     */
+    public byte[] get(String key);
+
+    /**
+     * Writes a value, replacing any existing one.
+     *
+     * @param key   The key
+     * @param value The bytes to store
+     * @param ttl   How long the value lives
+     */
+    public void put(String key, byte[] value, Duration ttl);
+
+    /**
+     * Removes every value whose key starts with a prefix.
+     *
+     * @param prefix The prefix
+     */
+    public void removeByPrefix(String prefix);
+
+    /**
+     * Broadcasts an invalidation message to every subscribed replica,
+     * including the sender.
+     *
+     * @param message The message
+     */
+    public void publish(String message);
+
+    /**
+     * Registers a listener for invalidation messages.
+     *
+     * @param listener The listener
+     */
+    public void subscribe(Consumer<String> listener);
+}
@@ -0,0 +1,59 @@
+package com.cj.exchangerates.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Embedded stand-in for the remote cache tier.
+ * 
+ * Holds values in process, dropping them once their TTL has passed, and
+ * delivers invalidation messages synchronously.
+ * Replicas that share one instance behave like replicas sharing a Redis server,
+ * which makes it suitable for tests and single-node development.
+ */
+public class InMemoryRemoteCacheStore implements IRemoteCacheStore {
+
+    private final Map<String, Value> values = new ConcurrentHashMap<>();
+
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public byte[] get(String key) {
+        final Value value = values.get(key);
+        if (value == null) {
+            return null;
+        }
+        if (value.expiresAt - System.nanoTime() <= 0) {
+            values.remove(key, value);
+            return null;
+        }
+        return value.bytes;
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        values.put(key, new Value(value, System.nanoTime() + ttl.toNanos()));
+    }
+
+    @Override
+    public void removeByPrefix(String prefix) {
+        values.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    @Override
+    public void publish(String message) {
+        listeners.forEach(listener -> listener.accept(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    private record Value(byte[] bytes, long expiresAt) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.cj.exchangerates.cache;
+
+import java.io.IOException;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serializes cached responses as JSON.
+ */
+public class JacksonCacheValueSerializer implements ICacheValueSerializer {
+
+    private final ObjectMapper objectMapper;
+
+    public JacksonCacheValueSerializer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public byte[] serialize(ExchangeRateResponse value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to serialize cached response", e);
+        }
+    }
+
+    @Override
+    public ExchangeRateResponse deserialize(byte[] bytes) {
+        try {
+            return objectMapper.readValue(bytes, ExchangeRateResponse.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to deserialize cached response", e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.cj.exchangerates.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers, for a short while, lookups that are known to fail, so repeated
+ * bad requests are answered locally instead of each reaching the providers.
+ * 
+ * <ul>
+ *   <li>Unknown symbols: no provider quoted them in a fetch where every
+ *       provider answered.</li>
+ *   <li>Failing base/provider pairs: the provider errored or returned nothing
+ *       usable for the base, and is skipped for that base until the entry
+ *       expires.</li>
+ * </ul>
+ * Entries are expiry times indexed by the packed {@link CacheKey} id, so
+ * checks neither hash nor allocate.
+ */
+@Component
+public class NegativeCache {
+
+    private static final int IDS = 1 << 15;
+
+    private final AtomicLongArray unknownSymbols = new AtomicLongArray(IDS);
+
+    private final Map<String, AtomicLongArray> failingBases = new ConcurrentHashMap<>();
+
+    private final long symbolTtlMillis;
+
+    private final long failureTtlMillis;
+
+    private final Clock clock;
+
+    public NegativeCache() {
+        this(Duration.ofMinutes(10), Duration.ofSeconds(30));
+    }
+
+    @Autowired
+    public NegativeCache(@Value("${exchangerates.cache.negative.symbol-ttl:10m}") Duration symbolTtl,
+                         @Value("${exchangerates.cache.negative.failure-ttl:30s}") Duration failureTtl) {
+        this(symbolTtl, failureTtl, Clock.systemUTC());
+    }
+
+    NegativeCache(Duration symbolTtl, Duration failureTtl, Clock clock) {
+        this.symbolTtlMillis = symbolTtl.toMillis();
+        this.failureTtlMillis = failureTtl.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Records that no provider quotes a symbol.
+     *
+     * @param symbol The currency code
+     */
+    public void markUnknown(String symbol) {
+        final int id = CacheKey.tryEncode(symbol);
+        if (id >= 0) {
+            unknownSymbols.set(id, clock.millis() + symbolTtlMillis);
+        }
+    }
+
+    /**
+     * @param id A packed id from {@link CacheKey#tryEncode(String)}
+     * @return true if the symbol was recently found to be unknown
+     */
+    public boolean isUnknown(int id) {
+        return id >= 0 && unknownSymbols.get(id) > clock.millis();
+    }
+
+    /**
+     * @param symbol The currency code
+     * @return true if the symbol was recently found to be unknown
+     */
+    public boolean isUnknown(String symbol) {
+        return isUnknown(CacheKey.tryEncode(symbol));
+    }
+
+    /**
+     * Records that a provider failed for a base.
+     *
+     * @param provider The provider name
+     * @param base     The base currency code
+     */
+    public void markFailing(String provider, String base) {
+        final int id = CacheKey.tryEncode(base);
+        if (id >= 0) {
+            failingBases.computeIfAbsent(provider, p -> new AtomicLongArray(IDS))
+                        .set(id, clock.millis() + failureTtlMillis);
+        }
+    }
+
+    /**
+     * @param provider The provider name
+     * @param base     The base currency code
+     * @return true if the provider recently failed for the base
+     */
+    public boolean isFailing(String provider, String base) {
+        final AtomicLongArray failing = failingBases.get(provider);
+        final int id = CacheKey.tryEncode(base);
+        return failing != null && id >= 0 && failing.get(id) > clock.millis();
+    }
+
+    /**
+     * @param base The base currency code
+     * @return true if any provider recently failed for the base
+     */
+    public boolean isAnyFailing(String base) {
+        final int id = CacheKey.tryEncode(base);
+        if (id < 0) {
+            return false;
+        }
+        final long now = clock.millis();
+        for (AtomicLongArray failing : failingBases.values()) {
+            if (failing.get(id) > now) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes when a response with no usable or incomplete rates expires,
+     * which is far sooner than complete data would.
+     *
+     * @param now The current instant
+     * @return The expiry instant
+     */
+    public Instant failureExpiresAt(Instant now) {
+        return now.plusMillis(failureTtlMillis);
+    }
+}
@@ -0,0 +1,184 @@
+package com.cj.exchangerates.cache;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+
+/**
+ * Rate tables held outside the Java heap, so a full multi-base matrix stays
+ * resident without adding to GC work.
+ * 
+ * Memory is one direct buffer of capacity x capacity fixed-size slots, the
+ * row being the base's {@link CurrencyIndex} index and the column the
+ * symbol's. Each 24-byte slot holds:
+ * <pre>
+ *   0  base index   (short)
+ *   2  symbol index (short)
+ *   4  padding
+ *   8  rate         (double, NaN when absent)
+ *  16  timestamp    (long, epoch millis of the data date, Long.MIN_VALUE when unknown)
+ * </pre>
+ * A row is rewritten as a whole under a per-row sequence number that is odd
+ * while a write is in progress; readers retry if it changed under them, so
+ * reads take no locks.
+ */
+public class OffHeapRateTableStore implements IRateTableStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffHeapRateTableStore.class);
+
+    static final int SLOT_BYTES = 24;
+
+    private static final int BASE_OFFSET = 0;
+
+    private static final int SYMBOL_OFFSET = 2;
+
+    private static final int RATE_OFFSET = 8;
+
+    private static final int TIMESTAMP_OFFSET = 16;
+
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final CurrencyIndex currencies;
+
+    private final int capacity;
+
+    private final ByteBuffer slots;
+
+    private final AtomicLongArray versions;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public OffHeapRateTableStore(CurrencyIndex currencies) {
+        this.currencies = currencies;
+        this.capacity = currencies.capacity();
+        this.slots = ByteBuffer.allocateDirect(Math.multiplyExact(capacity * capacity, SLOT_BYTES))
+                               .order(ByteOrder.nativeOrder());
+        this.versions = new AtomicLongArray(capacity);
+        for (int row = 0; row < capacity; row++) {
+            clearRow(row);
+        }
+        logger.info("Off-heap rate store allocated for {} currencies ({} KB)", capacity, slots.capacity() / 1024);
+    }
+
+    @Override
+    public void put(String base, Map<String, Double> rates, LocalDate date) {
+        final int row = currencies.register(base);
+        if (row < 0) {
+            logger.warn("Off-heap rate store cannot hold base: {}", base);
+            return;
+        }
+        final long timestamp = date != null ? date.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli() : NO_TIMESTAMP;
+
+        writeLock.lock();
+        try {
+            versions.incrementAndGet(row);
+            clearRow(row);
+            for (Map.Entry<String, Double> entry : rates.entrySet()) {
+                final int column = currencies.register(entry.getKey());
+                if (column < 0 || entry.getValue() == null) {
+                    continue;
+                }
+                final int slot = slot(row, column);
+                slots.putShort(slot + BASE_OFFSET, (short) row);
+                slots.putShort(slot + SYMBOL_OFFSET, (short) column);
+                slots.putDouble(slot + RATE_OFFSET, entry.getValue());
+                slots.putLong(slot + TIMESTAMP_OFFSET, timestamp);
+            }
+            versions.incrementAndGet(row);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public ExchangeRateResponse get(String base, List<String> symbols) {
+        final int row = currencies.indexOf(base.trim());
+        if (row < 0) {
+            return null;
+        }
+
+        while (true) {
+            final long version = versions.get(row);
+            if (version == 0) {
+                return null;
+            }
+            if ((version & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            final Map<String, Double> rates = new HashMap<>();
+            long timestamp = NO_TIMESTAMP;
+            boolean complete = true;
+            for (String symbol : symbols) {
+                final String code = symbol.trim();
+                final int column = currencies.indexOf(code);
+                final double rate = column < 0 ? Double.NaN : slots.getDouble(slot(row, column) + RATE_OFFSET);
+                if (Double.isNaN(rate)) {
+                    complete = false;
+                    break;
+                }
+                rates.put(code.toUpperCase(), rate);
+                timestamp = slots.getLong(slot(row, column) + TIMESTAMP_OFFSET);
+            }
+
+            VarHandle.acquireFence();
+            if (versions.get(row) == version) {
+                if (!complete) {
+                    return null;
+                }
+                final LocalDate date = timestamp == NO_TIMESTAMP ? null
+                        : LocalDate.ofEpochDay(Math.floorDiv(timestamp, 86_400_000L));
+                return new ExchangeRateResponse(currencies.codeAt(row), rates, date);
+            }
+        }
+    }
+
+    @Override
+    public boolean contains(String base, List<String> symbols) {
+        final int row = currencies.indexOf(base.trim());
+        if (row < 0 || versions.get(row) == 0) {
+            return false;
+        }
+        for (String symbol : symbols) {
+            final int column = symbol == null ? -1 : currencies.indexOf(symbol.trim());
+            if (column < 0 || Double.isNaN(slots.getDouble(slot(row, column) + RATE_OFFSET))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (int row = 0; row < capacity; row++) {
+            if (versions.get(row) != 0) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private void clearRow(int row) {
+        for (int column = 0; column < capacity; column++) {
+            slots.putDouble(slot(row, column) + RATE_OFFSET, Double.NaN);
+        }
+    }
+
+    private int slot(int row, int column) {
+        return (row * capacity + column) * SLOT_BYTES;
+    }
+}
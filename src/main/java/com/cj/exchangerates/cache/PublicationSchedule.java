@@ -0,0 +1,60 @@
+package com.cj.exchangerates.cache;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * When a provider publishes a new data set: once a day at a fixed local
+ * time, optionally on working days only.
+ */
+public class PublicationSchedule {
+
+    private final LocalTime time;
+
+    private final ZoneId zone;
+
+    private final boolean weekdaysOnly;
+
+    public PublicationSchedule(LocalTime time, ZoneId zone, boolean weekdaysOnly) {
+        this.time = time;
+        this.zone = zone;
+        this.weekdaysOnly = weekdaysOnly;
+    }
+
+    /**
+     * @param now The current instant
+     * @return The most recent publication at or before now
+     */
+    public ZonedDateTime latest(Instant now) {
+        ZonedDateTime publication = now.atZone(zone).with(time);
+        if (publication.toInstant().isAfter(now)) {
+            publication = publication.minusDays(1);
+        }
+        while (skipped(publication)) {
+            publication = publication.minusDays(1);
+        }
+        return publication;
+    }
+
+    /**
+     * @param now The current instant
+     * @return The first publication after now
+     */
+    public ZonedDateTime next(Instant now) {
+        ZonedDateTime publication = now.atZone(zone).with(time);
+        if (!publication.toInstant().isAfter(now)) {
+            publication = publication.plusDays(1);
+        }
+        while (skipped(publication)) {
+            publication = publication.plusDays(1);
+        }
+        return publication;
+    }
+
+    private boolean skipped(ZonedDateTime day) {
+        return weekdaysOnly && (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY);
+    }
+}
@@ -0,0 +1,615 @@
+package com.cj.exchangerates.cache;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+import com.cj.exchangerates.tenant.TenantContext;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Two-tier cache for exchange rate responses.
+ * 
+ * The first tier (L1) is a local ConcurrentHashMap. When a remote store is
+ * configured it acts as a second tier (L2) shared by all replicas:
+ * <ul>
+ *   <li>Reads check L1, then L2, and copy L2 hits into L1 (near cache).</li>
+ *   <li>Writes go through to L2 before returning, then broadcast an
+ *       invalidation so other replicas drop their L1 copy and re-read L2.</li>
+ * </ul>
+ * Every entry carries its own expiry (see {@link RateExpiryPolicy}); expired
+ * entries are treated as misses in both tiers. A failing L2 never fails a
+ * request; the cache degrades to L1 only.
+ * 
+ * L1 is partitioned by tenant (see {@link TenantContext}). Only the tenants
+ * listed in exchangerates.cache.tenants.weights get a partition of their own;
+ * any other tenant uses the anonymous one, so clients cannot create
+ * partitions by inventing keys. Entries are stored once and shared by every
+ * tenant that reads them, but each tenant's partition is charged for the
+ * entries it holds, up to a quota of exchangerates.cache.tenants.quota times
+ * the tenant's weight. A tenant over its quota evicts only from its own
+ * partition, least recently used first (second chance), so one tenant's churn
+ * cannot evict another's hot entries. An entry leaves L1 once no partition
+ * holds it. Hits and misses are counted per tenant.
+ * 
+ * L1 as a whole is capped at exchangerates.cache.l1.max-size, however many
+ * tenants are configured. Over the cap, the partition holding the most for
+ * its weight evicts first.
+ */
+@Component
+public class RateCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateCache.class);
+
+    private static final String KEY_PREFIX = "exchangerates:rates:";
+
+    /**
+     * Stands for every symbol set in a base-wide invalidation.
+     */
+    private static final String ALL_SYMBOLS = "|*";
+
+    /**
+     * Identifies this replica in invalidation messages so it ignores its own.
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<CacheKey, Entry> local = new ConcurrentHashMap<>();
+
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    @Autowired(required = false)
+    private IRemoteCacheStore remoteStore;
+
+    @Value("${exchangerates.cache.tenants.quota:16MB}")
+    private DataSize tenantQuota = DataSize.ofMegabytes(16);
+
+    /**
+     * Comma-separated tenant:weight pairs; only these tenants get a partition.
+     */
+    @Value("${exchangerates.cache.tenants.weights:}")
+    private String tenantWeights = "";
+
+    @Value("${exchangerates.cache.l1.max-size:256MB}")
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+
+    /**
+     * Weights of the configured tenants, parsed at startup.
+     */
+    private Map<String, Integer> weights = Map.of();
+
+    /**
+     * Weight of the entries held by any partition.
+     */
+    private final AtomicLong localBytes = new AtomicLong();
+
+    /**
+     * Taken by the one thread that evicts over the global cap at a time.
+     */
+    private final ReentrantLock capacityLock = new ReentrantLock();
+
+    @Autowired(required = false)
+    private ICacheValueSerializer serializer;
+
+    public RateCache() {
+    }
+
+    public RateCache(IRemoteCacheStore remoteStore, ICacheValueSerializer serializer) {
+        this.remoteStore = remoteStore;
+        this.serializer = serializer;
+        subscribe();
+    }
+
+    @PostConstruct
+    void init() {
+        weights = parseWeights(tenantWeights);
+        subscribe();
+    }
+
+    private void subscribe() {
+        if (remoteStore != null) {
+            remoteStore.subscribe(this::onInvalidation);
+            logger.info("Shared L2 cache enabled using {}", remoteStore.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Looks up a response for the current tenant, checking the local tier
+     * before the shared tier, and counts the hit or miss.
+     *
+     * @param key The cache key
+     * @return The cached response, or null on a miss in both tiers
+     */
+    public ExchangeRateResponse get(CacheKey key) {
+        return lookup(key, true);
+    }
+
+    /**
+     * Looks up a response again after a miss, such as once a fetch has been
+     * claimed, without counting a second hit or miss.
+     *
+     * @param key The cache key
+     * @return The cached response, or null on a miss in both tiers
+     */
+    public ExchangeRateResponse recheck(CacheKey key) {
+        return lookup(key, false);
+    }
+
+    private ExchangeRateResponse lookup(CacheKey key, boolean count) {
+        final Partition partition = partition();
+        final long now = System.currentTimeMillis();
+        final Entry cached = local.get(key);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                partition.hold(key, cached, count);
+                return cached.value;
+            }
+            local.remove(key, cached);
+        }
+        final ExchangeRateResponse shared = remoteStore == null ? null : getShared(key, partition, now, count);
+        if (shared == null && count) {
+            partition.misses.increment();
+        }
+        return shared;
+    }
+
+    private ExchangeRateResponse getShared(CacheKey key, Partition partition, long now, boolean count) {
+        try {
+            final byte[] bytes = remoteStore.get(KEY_PREFIX + key);
+            if (bytes == null) {
+                return null;
+            }
+            // Shared entries are prefixed with their expiry in epoch millis
+            final long expiresAt = ByteBuffer.wrap(bytes).getLong();
+            if (expiresAt <= now) {
+                return null;
+            }
+            final ExchangeRateResponse shared = serializer.deserialize(Arrays.copyOfRange(bytes, Long.BYTES, bytes.length));
+            final Entry entry = new Entry(shared, expiresAt);
+            local.put(key, entry);
+            partition.hold(key, entry, count);
+            enforceCapacity();
+            logger.debug("L2 cache hit for key: {}", key);
+            return shared;
+        } catch (RuntimeException e) {
+            logger.warn("L2 cache read failed for key: {}: {}", key, e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Checks the local tier only; cheap enough to call before admitting a request.
+     *
+     * @param key The cache key
+     * @return true if the local tier holds a response for the key
+     */
+    public boolean containsLocal(CacheKey key) {
+        final Entry cached = local.get(key);
+        return cached != null && cached.expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Stores a response in both tiers, charged to the current tenant, and
+     * invalidates other replicas' local copies.
+     *
+     * @param key       The cache key
+     * @param value     The response to cache
+     * @param expiresAt When the response stops being served
+     */
+    public void put(CacheKey key, ExchangeRateResponse value, Instant expiresAt) {
+        final long expiry = expiresAt.toEpochMilli();
+        final Entry entry = new Entry(value, expiry);
+        local.put(key, entry);
+        partition().hold(key, entry, false);
+        enforceCapacity();
+        if (remoteStore == null) {
+            return;
+        }
+
+        final Duration ttl = Duration.between(Instant.now(), expiresAt);
+        if (ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+
+        try {
+            final byte[] payload = serializer.serialize(value);
+            final byte[] bytes = ByteBuffer.allocate(Long.BYTES + payload.length).putLong(expiry).put(payload).array();
+            remoteStore.put(KEY_PREFIX + key, bytes, ttl);
+            remoteStore.publish(nodeId + "|" + key);
+        } catch (RuntimeException e) {
+            logger.warn("L2 cache write failed for key: {}: {}", key, e.toString());
+        }
+    }
+
+    /**
+     * Drops every response for a base currency from both tiers, and has other
+     * replicas drop their local copies.
+     *
+     * @param base The base currency code
+     */
+    public void evictBase(String base) {
+        final String code = base.toUpperCase();
+        evictLocal(code);
+        if (remoteStore == null) {
+            return;
+        }
+        try {
+            remoteStore.removeByPrefix(KEY_PREFIX + code + "|");
+            remoteStore.publish(nodeId + "|" + code + ALL_SYMBOLS);
+        } catch (RuntimeException e) {
+            logger.warn("L2 cache eviction failed for base: {}: {}", code, e.toString());
+        }
+    }
+
+    private void evictLocal(String base) {
+        for (Partition partition : partitions.values()) {
+            partition.evictBase(base);
+        }
+        // Entries put meanwhile and not yet held are reconciled by purge()
+        local.keySet().removeIf(key -> key.getBase().equals(base));
+    }
+
+    /**
+     * Drops the local copies named by an invalidation from another replica.
+     *
+     * @param message The message, in the form {nodeId}|{cache key}, or
+     *                {nodeId}|{base}|* for every key of a base
+     */
+    private void onInvalidation(String message) {
+        final int split = message.indexOf('|');
+        if (split < 0 || message.startsWith(nodeId + "|")) {
+            return;
+        }
+        final String key = message.substring(split + 1);
+        if (key.endsWith(ALL_SYMBOLS)) {
+            evictLocal(key.substring(0, key.length() - ALL_SYMBOLS.length()));
+            return;
+        }
+        try {
+            local.remove(CacheKey.parse(key));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring malformed cache invalidation: {}", message);
+        }
+    }
+
+    /**
+     * Drops expired and replaced entries from every partition. Partitions
+     * themselves are kept, as there is at most one per configured tenant and
+     * a caller may still be holding one.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void purge() {
+        final long now = System.currentTimeMillis();
+        for (Partition partition : partitions.values()) {
+            partition.purge(now);
+        }
+    }
+
+    /**
+     * Lists each tenant's share of the local tier and its hits and misses.
+     *
+     * @return The statistics of every configured tenant with a partition,
+     *         and of the anonymous tenant
+     */
+    public List<TenantCacheStats> tenantStats() {
+        final List<TenantCacheStats> stats = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions.values()) {
+            stats.add(partition.stats());
+        }
+        return stats;
+    }
+
+    /**
+     * @return The weight of the entries in the local tier
+     */
+    public long localBytes() {
+        return localBytes.get();
+    }
+
+    /**
+     * Returns the current tenant's partition, creating it if needed. Tenants
+     * that are not configured use the anonymous partition.
+     */
+    private Partition partition() {
+        final Map<String, Integer> configured = weights;
+        String tenant = TenantContext.current();
+        if (!configured.containsKey(tenant)) {
+            tenant = TenantContext.ANONYMOUS;
+        }
+        final Partition partition = partitions.get(tenant);
+        if (partition != null) {
+            return partition;
+        }
+        return partitions.computeIfAbsent(tenant, name -> {
+            final int weight = configured.getOrDefault(name, 1);
+            return new Partition(name, weight, tenantQuota.toBytes() * weight);
+        });
+    }
+
+    /**
+     * Parses comma-separated tenant:weight pairs.
+     *
+     * @param pairs The configured pairs, possibly empty
+     * @return The weight of each tenant
+     * @throws IllegalArgumentException if a pair is malformed or a weight is below 1
+     */
+    static Map<String, Integer> parseWeights(String pairs) {
+        final Map<String, Integer> parsed = new HashMap<>();
+        for (String pair : pairs.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            final int split = pair.lastIndexOf(':');
+            if (split <= 0 || pair.substring(0, split).isBlank()) {
+                throw new IllegalArgumentException("Malformed tenant weight: " + pair.trim());
+            }
+            final int weight;
+            try {
+                weight = Integer.parseInt(pair.substring(split + 1).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Malformed tenant weight: " + pair.trim(), e);
+            }
+            if (weight < 1) {
+                throw new IllegalArgumentException("Tenant weight must be at least 1: " + pair.trim());
+            }
+            parsed.put(pair.substring(0, split).trim(), weight);
+        }
+        return Map.copyOf(parsed);
+    }
+
+    /**
+     * Evicts from the partition holding the most for its weight until the
+     * local tier is back under its cap.
+     */
+    private void enforceCapacity() {
+        if (localBytes.get() <= maxSize.toBytes() || !capacityLock.tryLock()) {
+            return;
+        }
+        try {
+            while (localBytes.get() > maxSize.toBytes()) {
+                Partition largest = null;
+                for (Partition partition : partitions.values()) {
+                    if (largest == null || partition.share() > largest.share()) {
+                        largest = partition;
+                    }
+                }
+                if (largest == null || !largest.evictOne()) {
+                    return;
+                }
+            }
+        } finally {
+            capacityLock.unlock();
+        }
+    }
+
+    /**
+     * Takes a partition's hold on an entry, counting its weight towards the
+     * local tier when it is the first.
+     */
+    private void acquire(Entry entry) {
+        if (entry.holders.incrementAndGet() == 1) {
+            localBytes.addAndGet(entry.weight);
+        }
+    }
+
+    /**
+     * Removes an entry from the local tier once no partition holds it.
+     */
+    private void release(CacheKey key, Entry entry) {
+        if (entry.holders.decrementAndGet() == 0) {
+            localBytes.addAndGet(-entry.weight);
+            local.remove(key, entry);
+        }
+    }
+
+    private static final class Entry {
+
+        /**
+         * Approximate heap taken by a response apart from its rates.
+         */
+        private static final int BASE_WEIGHT = 160;
+
+        /**
+         * Approximate heap taken by each rate: map node, code and boxed value.
+         */
+        private static final int RATE_WEIGHT = 112;
+
+        final ExchangeRateResponse value;
+        final long expiresAt;
+        final int weight;
+
+        /**
+         * How many tenant partitions hold this entry.
+         */
+        final AtomicInteger holders = new AtomicInteger();
+
+        Entry(ExchangeRateResponse value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.weight = BASE_WEIGHT + (value.getRates() == null ? 0 : value.getRates().size() * RATE_WEIGHT);
+        }
+    }
+
+    /**
+     * A tenant's hold on a shared entry, with its second-chance bit.
+     */
+    private static final class Slot {
+        volatile Entry entry;
+        volatile boolean referenced;
+
+        Slot(Entry entry) {
+            this.entry = entry;
+        }
+    }
+
+    /**
+     * The entries one tenant holds, and what they cost it.
+     * 
+     * Hits on entries already held only set a flag and take no lock. Adding an
+     * entry takes the partition's lock and evicts over quota with the CLOCK
+     * algorithm: keys are visited in insertion order, and any used since the
+     * last visit is given a second chance.
+     */
+    private final class Partition {
+
+        final String tenant;
+        final int weight;
+        final long quotaBytes;
+        final Map<CacheKey, Slot> slots = new ConcurrentHashMap<>();
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+
+        /**
+         * Held keys in CLOCK order, guarded by this.
+         */
+        private final ArrayDeque<CacheKey> clock = new ArrayDeque<>();
+
+        /**
+         * Weight of the held entries, written under this.
+         */
+        private volatile long bytes;
+
+        Partition(String tenant, int weight, long quotaBytes) {
+            this.tenant = tenant;
+            this.weight = weight;
+            this.quotaBytes = quotaBytes;
+        }
+
+        /**
+         * Holds an entry for this tenant, counting a hit if asked.
+         */
+        void hold(CacheKey key, Entry entry, boolean hit) {
+            if (hit) {
+                hits.increment();
+            }
+            final Slot held = slots.get(key);
+            if (held != null && held.entry == entry) {
+                held.referenced = true;
+                return;
+            }
+            synchronized (this) {
+                final Slot slot = slots.get(key);
+                if (slot != null && slot.entry == entry) {
+                    slot.referenced = true;
+                    return;
+                }
+                acquire(entry);
+                bytes += entry.weight;
+                if (slot != null) {
+                    // A newer response replaced the one held
+                    bytes -= slot.entry.weight;
+                    release(key, slot.entry);
+                    slot.entry = entry;
+                    slot.referenced = true;
+                } else {
+                    slots.put(key, new Slot(entry));
+                    clock.addLast(key);
+                }
+                evictOverQuota();
+            }
+        }
+
+        private void evictOverQuota() {
+            while (bytes > quotaBytes && evictNext()) {
+                // Each pass drops one entry
+            }
+        }
+
+        /**
+         * Evicts one entry for the global cap.
+         *
+         * @return false if the partition holds nothing
+         */
+        synchronized boolean evictOne() {
+            return evictNext();
+        }
+
+        /**
+         * Advances the CLOCK hand until an entry is dropped, giving entries
+         * used since the last visit a second chance.
+         */
+        private boolean evictNext() {
+            final long now = System.currentTimeMillis();
+            while (!clock.isEmpty()) {
+                final CacheKey key = clock.pollFirst();
+                final Slot slot = slots.get(key);
+                if (slot.referenced && slot.entry.expiresAt > now) {
+                    slot.referenced = false;
+                    clock.addLast(key);
+                } else {
+                    drop(key, slot);
+                    evictions.increment();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return The weight held per unit of the tenant's weight
+         */
+        double share() {
+            return (double) bytes / weight;
+        }
+
+        /**
+         * Drops every entry for a base currency.
+         */
+        synchronized void evictBase(String base) {
+            clock.removeIf(key -> {
+                if (!key.getBase().equals(base)) {
+                    return false;
+                }
+                drop(key, slots.get(key));
+                return true;
+            });
+        }
+
+        /**
+         * Drops expired entries and those no longer in the local tier.
+         */
+        synchronized void purge(long now) {
+            clock.removeIf(key -> {
+                final Slot slot = slots.get(key);
+                if (slot.entry.expiresAt > now && local.get(key) == slot.entry) {
+                    return false;
+                }
+                drop(key, slot);
+                return true;
+            });
+        }
+
+        private void drop(CacheKey key, Slot slot) {
+            slots.remove(key);
+            bytes -= slot.entry.weight;
+            release(key, slot.entry);
+        }
+
+        synchronized TenantCacheStats stats() {
+            return new TenantCacheStats(TenantCacheStats.mask(tenant), weight, quotaBytes, bytes, slots.size(),
+                                        hits.sum(), misses.sum(), evictions.sum());
+        }
+    }
+}
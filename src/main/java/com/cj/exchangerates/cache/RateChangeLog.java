@@ -0,0 +1,155 @@
+package com.cj.exchangerates.cache;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cj.exchangerates.model.RateChangesResponse;
+
+/**
+ * Per-symbol versions of each base currency's rates, so clients can pull only
+ * what changed since their last sync.
+ * 
+ * Each refresh compares the new rates with the last published ones and only
+ * symbols that moved by more than the relative epsilon are republished, under
+ * a new version for the base. A version carries a random epoch, drawn when
+ * the log is created, in its upper bits and a per-base sequence in the lower
+ * 32, within 53 bits so that JavaScript clients read it exactly. Versions from
+ * another replica or an earlier run have a different epoch and are answered
+ * with the whole table.
+ * 
+ * Refreshes are rare and copy the base's table under its lock; each publishes
+ * an immutable snapshot with its entries ordered newest first, so a sync reads
+ * only the entries newer than its version, without locking.
+ */
+@Component
+public class RateChangeLog {
+
+    private static final int SEQUENCE_BITS = 32;
+
+    private static final int EPOCH_BITS = 21;
+
+    @Value("${exchangerates.changes.epsilon:0.000001}")
+    private double epsilon = 0.000001;
+
+    private final long epoch = (long) ThreadLocalRandom.current().nextInt(1, 1 << EPOCH_BITS) << SEQUENCE_BITS;
+
+    private final Map<String, Table> tables = new ConcurrentHashMap<>();
+
+    /**
+     * Records a refresh of a base's rates.
+     *
+     * @param base     The base currency
+     * @param rates    The new rates by upper-case symbol
+     * @param date     The date of the data, or null if unknown
+     * @param scope    The symbols the refresh asked for, so that those missing
+     *                 from the rates have been removed; empty for a partial refresh
+     * @return The base's version after the refresh
+     */
+    public long record(String base, Map<String, Double> rates, LocalDate date, Collection<String> scope) {
+        final Table table = tables.computeIfAbsent(base.toUpperCase(), code -> new Table());
+        synchronized (table) {
+            final Snapshot previous = table.snapshot;
+            final long version = previous.version == 0 ? epoch | 1 : previous.version + 1;
+            final Map<String, Entry> entries = new HashMap<>(previous.entries);
+            boolean changed = false;
+
+            for (Map.Entry<String, Double> rate : rates.entrySet()) {
+                final Entry old = entries.get(rate.getKey());
+                if (rate.getValue() != null && (old == null || moved(old.rate, rate.getValue()))) {
+                    entries.put(rate.getKey(), new Entry(rate.getKey(), rate.getValue(), version));
+                    changed = true;
+                }
+            }
+            if (!scope.isEmpty()) {
+                for (Entry old : previous.entries.values()) {
+                    if (!Double.isNaN(old.rate) && scope.contains(old.symbol) && !rates.containsKey(old.symbol)) {
+                        entries.put(old.symbol, new Entry(old.symbol, Double.NaN, version));
+                        changed = true;
+                    }
+                }
+            }
+
+            if (changed) {
+                table.snapshot = new Snapshot(version, date, entries);
+            } else if (date != null && !date.equals(previous.date)) {
+                table.snapshot = new Snapshot(previous.version, date, previous.entries);
+            }
+            return table.snapshot.version;
+        }
+    }
+
+    /**
+     * Reads the rates of a base that changed after a version.
+     *
+     * @param base  The base currency
+     * @param since The version the client last applied, or 0 for everything
+     * @return The changes, or null if nothing is known for the base
+     */
+    public RateChangesResponse changesSince(String base, long since) {
+        final Table table = tables.get(base.toUpperCase());
+        if (table == null) {
+            return null;
+        }
+        final Snapshot snapshot = table.snapshot;
+
+        // A version this replica never issued cannot be compared against
+        final boolean full = since <= 0 || (since & ~((1L << SEQUENCE_BITS) - 1)) != epoch || since > snapshot.version;
+        final Map<String, Double> changes = new LinkedHashMap<>();
+        final List<String> removed = new ArrayList<>();
+        for (Entry entry : snapshot.newestFirst) {
+            if (!full && entry.version <= since) {
+                break;
+            }
+            if (Double.isNaN(entry.rate)) {
+                if (!full) {
+                    removed.add(entry.symbol);
+                }
+            } else {
+                changes.put(entry.symbol, entry.rate);
+            }
+        }
+        return new RateChangesResponse(base.toUpperCase(), since, snapshot.version, snapshot.date, full, changes, removed);
+    }
+
+    private boolean moved(double previous, double current) {
+        return Double.isNaN(previous) || Math.abs(current - previous) > epsilon * Math.abs(previous);
+    }
+
+    private record Entry(String symbol, double rate, long version) {
+    }
+
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(0, null, Map.of());
+
+        private final long version;
+        private final LocalDate date;
+        private final Map<String, Entry> entries;
+        private final Entry[] newestFirst;
+
+        private Snapshot(long version, LocalDate date, Map<String, Entry> entries) {
+            this.version = version;
+            this.date = date;
+            this.entries = entries;
+            this.newestFirst = entries.values().toArray(new Entry[0]);
+            Arrays.sort(newestFirst, Comparator.comparingLong(Entry::version).reversed());
+        }
+    }
+
+    private static final class Table {
+
+        private volatile Snapshot snapshot = Snapshot.EMPTY;
+    }
+}
@@ -0,0 +1,112 @@
+package com.cj.exchangerates.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+
+/**
+ * Decides how long aggregated rates stay cached, from each provider's
+ * publication schedule and the date of the data it returned.
+ * 
+ * <ul>
+ *   <li>Data from the latest publication is current until the provider's next
+ *       publication, plus a grace period for it to propagate.</li>
+ *   <li>Data older than the latest publication means the provider has not
+ *       caught up yet, so it is retried shortly. Once the stale window has
+ *       passed the publication is assumed skipped (e.g. an ECB holiday) and the
+ *       data is kept until the next one.</li>
+ *   <li>Providers without a known schedule or date use a fixed TTL.</li>
+ * </ul>
+ * An aggregated response expires as soon as any contributing provider's data does.
+ */
+@Component
+public class RateExpiryPolicy {
+
+    private final Map<String, PublicationSchedule> schedules;
+
+    private final Duration grace;
+
+    private final Duration staleRetry;
+
+    private final Duration staleWindow;
+
+    private final Duration defaultTtl;
+
+    public RateExpiryPolicy() {
+        this("16:00", ZoneId.of("Europe/Berlin"), true, "00:00", ZoneId.of("UTC"), false,
+             Duration.ofMinutes(5), Duration.ofMinutes(10), Duration.ofHours(2), Duration.ofHours(1));
+    }
+
+    @Autowired
+    public RateExpiryPolicy(@Value("${exchangerates.providers.frankfurter.publish-time:16:00}") String frankfurterTime,
+                            @Value("${exchangerates.providers.frankfurter.publish-zone:Europe/Berlin}") ZoneId frankfurterZone,
+                            @Value("${exchangerates.providers.frankfurter.publish-weekdays-only:true}") boolean frankfurterWeekdaysOnly,
+                            @Value("${exchangerates.providers.fawaz.publish-time:00:00}") String fawazTime,
+                            @Value("${exchangerates.providers.fawaz.publish-zone:UTC}") ZoneId fawazZone,
+                            @Value("${exchangerates.providers.fawaz.publish-weekdays-only:false}") boolean fawazWeekdaysOnly,
+                            @Value("${exchangerates.cache.publication-grace:5m}") Duration grace,
+                            @Value("${exchangerates.cache.stale-retry:10m}") Duration staleRetry,
+                            @Value("${exchangerates.cache.stale-window:2h}") Duration staleWindow,
+                            @Value("${exchangerates.cache.default-ttl:1h}") Duration defaultTtl) {
+        this.schedules = Map.of(
+                "frankfurter", new PublicationSchedule(LocalTime.parse(frankfurterTime), frankfurterZone, frankfurterWeekdaysOnly),
+                "fawaz", new PublicationSchedule(LocalTime.parse(fawazTime), fawazZone, fawazWeekdaysOnly));
+        this.grace = grace;
+        this.staleRetry = staleRetry;
+        this.staleWindow = staleWindow;
+        this.defaultTtl = defaultTtl;
+    }
+
+    /**
+     * Computes when rates aggregated from several providers expire.
+     *
+     * @param allRates The provider responses keyed by provider name
+     * @param now      The current instant
+     * @return The earliest expiry among the providers that returned data
+     */
+    public Instant expiresAt(Map<String, ExchangeRateResponse> allRates, Instant now) {
+        Instant earliest = null;
+        for (Map.Entry<String, ExchangeRateResponse> entry : allRates.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            final Instant expiry = expiresAt(entry.getKey(), entry.getValue().getDate(), now);
+            if (earliest == null || expiry.isBefore(earliest)) {
+                earliest = expiry;
+            }
+        }
+        // Nothing came back, so try again soon rather than cache the gap
+        return earliest != null ? earliest : now.plus(staleRetry);
+    }
+
+    /**
+     * Computes when one provider's data expires.
+     *
+     * @param provider The provider name
+     * @param date     The date of the provider's data, or null if unknown
+     * @param now      The current instant
+     * @return The expiry
+     */
+    public Instant expiresAt(String provider, LocalDate date, Instant now) {
+        final PublicationSchedule schedule = schedules.get(provider);
+        if (schedule == null || date == null) {
+            return now.plus(defaultTtl);
+        }
+
+        final ZonedDateTime latest = schedule.latest(now);
+        if (date.isBefore(latest.toLocalDate()) && now.isBefore(latest.toInstant().plus(staleWindow))) {
+            return now.plus(staleRetry);
+        }
+        return schedule.next(now).toInstant().plus(grace);
+    }
+}
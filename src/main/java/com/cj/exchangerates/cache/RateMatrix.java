@@ -0,0 +1,202 @@
+package com.cj.exchangerates.cache;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+import com.cj.exchangerates.model.RateMatrixResponse;
+
+/**
+ * Dense matrix of every cross rate between the supported currencies, derived
+ * from the pivot currency's table (EUR by default, the ECB reference base).
+ * 
+ * Each rebuild creates a new immutable snapshot and publishes it through a
+ * single volatile write, so lookups never lock, never see a half-built
+ * matrix and, for a single pair, never allocate. The version of a snapshot
+ * is a hash of its date and rates, so every replica holding the same data
+ * reports the same version and the same ETag.
+ * 
+ * A snapshot expires with the pivot table it was derived from, after which
+ * nothing is served from the matrix until the next rebuild.
+ */
+@Component
+public class RateMatrix {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateMatrix.class);
+
+    @Value("${exchangerates.matrix.pivot:EUR}")
+    private String pivot = "EUR";
+
+    private volatile Snapshot current;
+
+    public String getPivot() {
+        return pivot;
+    }
+
+    /**
+     * Rebuilds the matrix from fresh pivot rates and publishes it.
+     *
+     * @param pivotRates The rates from the pivot currency, by upper-case symbol
+     * @param date       The date of the data, or null if unknown
+     * @param expiresAt  When the pivot rates stop being current
+     */
+    public void rebuild(Map<String, Double> pivotRates, LocalDate date, Instant expiresAt) {
+        final List<String> codes = new ArrayList<>();
+        codes.add(pivot.toUpperCase());
+        for (Map.Entry<String, Double> entry : pivotRates.entrySet()) {
+            final Double rate = entry.getValue();
+            if (rate != null && rate > 0 && CacheKey.tryEncode(entry.getKey()) >= 0 && !codes.contains(entry.getKey())) {
+                codes.add(entry.getKey());
+            }
+        }
+        codes.sort(null);
+
+        final int n = codes.size();
+        final double[] fromPivot = new double[n];
+        for (int i = 0; i < n; i++) {
+            fromPivot[i] = codes.get(i).equals(pivot.toUpperCase()) ? 1.0 : pivotRates.get(codes.get(i));
+        }
+
+        // base -> symbol = (pivot -> symbol) / (pivot -> base)
+        final double[] rates = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                rates[i * n + j] = i == j ? 1.0 : fromPivot[j] / fromPivot[i];
+            }
+        }
+
+        final long version = contentHash(date, codes, rates);
+        current = new Snapshot(n, rates, new RateMatrixResponse(version, date, List.copyOf(codes), rates), index(codes),
+                               expiresAt.toEpochMilli());
+        logger.info("Rate matrix rebuilt for {} currencies (version {})", n, version);
+    }
+
+    /**
+     * Looks up a single cross rate without locking or allocating.
+     *
+     * @param base   The base currency code
+     * @param symbol The target currency code
+     * @return The rate, or NaN if either currency is not in the matrix
+     */
+    public double rate(String base, String symbol) {
+        final Snapshot snapshot = live();
+        if (snapshot == null) {
+            return Double.NaN;
+        }
+        final int row = snapshot.indexOf(base);
+        final int column = snapshot.indexOf(symbol);
+        return row < 0 || column < 0 ? Double.NaN : snapshot.rates[row * snapshot.size + column];
+    }
+
+    /**
+     * Answers a request from the matrix.
+     *
+     * @param base    The base currency code
+     * @param symbols List of target currency codes
+     * @return The requested rates, or null unless the matrix holds every currency
+     */
+    public ExchangeRateResponse lookup(String base, List<String> symbols) {
+        final Snapshot snapshot = live();
+        if (snapshot == null) {
+            return null;
+        }
+        final int row = snapshot.indexOf(base);
+        if (row < 0) {
+            return null;
+        }
+
+        final Map<String, Double> rates = new HashMap<>();
+        for (String symbol : symbols) {
+            final int column = snapshot.indexOf(symbol);
+            if (column < 0) {
+                return null;
+            }
+            rates.put(snapshot.response.getCurrencies().get(column), snapshot.rates[row * snapshot.size + column]);
+        }
+        return new ExchangeRateResponse(snapshot.response.getCurrencies().get(row), rates, snapshot.response.getDate());
+    }
+
+    /**
+     * Checks whether the matrix holds the base and every symbol.
+     *
+     * @param base    The base currency code
+     * @param symbols List of target currency codes
+     * @return true if {@link #lookup} would return rates
+     */
+    public boolean covers(String base, List<String> symbols) {
+        final Snapshot snapshot = live();
+        if (snapshot == null || snapshot.indexOf(base) < 0) {
+            return false;
+        }
+        for (String symbol : symbols) {
+            if (snapshot.indexOf(symbol) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The whole matrix, or null before the first rebuild or once it has expired
+     */
+    public RateMatrixResponse snapshot() {
+        final Snapshot snapshot = live();
+        return snapshot == null ? null : snapshot.response;
+    }
+
+    private Snapshot live() {
+        final Snapshot snapshot = current;
+        return snapshot == null || snapshot.expiresAt <= System.currentTimeMillis() ? null : snapshot;
+    }
+
+    /**
+     * Hashes the content of a matrix into a version. Kept within 53 bits so
+     * that JavaScript clients read it exactly.
+     */
+    static long contentHash(LocalDate date, List<String> codes, double[] rates) {
+        long hash = Objects.hashCode(date);
+        hash = hash * 31 + codes.hashCode();
+        for (double rate : rates) {
+            hash = hash * 31 + Double.doubleToLongBits(rate);
+        }
+        // Finalizer from MurmurHash3, so that nearby inputs spread over all bits
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash & ((1L << 53) - 1);
+    }
+
+    private static short[] index(List<String> codes) {
+        final short[] indexByCode = new short[1 << 15];
+        Arrays.fill(indexByCode, (short) -1);
+        for (int i = 0; i < codes.size(); i++) {
+            indexByCode[CacheKey.tryEncode(codes.get(i))] = (short) i;
+        }
+        return indexByCode;
+    }
+
+    /**
+     * One published matrix. Never modified after construction; the response
+     * shares the rates array, so it must not be modified either.
+     */
+    private record Snapshot(int size, double[] rates, RateMatrixResponse response, short[] indexByCode, long expiresAt) {
+
+        int indexOf(String code) {
+            final int id = CacheKey.tryEncode(code);
+            return id < 0 ? -1 : indexByCode[id];
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.cj.exchangerates.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Remote cache tier backed by a Redis-protocol server.
+ * 
+ * Values are stored with the TTL of the cached data so that Redis drops them
+ * once they are out of date, and invalidations are broadcast over a pub/sub
+ * channel.
+ */
+public class RedisRemoteCacheStore implements IRemoteCacheStore {
+
+    private static final ChannelTopic INVALIDATIONS = new ChannelTopic("exchangerates:invalidations");
+
+    private final RedisTemplate<String, byte[]> template;
+
+    private final RedisMessageListenerContainer listenerContainer;
+
+    public RedisRemoteCacheStore(RedisConnectionFactory connectionFactory,
+                                 RedisMessageListenerContainer listenerContainer) {
+        this.template = new RedisTemplate<>();
+        this.template.setConnectionFactory(connectionFactory);
+        this.template.setKeySerializer(RedisSerializer.string());
+        this.template.setValueSerializer(RedisSerializer.byteArray());
+        this.template.afterPropertiesSet();
+        this.listenerContainer = listenerContainer;
+    }
+
+    @Override
+    public byte[] get(String key) {
+        return template.opsForValue().get(key);
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        template.opsForValue().set(key, value, ttl);
+    }
+
+    /**
+     * Finds the keys with SCAN rather than KEYS, so that the server is not
+     * blocked while a large keyspace is searched.
+     */
+    @Override
+    public void removeByPrefix(String prefix) {
+        final List<String> keys = new ArrayList<>();
+        try (Cursor<String> cursor = template.scan(ScanOptions.scanOptions().match(prefix + "*").count(1_000).build())) {
+            cursor.forEachRemaining(keys::add);
+        }
+        if (!keys.isEmpty()) {
+            template.delete(keys);
+        }
+    }
+
+    @Override
+    public void publish(String message) {
+        template.convertAndSend(INVALIDATIONS.getTopic(), message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+                INVALIDATIONS);
+    }
+}
@@ -0,0 +1,25 @@
+package com.cj.exchangerates.cache;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint listing each tenant's share of the local cache tier and
+ * its hits and misses, at /actuator/tenantcache.
+ */
+@Endpoint(id = "tenantcache")
+public class TenantCacheEndpoint {
+
+    private final RateCache cache;
+
+    public TenantCacheEndpoint(RateCache cache) {
+        this.cache = cache;
+    }
+
+    @ReadOperation
+    public List<TenantCacheStats> tenantCache() {
+        return cache.tenantStats();
+    }
+}
@@ -0,0 +1,27 @@
+package com.cj.exchangerates.cache;
+
+/**
+ * One tenant's share of the local cache tier.
+ *
+ * @param tenant     The tenant's API key, masked
+ * @param weight     The tenant's weight
+ * @param quotaBytes The most the tenant's entries may weigh
+ * @param bytes      What the tenant's entries weigh, approximately
+ * @param entries    How many entries the tenant holds
+ * @param hits       Lookups served from the cache
+ * @param misses     Lookups not served from the cache
+ * @param evictions  Entries dropped to stay within the quota
+ */
+public record TenantCacheStats(String tenant, int weight, long quotaBytes, long bytes, int entries,
+                               long hits, long misses, long evictions) {
+
+    /**
+     * Masks an API key so only its first characters are shown.
+     *
+     * @param tenant The tenant
+     * @return The tenant, with all but its first four characters masked
+     */
+    static String mask(String tenant) {
+        return tenant.length() <= 4 ? "****" : tenant.substring(0, 4) + "****";
+    }
+}
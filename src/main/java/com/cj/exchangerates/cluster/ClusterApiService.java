@@ -0,0 +1,200 @@
+package com.cj.exchangerates.cluster;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+import com.cj.exchangerates.cache.CacheKey;
+import com.cj.exchangerates.model.ExchangeRateResponse;
+import com.cj.exchangerates.model.ReplicatedRates;
+import com.cj.exchangerates.service.IApiService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Cluster-aware service implementation for external API interactions.
+ * 
+ * Only the elected leader for a base calls the external APIs. The leader
+ * pushes every rate table it fetches to the live peers, and other nodes ask
+ * the leader to fetch on their behalf, so upstream load stays constant as
+ * nodes are added. If the leader cannot be reached it is marked down and the
+ * request moves to the next leader, ultimately this node. A leader that
+ * answers with an error stays up, and this node fetches the request itself.
+ * 
+ * Replication runs on a bounded pool shared by every fetch. When peers are
+ * slow and the pool's queue is full, further pushes are dropped, and those
+ * peers fetch the rates through the leader on their next miss instead.
+ */
+@Service
+@Primary
+@Qualifier("ClusterApiService")
+@ConditionalOnProperty(name = "exchangerates.cluster.enabled", havingValue = "true")
+public class ClusterApiService implements IApiService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterApiService.class);
+
+    @Autowired
+    @Qualifier("ApiService")
+    private IApiService upstream;
+
+    @Autowired
+    private ClusterMembership membership;
+
+    @Autowired
+    private PeerClient peerClient;
+
+    @Autowired
+    private ThreadFactory upstreamThreadFactory;
+
+    @Value("${exchangerates.cluster.replication.threads:4}")
+    private int replicationThreads = 4;
+
+    @Value("${exchangerates.cluster.replication.queue-size:1000}")
+    private int replicationQueueSize = 1000;
+
+    private ExecutorService replicationExecutor;
+
+    /**
+     * Upstream fetches in progress on this node as leader, so that requests
+     * from several peers for the same key share one fetch.
+     */
+    private final Map<CacheKey, CompletableFuture<Map<String, ExchangeRateResponse>>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void start() {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(replicationThreads, replicationThreads,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(replicationQueueSize), upstreamThreadFactory,
+                (task, pool) -> logger.warn("Replication queue full, dropping a replication"));
+        executor.allowCoreThreadTimeOut(true);
+        replicationExecutor = executor;
+    }
+
+    @PreDestroy
+    void stop() {
+        replicationExecutor.shutdown();
+    }
+
+    /**
+     * Fetches the currencies each API supports. Every node asks the APIs
+     * directly, as this happens rarely.
+     *
+     * @return Map of currency codes keyed by API name
+     */
+    @Override
+    public Map<String, Set<String>> fetchSupportedCurrencies() {
+        return upstream.fetchSupportedCurrencies();
+    }
+
+    /**
+     * Fetches exchange rates through the leader for the base, moving to the
+     * next leader each time one is unreachable.
+     *
+     * @param base    The base currency code
+     * @param symbols List of target currency codes
+     * @return Map of API responses keyed by API name
+     */
+    @Override
+    public Map<String, ExchangeRateResponse> fetchAllRates(String base, List<String> symbols) {
+        // Each unreachable leader is marked down, so at most every peer is tried once
+        for (int attempts = membership.livePeers().size() + 1; attempts > 0; attempts--) {
+            final String leader = membership.leaderFor(base);
+            if (leader.equals(membership.getSelf())) {
+                return fetchAsLeader(base, symbols);
+            }
+
+            try {
+                logger.debug("Fetching rates for base {} through leader {}", base, leader);
+                return peerClient.fetch(leader, membership.getSelf(), base, symbols).getRates();
+            } catch (ResourceAccessException e) {
+                logger.warn("Leader {} unreachable fetching rates for base {}: {}", leader, base, e.getMessage());
+                membership.markDown(leader);
+            } catch (RestClientException e) {
+                logger.warn("Leader {} failed to fetch rates for base {}, fetching directly: {}", leader, base, e.getMessage());
+                return upstream.fetchAllRates(base, symbols);
+            }
+        }
+        logger.warn("No leader reachable for base {}, fetching directly", base);
+        return upstream.fetchAllRates(base, symbols);
+    }
+
+    /**
+     * Fetches exchange rates from the external APIs and replicates them to
+     * the live peers. Called for bases this node leads, including on behalf
+     * of peers.
+     *
+     * @param base    The base currency code
+     * @param symbols List of target currency codes
+     * @return Map of API responses keyed by API name
+     */
+    public Map<String, ExchangeRateResponse> fetchAsLeader(String base, List<String> symbols) {
+        final CacheKey key = CacheKey.of(base, symbols);
+        final CompletableFuture<Map<String, ExchangeRateResponse>> pending = new CompletableFuture<>();
+        final CompletableFuture<Map<String, ExchangeRateResponse>> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            final Map<String, ExchangeRateResponse> allRates = upstream.fetchAllRates(base, symbols);
+            pending.complete(allRates);
+            replicate(new ReplicatedRates(membership.getSelf(), base, symbols, allRates));
+            return allRates;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    /**
+     * Pushes rates to every live peer in the background.
+     *
+     * @param rates The rates to replicate
+     */
+    private void replicate(ReplicatedRates rates) {
+        for (String peer : membership.livePeers()) {
+            replicationExecutor.execute(() -> {
+                try {
+                    peerClient.replicate(peer, rates);
+                } catch (ResourceAccessException e) {
+                    logger.warn("Peer {} unreachable replicating rates for base {}: {}", peer, rates.getBase(), e.getMessage());
+                    membership.markDown(peer);
+                } catch (RestClientException e) {
+                    logger.warn("Replicating rates for base {} to {} failed: {}", rates.getBase(), peer, e.getMessage());
+                }
+            });
+        }
+    }
+
+    private static Map<String, ExchangeRateResponse> await(CompletableFuture<Map<String, ExchangeRateResponse>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.cj.exchangerates.cluster;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Tracks which cluster nodes are alive and elects a leader per base currency.
+ * 
+ * Nodes are configured statically and exchange heartbeats. The leader for a
+ * base is chosen by rendezvous hashing over the live nodes: every node ranks
+ * the live nodes by a hash of (node, base) and picks the highest. No
+ * coordination is needed to agree on a leader, leadership is spread evenly
+ * across nodes, and when a leader stops answering only the bases it led move,
+ * each to the next-ranked node.
+ */
+public class ClusterMembership {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterMembership.class);
+
+    private final String self;
+
+    private final List<String> peers;
+
+    private final long failureTimeoutNanos;
+
+    private final PeerClient peerClient;
+
+    /**
+     * Time (System.nanoTime) each peer was last heard from.
+     */
+    private final Map<String, Long> lastSeen = new ConcurrentHashMap<>();
+
+    public ClusterMembership(String self, List<String> peers, Duration failureTimeout, PeerClient peerClient) {
+        this.self = self;
+        this.peers = peers.stream()
+                          .map(String::trim)
+                          .filter(peer -> !peer.isEmpty() && !peer.equals(self))
+                          .distinct()
+                          .toList();
+        this.failureTimeoutNanos = failureTimeout.toNanos();
+        this.peerClient = peerClient;
+    }
+
+    public String getSelf() {
+        return self;
+    }
+
+    /**
+     * @return The peers heard from within the failure timeout
+     */
+    public List<String> livePeers() {
+        final long now = System.nanoTime();
+        final List<String> live = new ArrayList<>();
+        for (String peer : peers) {
+            final Long seen = lastSeen.get(peer);
+            if (seen != null && now - seen < failureTimeoutNanos) {
+                live.add(peer);
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Elects the node responsible for fetching a base from the providers.
+     *
+     * @param base The base currency code
+     * @return The base URL of the leader, possibly this node
+     */
+    public String leaderFor(String base) {
+        final String normalized = base.toUpperCase(Locale.ROOT);
+        String leader = self;
+        long best = score(self, normalized);
+        for (String peer : livePeers()) {
+            final long score = score(peer, normalized);
+            if (score > best || (score == best && peer.compareTo(leader) < 0)) {
+                leader = peer;
+                best = score;
+            }
+        }
+        return leader;
+    }
+
+    public boolean isLeader(String base) {
+        return self.equals(leaderFor(base));
+    }
+
+    /**
+     * Records that a peer is alive.
+     *
+     * @param peer The peer's base URL
+     */
+    public void markUp(String peer) {
+        if (peers.contains(peer)) {
+            lastSeen.put(peer, System.nanoTime());
+        }
+    }
+
+    /**
+     * Records that a peer failed to answer, so leadership moves away from it
+     * until it is heard from again.
+     *
+     * @param peer The peer's base URL
+     */
+    public void markDown(String peer) {
+        if (lastSeen.remove(peer) != null) {
+            logger.warn("Cluster peer {} is unreachable, failing over its bases", peer);
+        }
+    }
+
+    /**
+     * Sends a heartbeat to every configured peer.
+     */
+    @Scheduled(fixedDelayString = "${exchangerates.cluster.heartbeat-interval:2s}")
+    public void heartbeat() {
+        for (String peer : peers) {
+            try {
+                peerClient.heartbeat(peer, self);
+                markUp(peer);
+            } catch (RestClientException e) {
+                logger.debug("Heartbeat to {} failed: {}", peer, e.getMessage());
+                markDown(peer);
+            }
+        }
+    }
+
+    /**
+     * Rendezvous hash score of a node for a base.
+     */
+    private static long score(String node, String base) {
+        return mix(mix(node.hashCode()) + base.hashCode());
+    }
+
+    /**
+     * 64-bit finalizer from MurmurHash3, so that similar inputs (such as node
+     * URLs differing in one character) produce unrelated scores.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
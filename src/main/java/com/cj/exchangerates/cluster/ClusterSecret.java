@@ -0,0 +1,55 @@
+package com.cj.exchangerates.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared secret that nodes present to each other's internal endpoints.
+ *
+ * Every node is configured with the same exchangerates.cluster.secret and
+ * sends it in the {@value #HEADER} header. Without a configured secret no
+ * request is accepted, so the internal endpoints are closed by default.
+ */
+@Component
+public class ClusterSecret {
+
+    public static final String HEADER = "X-Cluster-Secret";
+
+    private final byte[] secret;
+
+    public ClusterSecret(@Value("${exchangerates.cluster.secret:}") String secret) {
+        this.secret = secret == null || secret.isBlank() ? null : secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return true if a secret is configured
+     */
+    public boolean isConfigured() {
+        return secret != null;
+    }
+
+    /**
+     * @return The secret to send to peers
+     * @throws IllegalStateException if no secret is configured
+     */
+    public String value() {
+        if (secret == null) {
+            throw new IllegalStateException("exchangerates.cluster.secret must be set");
+        }
+        return new String(secret, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks a presented secret in constant time.
+     *
+     * @param presented The value of the {@value #HEADER} header, or null
+     * @return true if a secret is configured and the presented one matches it
+     */
+    public boolean matches(String presented) {
+        return secret != null && presented != null
+                && MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
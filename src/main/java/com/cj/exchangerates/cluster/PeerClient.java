@@ -0,0 +1,83 @@
+package com.cj.exchangerates.cluster;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.cj.exchangerates.model.ReplicatedRates;
+
+/**
+ * HTTP client for the internal replication endpoints of other cluster nodes.
+ * 
+ * Uses its own short timeouts so that an unresponsive peer is detected
+ * quickly instead of stalling the caller, and sends the cluster secret with
+ * every call.
+ */
+public class PeerClient {
+
+    private final RestTemplate restTemplate;
+
+    public PeerClient(Duration timeout, String secret) {
+        final HttpClient httpClient = HttpClient.newBuilder()
+                                                .connectTimeout(timeout)
+                                                .build();
+        final JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(timeout);
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.restTemplate.getInterceptors().add((request, body, execution) -> {
+            request.getHeaders().set(ClusterSecret.HEADER, secret);
+            return execution.execute(request, body);
+        });
+    }
+
+    /**
+     * Announces this node to a peer.
+     *
+     * @param peer The peer's base URL
+     * @param self This node's base URL
+     * @throws RestClientException if the peer did not answer
+     */
+    public void heartbeat(String peer, String self) {
+        restTemplate.getForObject(UriComponentsBuilder.fromUriString(peer)
+                                                      .path("/internal/cluster/heartbeat")
+                                                      .queryParam("from", self)
+                                                      .toUriString(), String.class);
+    }
+
+    /**
+     * Asks the leader for a base to fetch rates on this node's behalf.
+     *
+     * @param leader  The leader's base URL
+     * @param self    This node's base URL
+     * @param base    The base currency code
+     * @param symbols List of target currency codes
+     * @return The rates fetched by the leader
+     * @throws RestClientException if the leader did not answer
+     */
+    public ReplicatedRates fetch(String leader, String self, String base, List<String> symbols) {
+        return restTemplate.getForObject(UriComponentsBuilder.fromUriString(leader)
+                                                             .path("/internal/cluster/rates/{base}")
+                                                             .queryParam("symbols", String.join(",", symbols))
+                                                             .queryParam("from", self)
+                                                             .buildAndExpand(base)
+                                                             .toUriString(), ReplicatedRates.class);
+    }
+
+    /**
+     * Pushes rates fetched by this node to a peer.
+     *
+     * @param peer  The peer's base URL
+     * @param rates The rates to replicate
+     * @throws RestClientException if the peer did not answer
+     */
+    public void replicate(String peer, ReplicatedRates rates) {
+        restTemplate.postForLocation(UriComponentsBuilder.fromUriString(peer)
+                                                         .path("/internal/cluster/replicate")
+                                                         .toUriString(), rates);
+    }
+}
@@ -0,0 +1,100 @@
+package com.cj.exchangerates.compression;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.cj.exchangerates.compression.ResponseCompressor.Coding;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Servlet filter that compresses large responses.
+ *
+ * GET responses to clients that accept brotli or gzip are buffered. A
+ * successful text or JSON body at least the minimum size is then sent
+ * compressed, and smaller ones are sent as they are. Bodies with an ETag, such
+ * as the rate matrix, are compressed once per ETag and their cached bytes
+ * written out directly afterwards.
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private final ResponseCompressor compressor;
+
+    private final long minResponseSize;
+
+    /**
+     * @param compressor      The compressor to use
+     * @param minResponseSize The smallest body, in bytes, worth compressing
+     */
+    public CompressionFilter(ResponseCompressor compressor, long minResponseSize) {
+        this.compressor = compressor;
+        this.minResponseSize = minResponseSize;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final Coding coding = HttpMethod.GET.matches(request.getMethod())
+                ? compressor.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING))
+                : null;
+        if (coding == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        final ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        final byte[] body = wrapper.getContentAsByteArray();
+        if (!isCompressible(wrapper, body.length)) {
+            compressor.record(null, body.length, body.length);
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        final String etag = wrapper.getHeader(HttpHeaders.ETAG);
+        final String key = etag == null ? null : request.getRequestURI() + '?' + request.getQueryString() + ' ' + etag;
+        final byte[] compressed = compressor.compress(coding, body, body.length, key);
+
+        wrapper.resetBuffer();
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, coding.token());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentLength(compressed.length);
+        response.getOutputStream().write(compressed);
+        compressor.record(coding, body.length, compressed.length);
+    }
+
+    /**
+     * Decides whether a buffered response is worth compressing.
+     *
+     * @param response The buffered response
+     * @param length   The length of its body
+     * @return true for successful, not yet encoded text bodies of at least the minimum size
+     */
+    private boolean isCompressible(ContentCachingResponseWrapper response, int length) {
+        if (response.getStatus() != HttpStatus.OK.value()
+                || length < minResponseSize
+                || response.getHeader(HttpHeaders.CONTENT_ENCODING) != null
+                || response.getContentType() == null) {
+            return false;
+        }
+        try {
+            final MediaType contentType = MediaType.parseMediaType(response.getContentType());
+            return contentType.getType().equals("text")
+                || contentType.getSubtype().endsWith("json")
+                || contentType.getSubtype().equals("csv");
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+}
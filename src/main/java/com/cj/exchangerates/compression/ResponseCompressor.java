@@ -0,0 +1,283 @@
+package com.cj.exchangerates.compression;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Compresses response bodies with gzip or brotli.
+ *
+ * Deflaters hold native memory and are costly to create, so they are pooled
+ * along with the scratch buffers they compress into. Bodies that carry an
+ * ETag are identified by it, and their compressed bytes are kept and written
+ * out again as they are until the ETag changes. Brotli is offered only where
+ * its native encoder loads; elsewhere clients get gzip.
+ */
+public class ResponseCompressor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCompressor.class);
+
+    /**
+     * Fixed gzip header: magic, deflate, no flags, no time, no extra flags, unknown OS.
+     */
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private static final int GZIP_TRAILER_LENGTH = 8;
+
+    private static final int POOL_SIZE = 32;
+
+    /**
+     * Scratch buffers larger than this are dropped rather than returned to the pool.
+     */
+    private static final int MAX_POOLED_BUFFER = 1 << 20;
+
+    /**
+     * Content codings this class can produce, in order of preference.
+     */
+    public enum Coding {
+        BROTLI("br"),
+        GZIP("gzip");
+
+        private final String token;
+
+        Coding(String token) {
+            this.token = token;
+        }
+
+        /**
+         * @return The Content-Encoding token
+         */
+        public String token() {
+            return token;
+        }
+    }
+
+    private final BlockingQueue<Deflater> deflaters = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private final BlockingQueue<byte[]> buffers = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private final Map<String, byte[]> cache = new ConcurrentHashMap<>();
+
+    private final boolean brotliAvailable = loadBrotli();
+
+    private final int gzipLevel;
+
+    private final int brotliQuality;
+
+    private final int cacheSize;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param gzipLevel     The deflate level, 1 (fastest) to 9 (smallest)
+     * @param brotliQuality The brotli quality, 0 (fastest) to 11 (smallest)
+     * @param cacheSize     How many compressed bodies with an ETag to keep
+     * @param meterRegistry The registry response sizes are recorded in
+     */
+    public ResponseCompressor(int gzipLevel, int brotliQuality, int cacheSize, MeterRegistry meterRegistry) {
+        this.gzipLevel = gzipLevel;
+        this.brotliQuality = brotliQuality;
+        this.cacheSize = cacheSize;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Picks the preferred coding the client accepts.
+     *
+     * @param acceptEncoding The Accept-Encoding header, or null
+     * @return The coding to use, or null to send the body uncompressed
+     */
+    public Coding negotiate(String acceptEncoding) {
+        return negotiate(acceptEncoding, brotliAvailable);
+    }
+
+    /**
+     * Picks the preferred coding the client accepts.
+     *
+     * @param acceptEncoding  The Accept-Encoding header, or null
+     * @param brotliAvailable Whether brotli may be used
+     * @return The coding to use, or null to send the body uncompressed
+     */
+    static Coding negotiate(String acceptEncoding, boolean brotliAvailable) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+        boolean brotli = false;
+        boolean gzip = false;
+        for (String part : acceptEncoding.split(",")) {
+            final int semicolon = part.indexOf(';');
+            final String token = (semicolon < 0 ? part : part.substring(0, semicolon)).trim();
+            if (semicolon >= 0 && isZeroQuality(part.substring(semicolon + 1))) {
+                continue;
+            }
+            if (token.equalsIgnoreCase("br") || token.equals("*")) {
+                brotli = true;
+            }
+            if (token.equalsIgnoreCase("gzip") || token.equals("*")) {
+                gzip = true;
+            }
+        }
+        if (brotli && brotliAvailable) {
+            return Coding.BROTLI;
+        }
+        return gzip ? Coding.GZIP : null;
+    }
+
+    private static boolean isZeroQuality(String parameters) {
+        final String parameter = parameters.trim();
+        if (!parameter.startsWith("q=")) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(parameter.substring(2).trim()) == 0.0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Compresses a body, reusing the bytes compressed earlier for the same key.
+     *
+     * @param coding The coding to apply
+     * @param body   The buffer holding the body
+     * @param length The length of the body
+     * @param key    Identifies the body while it stays the same (e.g. path and ETag), or null
+     * @return The compressed body
+     */
+    public byte[] compress(Coding coding, byte[] body, int length, String key) {
+        if (key == null) {
+            return compress(coding, body, length);
+        }
+        final String cacheKey = coding.token() + ' ' + key;
+        byte[] compressed = cache.get(cacheKey);
+        if (compressed == null) {
+            compressed = compress(coding, body, length);
+            if (cache.size() >= cacheSize) {
+                cache.clear();
+            }
+            cache.put(cacheKey, compressed);
+        }
+        return compressed;
+    }
+
+    /**
+     * Compresses a body.
+     *
+     * @param coding The coding to apply
+     * @param body   The buffer holding the body
+     * @param length The length of the body
+     * @return The compressed body
+     */
+    byte[] compress(Coding coding, byte[] body, int length) {
+        if (coding == Coding.BROTLI) {
+            try {
+                return Encoder.compress(length == body.length ? body : Arrays.copyOf(body, length),
+                                        new Encoder.Parameters().setQuality(brotliQuality).setMode(Encoder.Mode.TEXT));
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to compress response with brotli", e);
+            }
+        }
+        return gzip(body, length);
+    }
+
+    /**
+     * Records the size of a response as sent, and how much it was compressed.
+     *
+     * @param coding         The coding applied, or null if none
+     * @param originalLength The length of the uncompressed body
+     * @param sentLength     The length of the body as sent
+     */
+    public void record(Coding coding, int originalLength, int sentLength) {
+        final String encoding = coding == null ? "identity" : coding.token();
+        DistributionSummary.builder("exchangerates.response.size")
+                           .description("Size of response bodies as sent")
+                           .baseUnit("bytes")
+                           .tag("encoding", encoding)
+                           .register(meterRegistry)
+                           .record(sentLength);
+        if (coding != null && sentLength > 0) {
+            DistributionSummary.builder("exchangerates.response.compression.ratio")
+                               .description("Uncompressed size divided by compressed size")
+                               .tag("encoding", encoding)
+                               .register(meterRegistry)
+                               .record((double) originalLength / sentLength);
+        }
+    }
+
+    /**
+     * Writes a gzip member using a pooled deflater and scratch buffer.
+     */
+    private byte[] gzip(byte[] body, int length) {
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            deflater = new Deflater(gzipLevel, true);
+        }
+        // Deflate expands incompressible input by about 5 bytes per 16K block
+        final int bound = GZIP_HEADER.length + length + 5 * (length / 16_383 + 1) + 16 + GZIP_TRAILER_LENGTH;
+        byte[] buffer = buffers.poll();
+        if (buffer == null || buffer.length < bound) {
+            buffer = new byte[Math.max(bound, 8192)];
+        }
+        try {
+            System.arraycopy(GZIP_HEADER, 0, buffer, 0, GZIP_HEADER.length);
+            deflater.setInput(body, 0, length);
+            deflater.finish();
+            int position = GZIP_HEADER.length;
+            while (!deflater.finished()) {
+                if (position == buffer.length - GZIP_TRAILER_LENGTH) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                position += deflater.deflate(buffer, position, buffer.length - position - GZIP_TRAILER_LENGTH);
+            }
+
+            final CRC32 crc = new CRC32();
+            crc.update(body, 0, length);
+            position = writeIntLittleEndian(buffer, position, (int) crc.getValue());
+            position = writeIntLittleEndian(buffer, position, length);
+            return Arrays.copyOf(buffer, position);
+        } finally {
+            deflater.reset();
+            if (!deflaters.offer(deflater)) {
+                deflater.end();
+            }
+            if (buffer.length <= MAX_POOLED_BUFFER) {
+                buffers.offer(buffer);
+            }
+        }
+    }
+
+    private static int writeIntLittleEndian(byte[] buffer, int position, int value) {
+        buffer[position] = (byte) value;
+        buffer[position + 1] = (byte) (value >>> 8);
+        buffer[position + 2] = (byte) (value >>> 16);
+        buffer[position + 3] = (byte) (value >>> 24);
+        return position + 4;
+    }
+
+    private static boolean loadBrotli() {
+        try {
+            if (Brotli4jLoader.isAvailable()) {
+                return true;
+            }
+            logger.info("Brotli encoder unavailable, responses are compressed with gzip only: {}",
+                        Brotli4jLoader.getUnavailabilityCause().getMessage());
+        } catch (LinkageError e) {
+            logger.info("Brotli encoder unavailable, responses are compressed with gzip only: {}", e.getMessage());
+        }
+        return false;
+    }
+}
@@ -0,0 +1,68 @@
+package com.cj.exchangerates.config;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.cj.exchangerates.admission.AdmissionControlInterceptor;
+import com.cj.exchangerates.admission.GradientConcurrencyLimiter;
+import com.cj.exchangerates.admission.TokenBucketRateLimiter;
+import com.cj.exchangerates.service.IExchangeRateService;
+
+/**
+ * Admission control configuration class.
+ * 
+ * Applies per-client rate limiting and adaptive load shedding to the
+ * exchange rate and conversion endpoints. Disable with
+ * exchangerates.admission.enabled=false.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(name = "exchangerates.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    private static final long IDLE_CLIENT_NANOS = Duration.ofMinutes(5).toNanos();
+
+    private final AdmissionControlInterceptor interceptor;
+
+    private final TokenBucketRateLimiter rateLimiter;
+
+    public AdmissionConfig(@Value("${exchangerates.admission.rate-limit.requests-per-second:50}") double requestsPerSecond,
+                           @Value("${exchangerates.admission.rate-limit.burst:100}") int burst,
+                           @Value("${exchangerates.admission.rate-limit.max-clients:100000}") int maxClients,
+                           @Value("${exchangerates.admission.rate-limit.api-keys:}") List<String> apiKeys,
+                           @Value("${exchangerates.admission.concurrency.initial-limit:100}") int initialLimit,
+                           @Value("${exchangerates.admission.concurrency.min-limit:20}") int minLimit,
+                           @Value("${exchangerates.admission.concurrency.max-limit:1000}") int maxLimit,
+                           @Value("${exchangerates.admission.concurrency.miss-share:0.8}") double missShare,
+                           @Value("${exchangerates.admission.retry-after:1s}") Duration retryAfter,
+                           ObjectProvider<IExchangeRateService> exchangeRateService) {
+        this.rateLimiter = new TokenBucketRateLimiter(requestsPerSecond, burst, maxClients);
+        this.interceptor = new AdmissionControlInterceptor(rateLimiter,
+                new GradientConcurrencyLimiter(initialLimit, minLimit, maxLimit),
+                exchangeRateService, new HashSet<>(apiKeys), missShare, Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/exchangeRates/**", "/convert/**");
+    }
+
+    /**
+     * Drops rate limit state for clients that have gone quiet.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleClients() {
+        rateLimiter.evictIdle(IDLE_CLIENT_NANOS);
+    }
+}
@@ -1,9 +1,15 @@
 package com.cj.exchangerates.config;
 
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
+import com.cj.exchangerates.service.AdaptiveTimeoutRequestFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -15,16 +21,62 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
  * including RestTemplate, ObjectMapper, and other common components.
  */
 @Configuration
+@EnableScheduling
 public class ApplicationConfig {
 
+    /**
+     * Configures the thread factory used to fan out calls to the upstream providers.
+     * 
+     * When virtual threads are enabled (spring.threads.virtual.enabled), every
+     * upstream call runs on its own virtual thread, so a slow provider parks a
+     * cheap virtual thread instead of holding a platform thread.
+     *
+     * @param virtualThreads Whether virtual threads are enabled
+     * @return Configured ThreadFactory instance
+     */
+    @Bean
+    public ThreadFactory upstreamThreadFactory(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return Thread.ofVirtual().name("upstream-", 0).factory();
+        }
+        return Thread.ofPlatform().name("upstream-", 0).daemon(true).factory();
+    }
+
+    /**
+     * Configures the request factory giving each upstream host its own timeout.
+     * 
+     * @param minTimeout The shortest timeout applied
+     * @param maxTimeout The longest timeout applied, and the one until a host's latency is known
+     * @param percentile The latency percentile the timeouts follow
+     * @param multiplier The factor applied to that percentile
+     * @param window     How many recent calls per host are considered
+     * @return Configured AdaptiveTimeoutRequestFactory instance
+     */
+    @Bean
+    public AdaptiveTimeoutRequestFactory adaptiveTimeoutRequestFactory(
+            @Value("${exchangerates.providers.timeout.min:250ms}") Duration minTimeout,
+            @Value("${exchangerates.providers.timeout.max:5s}") Duration maxTimeout,
+            @Value("${exchangerates.providers.timeout.percentile:99}") double percentile,
+            @Value("${exchangerates.providers.timeout.multiplier:2.0}") double multiplier,
+            @Value("${exchangerates.providers.timeout.window:200}") int window) {
+        return new AdaptiveTimeoutRequestFactory(minTimeout, maxTimeout, percentile, multiplier, window);
+    }
+
     /**
      * Configures RestTemplate for HTTP client operations.
      * 
+     * Uses the JDK HttpClient, which blocks without pinning the carrier thread
+     * when called from a virtual thread. Each upstream host gets a connect and
+     * read timeout that adapts to its observed latency.
+     *
+     * @param requestFactory The request factory applying the timeouts
      * @return Configured RestTemplate instance
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(AdaptiveTimeoutRequestFactory requestFactory) {
+        final RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(requestFactory);
+        return restTemplate;
     }
 
     /**
@@ -45,4 +97,4 @@ public class ApplicationConfig {
         
         return mapper;
     }
-} 
\ No newline at end of file
+}
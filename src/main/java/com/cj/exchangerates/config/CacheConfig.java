@@ -0,0 +1,134 @@
+package com.cj.exchangerates.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.cj.exchangerates.cache.CurrencyIndex;
+import com.cj.exchangerates.cache.HeapRateTableStore;
+import com.cj.exchangerates.cache.ICacheValueSerializer;
+import com.cj.exchangerates.cache.IRateTableStore;
+import com.cj.exchangerates.cache.IRemoteCacheStore;
+import com.cj.exchangerates.cache.InMemoryRemoteCacheStore;
+import com.cj.exchangerates.cache.JacksonCacheValueSerializer;
+import com.cj.exchangerates.cache.OffHeapRateTableStore;
+import com.cj.exchangerates.cache.RateCache;
+import com.cj.exchangerates.cache.RedisRemoteCacheStore;
+import com.cj.exchangerates.cache.TenantCacheEndpoint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cache configuration class.
+ * 
+ * Selects the shared L2 cache store with exchangerates.cache.l2.store:
+ * "none" (default, local cache only), "embedded" (in-process stand-in) or
+ * "redis" (Redis-protocol server configured with spring.data.redis.*).
+ * 
+ * Selects where full rate tables live with exchangerates.cache.tables.store:
+ * "heap" (default) or "offheap" (direct memory, sized for
+ * exchangerates.cache.tables.max-currencies currencies).
+ */
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Configures the serializer for values in the shared cache tier.
+     * Declare another ICacheValueSerializer bean to replace it.
+     * 
+     * @param objectMapper The application ObjectMapper
+     * @return Configured ICacheValueSerializer instance
+     */
+    @Bean
+    @ConditionalOnMissingBean(ICacheValueSerializer.class)
+    public ICacheValueSerializer cacheValueSerializer(ObjectMapper objectMapper) {
+        return new JacksonCacheValueSerializer(objectMapper);
+    }
+
+    /**
+     * Configures the embedded stand-in for the shared cache tier.
+     * 
+     * @return Configured IRemoteCacheStore instance
+     */
+    @Bean
+    @ConditionalOnProperty(name = "exchangerates.cache.l2.store", havingValue = "embedded")
+    public IRemoteCacheStore embeddedRemoteCacheStore() {
+        return new InMemoryRemoteCacheStore();
+    }
+
+    /**
+     * Configures the listener container used for invalidation messages.
+     * 
+     * @param connectionFactory The Redis connection factory
+     * @return Configured RedisMessageListenerContainer instance
+     */
+    @Bean
+    @ConditionalOnProperty(name = "exchangerates.cache.l2.store", havingValue = "redis")
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory) {
+        final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    /**
+     * Configures a Redis-protocol server as the shared cache tier.
+     * 
+     * @param connectionFactory The Redis connection factory
+     * @param listenerContainer The container delivering invalidation messages
+     * @return Configured IRemoteCacheStore instance
+     */
+    @Bean
+    @ConditionalOnProperty(name = "exchangerates.cache.l2.store", havingValue = "redis")
+    public IRemoteCacheStore redisRemoteCacheStore(RedisConnectionFactory connectionFactory,
+                                                   RedisMessageListenerContainer listenerContainer) {
+        return new RedisRemoteCacheStore(connectionFactory, listenerContainer);
+    }
+
+    /**
+     * Configures the dense currency numbering shared by fixed-layout rate tables.
+     * 
+     * @param maxCurrencies The most currencies that can be numbered
+     * @return Configured CurrencyIndex instance
+     */
+    @Bean
+    public CurrencyIndex currencyIndex(@Value("${exchangerates.cache.tables.max-currencies:512}") int maxCurrencies) {
+        return new CurrencyIndex(maxCurrencies);
+    }
+
+    /**
+     * Configures heap storage for full rate tables.
+     * 
+     * @return Configured IRateTableStore instance
+     */
+    @Bean
+    @ConditionalOnProperty(name = "exchangerates.cache.tables.store", havingValue = "heap", matchIfMissing = true)
+    public IRateTableStore heapRateTableStore() {
+        return new HeapRateTableStore();
+    }
+
+    /**
+     * Configures off-heap storage for full rate tables.
+     * 
+     * @param currencyIndex The currency numbering
+     * @return Configured IRateTableStore instance
+     */
+    @Bean
+    @ConditionalOnProperty(name = "exchangerates.cache.tables.store", havingValue = "offheap")
+    public IRateTableStore offHeapRateTableStore(CurrencyIndex currencyIndex) {
+        return new OffHeapRateTableStore(currencyIndex);
+    }
+
+    /**
+     * Configures the actuator endpoint listing each tenant's cache usage.
+     * 
+     * @param rateCache The partitioned response cache
+     * @return Configured TenantCacheEndpoint instance
+     */
+    @Bean
+    public TenantCacheEndpoint tenantCacheEndpoint(RateCache rateCache) {
+        return new TenantCacheEndpoint(rateCache);
+    }
+}
@@ -0,0 +1,57 @@
+package com.cj.exchangerates.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.cj.exchangerates.cluster.ClusterMembership;
+import com.cj.exchangerates.cluster.ClusterSecret;
+import com.cj.exchangerates.cluster.PeerClient;
+
+/**
+ * Cluster configuration class.
+ * 
+ * Active when exchangerates.cluster.enabled is true. Each node lists its own
+ * base URL and those of its peers; one leader per base then fetches from the
+ * external APIs and replicates to the others. Nodes authenticate to each
+ * other with exchangerates.cluster.secret, which must be set.
+ */
+@Configuration
+@ConditionalOnProperty(name = "exchangerates.cluster.enabled", havingValue = "true")
+public class ClusterConfig {
+
+    /**
+     * Configures the client used to talk to peers.
+     * 
+     * @param timeout Connect and read timeout for peer calls
+     * @param secret  The secret shared by all nodes
+     * @return Configured PeerClient instance
+     * @throws IllegalStateException if no secret is configured
+     */
+    @Bean
+    public PeerClient peerClient(@Value("${exchangerates.cluster.peer-timeout:2s}") Duration timeout,
+                                 ClusterSecret secret) {
+        return new PeerClient(timeout, secret.value());
+    }
+
+    /**
+     * Configures cluster membership and leader election.
+     * 
+     * @param self           This node's base URL, as its peers reach it
+     * @param peers          The base URLs of the other nodes
+     * @param failureTimeout How long a silent peer is still considered alive
+     * @param peerClient     The client used for heartbeats
+     * @return Configured ClusterMembership instance
+     */
+    @Bean
+    public ClusterMembership clusterMembership(@Value("${exchangerates.cluster.self-url}") String self,
+                                               @Value("${exchangerates.cluster.peers:}") List<String> peers,
+                                               @Value("${exchangerates.cluster.failure-timeout:6s}") Duration failureTimeout,
+                                               PeerClient peerClient) {
+        return new ClusterMembership(self, peers, failureTimeout, peerClient);
+    }
+}
@@ -0,0 +1,60 @@
+package com.cj.exchangerates.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import com.cj.exchangerates.compression.CompressionFilter;
+import com.cj.exchangerates.compression.ResponseCompressor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Response compression configuration class.
+ *
+ * Large responses of the servlet stack are compressed with brotli or gzip,
+ * whichever the client prefers and the platform supports. Enabled unless
+ * exchangerates.compression.enabled is false.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(name = "exchangerates.compression.enabled", havingValue = "true", matchIfMissing = true)
+public class CompressionConfig {
+
+    /**
+     * Configures the compressor shared by all responses.
+     *
+     * @param gzipLevel     The deflate level
+     * @param brotliQuality The brotli quality
+     * @param cacheSize     How many compressed bodies with an ETag to keep
+     * @param meterRegistry The registry response sizes are recorded in, if any
+     * @return Configured ResponseCompressor instance
+     */
+    @Bean
+    public ResponseCompressor responseCompressor(@Value("${exchangerates.compression.gzip-level:6}") int gzipLevel,
+                                                 @Value("${exchangerates.compression.brotli-quality:5}") int brotliQuality,
+                                                 @Value("${exchangerates.compression.cache-size:64}") int cacheSize,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ResponseCompressor(gzipLevel, brotliQuality, cacheSize,
+                                      meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    /**
+     * Configures the filter compressing responses.
+     *
+     * @param compressor      The compressor to use
+     * @param minResponseSize The smallest body worth compressing
+     * @return Configured CompressionFilter instance
+     */
+    @Bean
+    public CompressionFilter compressionFilter(ResponseCompressor compressor,
+                                               @Value("${exchangerates.compression.min-response-size:1KB}") DataSize minResponseSize) {
+        return new CompressionFilter(compressor, minResponseSize.toBytes());
+    }
+}
@@ -0,0 +1,35 @@
+package com.cj.exchangerates.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.cj.exchangerates.logging.SamplingTurboFilter;
+import com.cj.exchangerates.model.ExchangeRateResponse;
+import com.cj.exchangerates.model.ReplicatedRates;
+
+/**
+ * Native image hints configuration class.
+ * 
+ * Registers the reflection a GraalVM native image cannot discover on its own:
+ * types Jackson binds outside controller signatures (cached L2 values and
+ * cluster replication payloads), and the logback turbo filter that
+ * logback-spring.xml instantiates by name. Unused on the JVM.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.LoggingHints.class)
+@RegisterReflectionForBinding({ExchangeRateResponse.class, ReplicatedRates.class})
+public class NativeHintsConfig {
+
+    static class LoggingHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.reflection().registerType(SamplingTurboFilter.class,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+}
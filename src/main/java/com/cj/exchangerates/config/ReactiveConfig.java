@@ -0,0 +1,28 @@
+package com.cj.exchangerates.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Configuration for the reactive serving stack.
+ * 
+ * Tomcat is on the classpath for the default servlet stack, and Spring Boot
+ * would otherwise prefer it for a reactive application too. Declaring the
+ * Netty factory explicitly makes the 'reactive' profile run on Netty.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    /**
+     * Configures Netty as the reactive web server.
+     * 
+     * @return Configured NettyReactiveWebServerFactory instance
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
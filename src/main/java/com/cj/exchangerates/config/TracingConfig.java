@@ -0,0 +1,71 @@
+package com.cj.exchangerates.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.cj.exchangerates.tracing.InMemorySpanExporter;
+import com.cj.exchangerates.tracing.ObservedJackson2HttpMessageConverter;
+import com.cj.exchangerates.tracing.SlowRequestsEndpoint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Tracing configuration class.
+ * 
+ * Spans are recorded through Micrometer Observation and bridged to the
+ * OpenTelemetry SDK; management.tracing.sampling.probability controls
+ * sampling. exchangerates.tracing.exporter selects where sampled spans go:
+ * "memory" (default) keeps recent slow requests for /actuator/slowrequests,
+ * "none" drops them. Any other OpenTelemetry SpanExporter bean, such as OTLP,
+ * is used alongside.
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Configures the exporter that retains slow requests in memory.
+     * 
+     * @param threshold How long a request must take to be retained
+     * @param capacity  How many slow requests to retain
+     * @return Configured InMemorySpanExporter instance
+     */
+    @Bean
+    @ConditionalOnProperty(name = "exchangerates.tracing.exporter", havingValue = "memory", matchIfMissing = true)
+    public InMemorySpanExporter inMemorySpanExporter(@Value("${exchangerates.tracing.slow-threshold:500ms}") Duration threshold,
+                                                     @Value("${exchangerates.tracing.slow-capacity:50}") int capacity) {
+        return new InMemorySpanExporter(threshold, capacity);
+    }
+
+    /**
+     * Configures the actuator endpoint listing slow requests.
+     * 
+     * @param exporter The exporter retaining them
+     * @return Configured SlowRequestsEndpoint instance
+     */
+    @Bean
+    @ConditionalOnProperty(name = "exchangerates.tracing.exporter", havingValue = "memory", matchIfMissing = true)
+    public SlowRequestsEndpoint slowRequestsEndpoint(InMemorySpanExporter exporter) {
+        return new SlowRequestsEndpoint(exporter);
+    }
+
+    /**
+     * Replaces the default JSON message converter with one that traces serialization.
+     * 
+     * @param objectMapper        The application ObjectMapper
+     * @param observationRegistry The observation registry
+     * @return Configured ObservedJackson2HttpMessageConverter instance
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = Type.SERVLET)
+    public ObservedJackson2HttpMessageConverter observedJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   ObservationRegistry observationRegistry) {
+        return new ObservedJackson2HttpMessageConverter(objectMapper, observationRegistry);
+    }
+}
@@ -0,0 +1,116 @@
+package com.cj.exchangerates.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.cj.exchangerates.cluster.ClusterApiService;
+import com.cj.exchangerates.cluster.ClusterMembership;
+import com.cj.exchangerates.cluster.ClusterSecret;
+import com.cj.exchangerates.model.ExchangeRateResponse;
+import com.cj.exchangerates.model.ReplicatedRates;
+import com.cj.exchangerates.service.IExchangeRateService;
+
+/**
+ * Internal REST controller used by cluster nodes to talk to each other.
+ * Every request must carry the cluster secret, and is answered with 401
+ * otherwise. Not intended to be exposed outside the cluster network.
+ */
+@RestController
+@RequestMapping("/internal/cluster")
+@ConditionalOnProperty(name = "exchangerates.cluster.enabled", havingValue = "true")
+public class ClusterController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterController.class);
+
+    @Autowired
+    private ClusterMembership membership;
+
+    @Autowired
+    private ClusterApiService clusterApiService;
+
+    @Autowired
+    private IExchangeRateService exchangeRateService;
+
+    @Autowired
+    private ClusterSecret clusterSecret;
+
+    /**
+     * Answers a peer's heartbeat.
+     *
+     * @param from   The base URL of the calling peer
+     * @param secret The cluster secret presented by the peer
+     * @return This node's base URL
+     */
+    @GetMapping("/heartbeat")
+    public ResponseEntity<String> heartbeat(@RequestParam String from,
+                                            @RequestHeader(name = ClusterSecret.HEADER, required = false) String secret) {
+        if (!clusterSecret.matches(secret)) {
+            return unauthorized(from);
+        }
+        membership.markUp(from);
+        return ResponseEntity.ok(membership.getSelf());
+    }
+
+    /**
+     * Fetches rates from the external APIs on behalf of a peer. The result
+     * is cached here and replicated to every live peer.
+     *
+     * @param base    The base currency code
+     * @param symbols List of target currency codes
+     * @param from    The base URL of the calling peer
+     * @param secret  The cluster secret presented by the peer
+     * @return The fetched rates
+     */
+    @GetMapping("/rates/{base}")
+    public ResponseEntity<ReplicatedRates> fetchRates(@PathVariable String base,
+                                                      @RequestParam List<String> symbols,
+                                                      @RequestParam String from,
+                                                      @RequestHeader(name = ClusterSecret.HEADER, required = false) String secret) {
+        if (!clusterSecret.matches(secret)) {
+            return unauthorized(from);
+        }
+        membership.markUp(from);
+        final Map<String, ExchangeRateResponse> allRates = clusterApiService.fetchAsLeader(base, symbols);
+        exchangeRateService.storeRates(base, symbols, allRates);
+        return ResponseEntity.ok(new ReplicatedRates(membership.getSelf(), base, symbols, allRates));
+    }
+
+    /**
+     * Accepts rates fetched by the leader for a base.
+     *
+     * @param rates  The replicated rates
+     * @param secret The cluster secret presented by the peer
+     * @return An empty response
+     */
+    @PostMapping("/replicate")
+    public ResponseEntity<Void> replicate(@RequestBody ReplicatedRates rates,
+                                          @RequestHeader(name = ClusterSecret.HEADER, required = false) String secret) {
+        if (!clusterSecret.matches(secret)) {
+            return unauthorized(rates.getSource());
+        }
+        logger.debug("Received replicated rates for base {} from {}", rates.getBase(), rates.getSource());
+        membership.markUp(rates.getSource());
+        exchangeRateService.storeRates(rates.getBase(), rates.getSymbols(), rates.getRates());
+        return ResponseEntity.noContent().build();
+    }
+
+    private static <T> ResponseEntity<T> unauthorized(String from) {
+        logger.debug("Rejected internal cluster request without a valid secret from {}", from);
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+}
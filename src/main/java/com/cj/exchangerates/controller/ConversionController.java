@@ -0,0 +1,76 @@
+package com.cj.exchangerates.controller;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.cj.exchangerates.service.ICurrencyConversionService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * REST controller for bulk currency conversion.
+ * Converts large arrays of amounts server-side, streaming both the request
+ * and the response so that bodies of millions of amounts are never held in memory.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/convert")
+public class ConversionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConversionController.class);
+
+    @Autowired
+    private ICurrencyConversionService conversionService;
+
+    /**
+     * Converts a JSON array of amounts from the base currency to the target.
+     *
+     * @param base     The currency the amounts are in (3-letter ISO code)
+     * @param target   The currency to convert to (3-letter ISO code)
+     * @param request  The request, whose body is a JSON array of amounts
+     * @param response The response, whose body is the JSON array of converted amounts
+     * 
+     * @example POST /convert?base=USD&target=EUR with body [100, 250.5, 12.75]
+     * @example Response: [85.0, 212.925, 10.8375]
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public void convertJson(@RequestParam String base,
+                            @RequestParam String target,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        final double rate = conversionService.getRate(base, target);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        final long count = conversionService.convertJson(rate, request.getInputStream(), response.getOutputStream());
+        logger.debug("Converted {} amounts from {} to {}", count, base, target);
+    }
+
+    /**
+     * Converts big-endian IEEE 754 doubles from the base currency to the target.
+     * The cheapest encoding for very large batches.
+     *
+     * @param base     The currency the amounts are in (3-letter ISO code)
+     * @param target   The currency to convert to (3-letter ISO code)
+     * @param request  The request, whose body is a sequence of 8-byte doubles
+     * @param response The response, whose body is the converted doubles in the same order
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public void convertBinary(@RequestParam String base,
+                              @RequestParam String target,
+                              HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        final double rate = conversionService.getRate(base, target);
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        final long count = conversionService.convertBinary(rate, request.getInputStream(), response.getOutputStream());
+        logger.debug("Converted {} amounts from {} to {}", count, base, target);
+    }
+}
@@ -5,6 +5,8 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,14 +14,23 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.cj.exchangerates.exception.GlobalExceptionHandler.ErrorResponse;
 import com.cj.exchangerates.model.ExchangeRateResponse;
+import com.cj.exchangerates.model.RateChangesResponse;
+import com.cj.exchangerates.model.RateMatrixResponse;
 import com.cj.exchangerates.service.IExchangeRateService;
+import com.cj.exchangerates.validation.RequestValidator;
+import com.cj.exchangerates.validation.ValidationError;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 
 /**
  * REST controller for exchange rate operations.
  * Provides endpoints for retrieving exchange rates from multiple sources.
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/exchangeRates")
 public class ExchangeRateController {
 
@@ -28,6 +39,12 @@ public class ExchangeRateController {
     @Autowired
     private IExchangeRateService exchangeRateService;
 
+    @Autowired
+    private RequestValidator requestValidator;
+
+    @Autowired(required = false)
+    private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
     /**
      * Retrieves exchange rates for the specified base currency and target symbols.
      * 
@@ -36,21 +53,31 @@ public class ExchangeRateController {
      *
      * @param base    The base currency code (3-letter ISO code, e.g., USD, EUR, GBP)
      * @param symbols List of target currency codes (3-letter ISO codes)
-     * @return ExchangeRateResponse containing the base currency and averaged rates
+     * @return ExchangeRateResponse containing the base currency and averaged rates,
+     *         or 400 with every invalid field if the codes are malformed or unknown
      * 
      * @example GET /exchangeRates/USD?symbols=EUR,GBP,JPY
      * @example Response: {"base": "USD", "rates": {"EUR": 0.85, "GBP": 0.73, "JPY": 110.25}}
      */
     @GetMapping("/{base}")
-    public ResponseEntity<ExchangeRateResponse> getExchangeRates(
+    public ResponseEntity<?> getExchangeRates(
             @PathVariable String base,
-            @RequestParam List<String> symbols) {
+            @RequestParam(required = false) List<String> symbols) {
         
-        logger.info("Exchange rate request received - Base: {}, Symbols: {}", base, symbols);
+        logger.debug("Exchange rate request received - Base: {}, Symbols: {}", base, symbols);
+        
+        // Reject invalid requests without throwing, so that floods of them stay cheap
+        final List<ValidationError> errors = requestValidator.validate(base, symbols);
+        if (!errors.isEmpty()) {
+            logger.debug("Invalid request parameters - Base: {}, Symbols: {}, Errors: {}", base, symbols, errors);
+            return ResponseEntity.badRequest().body(ErrorResponse.validationFailed(errors));
+        }
         
         try {
-            ExchangeRateResponse response = exchangeRateService.getExchangeRates(base, symbols);
-            logger.info("Exchange rate response generated successfully for base: {}", base);
+            ExchangeRateResponse response = Observation.createNotStarted("exchangerates.controller", observationRegistry)
+                                                       .contextualName("ExchangeRateController.getExchangeRates")
+                                                       .observe(() -> exchangeRateService.getExchangeRates(base, symbols));
+            logger.debug("Exchange rate response generated successfully for base: {}", base);
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid request parameters - Base: {}, Symbols: {}, Error: {}", base, symbols, e.getMessage());
@@ -60,4 +87,61 @@ public class ExchangeRateController {
             throw e;
         }
     }
+
+    /**
+     * Retrieves the rates of a base currency that changed after a version.
+     * 
+     * Clients that keep a full table pass the version of the last response
+     * they applied and receive only the symbols that moved since, plus any
+     * that are no longer quoted. A missing or unknown version returns the
+     * whole table with "full": true.
+     *
+     * @param base  The base currency code
+     * @param since The version the client last applied (0 for everything)
+     * @return RateChangesResponse, 404 if no rates are known for the base,
+     *         or 400 if the base is invalid
+     * 
+     * @example GET /exchangeRates/EUR/changes?since=5302424889720833
+     * @example Response: {"base": "EUR", "since": 5302424889720833, "version": 5302424889720834, "date": "2025-01-10", "full": false, "changes": {"USD": 1.03}, "removed": []}
+     */
+    @GetMapping("/{base}/changes")
+    public ResponseEntity<?> getRateChanges(
+            @PathVariable String base,
+            @RequestParam(defaultValue = "0") long since) {
+        
+        final List<ValidationError> errors = requestValidator.validateBase(base);
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(ErrorResponse.validationFailed(errors));
+        }
+        
+        final RateChangesResponse changes = exchangeRateService.getRateChanges(base, since);
+        if (changes == null) {
+            logger.debug("Rate changes requested for unknown base: {}", base);
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(changes);
+    }
+
+    /**
+     * Retrieves every cross rate between the supported currencies in one response.
+     * 
+     * The matrix is returned as a flat row-major array alongside the currency
+     * order, and carries an ETag derived from its content so that frequent
+     * pollers get 304 Not Modified until the rates change, whichever replica
+     * answers.
+     *
+     * @return RateMatrixResponse, or 503 if the matrix has not been built yet or has expired
+     * 
+     * @example GET /exchangeRates/matrix
+     * @example Response: {"version": 4108214387520194, "date": "2025-01-09", "currencies": ["EUR", "GBP", "USD"], "rates": [1.0, 0.83, 1.03, ...]}
+     */
+    @GetMapping("/matrix")
+    public ResponseEntity<RateMatrixResponse> getRateMatrix() {
+        final RateMatrixResponse matrix = exchangeRateService.getRateMatrix();
+        if (matrix == null) {
+            logger.debug("Rate matrix requested before it was built or after it expired");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok().eTag(Long.toString(matrix.getVersion())).body(matrix);
+    }
 }
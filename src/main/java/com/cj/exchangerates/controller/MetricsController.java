@@ -3,11 +3,11 @@ package com.cj.exchangerates.controller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.cj.exchangerates.model.MetricsSnapshot;
 import com.cj.exchangerates.service.MetricsService;
 
 /**
@@ -25,25 +25,23 @@ public class MetricsController {
     /**
      * Retrieves current application metrics including total queries and API usage statistics.
      * 
-     * This endpoint provides real-time insights into application performance,
+     * This endpoint provides near real-time insights into application performance,
      * including the number of exchange rate queries processed and the success
-     * rates of external API calls.
+     * rates of external API calls. The metrics are aggregated and encoded in the
+     * background at exchangerates.metrics.publish-interval, so a scrape only
+     * writes out the latest published bytes.
      *
-     * @return MetricsSnapshot containing current application metrics
+     * @return The latest MetricsSnapshot, encoded as JSON
      * 
      * @example GET /metrics
      * @example Response: {"totalQueries": 150, "apis": [{"name": "frankfurter", "metrics": {"totalRequests": 75, "totalResponses": 75}}]}
      */
-    @GetMapping("/metrics")
-    public ResponseEntity<MetricsSnapshot> getMetrics() {
-        logger.debug("Metrics request received");
-        
+    @GetMapping(value = "/metrics", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getMetrics() {
         try {
-            MetricsSnapshot snapshot = metricsService.getSnapshot();
-            logger.debug("Metrics snapshot generated successfully - Total queries: {}", snapshot.getTotalQueries());
-            return ResponseEntity.ok(snapshot);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(metricsService.getEncodedSnapshot());
         } catch (Exception e) {
-            logger.error("Error generating metrics snapshot", e);
+            logger.error("Error reading metrics snapshot", e);
             throw e;
         }
     }
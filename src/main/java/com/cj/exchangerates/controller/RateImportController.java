@@ -0,0 +1,66 @@
+package com.cj.exchangerates.controller;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.cj.exchangerates.cluster.ClusterSecret;
+import com.cj.exchangerates.ingest.ImportFormat;
+import com.cj.exchangerates.ingest.ImportedApiService;
+import com.cj.exchangerates.model.ImportResult;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Internal REST controller for uploading rates from internal sources.
+ * The body is parsed as it arrives, so uploads of millions of rows are never
+ * held in memory. Every upload must carry the cluster secret (see
+ * {@link ClusterSecret}), and is answered with 401 otherwise. Not intended to
+ * be exposed outside the internal network.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/internal/rates")
+@ConditionalOnProperty(name = "exchangerates.ingest.enabled", havingValue = "true")
+public class RateImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateImportController.class);
+
+    @Autowired
+    private ImportedApiService importedApiService;
+
+    @Autowired
+    private ClusterSecret clusterSecret;
+
+    /**
+     * Imports rates, one per line, as CSV or NDJSON (see {@link ImportFormat}).
+     *
+     * @param request The request, whose body holds the rows
+     * @param secret  The cluster secret presented by the caller
+     * @return The number of rows imported and rejected
+     * 
+     * @example POST /internal/rates/imports with Content-Type text/csv and body
+     *          "base,symbol,rate,date\nEUR,USD,1.0842,2026-10-19"
+     * @example Response: {"source": "upload", "format": "csv", "rows": 1, "rejected": 0, "pairs": 1, "durationMs": 0}
+     */
+    @PostMapping(value = "/imports", consumes = {"text/csv", "application/x-ndjson", "application/jsonl"})
+    public ResponseEntity<ImportResult> importRates(HttpServletRequest request,
+                                                    @RequestHeader(name = ClusterSecret.HEADER, required = false) String secret) throws IOException {
+        if (!clusterSecret.matches(secret)) {
+            logger.debug("Rejected rate import without a valid secret from {}", request.getRemoteAddr());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        final ImportFormat format = ImportFormat.fromContentType(request.getContentType());
+        return ResponseEntity.ok(importedApiService.importStream("upload", format, request.getInputStream()));
+    }
+}
@@ -0,0 +1,69 @@
+package com.cj.exchangerates.controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.cj.exchangerates.exception.GlobalExceptionHandler.ErrorResponse;
+import com.cj.exchangerates.service.IReactiveExchangeRateService;
+import com.cj.exchangerates.validation.RequestValidator;
+import com.cj.exchangerates.validation.ValidationError;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking REST controller for exchange rate operations.
+ * Serves the same endpoint as ExchangeRateController on Netty when the
+ * 'reactive' profile is active.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/exchangeRates")
+public class ReactiveExchangeRateController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveExchangeRateController.class);
+
+    @Autowired
+    private IReactiveExchangeRateService exchangeRateService;
+
+    @Autowired
+    private RequestValidator requestValidator;
+
+    /**
+     * Retrieves exchange rates for the specified base currency and target symbols.
+     *
+     * @param base    The base currency code (3-letter ISO code, e.g., USD, EUR, GBP)
+     * @param symbols List of target currency codes (3-letter ISO codes)
+     * @return Mono of the ExchangeRateResponse containing the base currency and averaged rates,
+     *         or 400 with every invalid field if the codes are malformed or unknown
+     * 
+     * @example GET /exchangeRates/USD?symbols=EUR,GBP,JPY
+     */
+    @GetMapping("/{base}")
+    public Mono<ResponseEntity<?>> getExchangeRates(
+            @PathVariable String base,
+            @RequestParam(required = false) List<String> symbols) {
+
+        logger.debug("Exchange rate request received - Base: {}, Symbols: {}", base, symbols);
+
+        final List<ValidationError> errors = requestValidator.validate(base, symbols);
+        if (!errors.isEmpty()) {
+            logger.debug("Invalid request parameters - Base: {}, Symbols: {}, Errors: {}", base, symbols, errors);
+            return Mono.just(ResponseEntity.badRequest().body(ErrorResponse.validationFailed(errors)));
+        }
+
+        return exchangeRateService.getExchangeRates(base, symbols)
+                                  .<ResponseEntity<?>>map(ResponseEntity::ok)
+                                  .doOnError(IllegalArgumentException.class, e ->
+                                      logger.warn("Invalid request parameters - Base: {}, Symbols: {}, Error: {}", base, symbols, e.getMessage()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.cj.exchangerates.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a request is turned away by admission control, either because
+ * the client exceeded its rate limit (429) or the service is shedding load (503).
+ * 
+ * Rejections are expected to be frequent during abuse spikes, so no stack
+ * trace is captured.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final HttpStatus status;
+
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(HttpStatus status, String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
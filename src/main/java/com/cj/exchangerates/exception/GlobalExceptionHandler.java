@@ -2,21 +2,26 @@ package com.cj.exchangerates.exception;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-import org.springframework.web.context.request.WebRequest;
+
+import com.cj.exchangerates.validation.ValidationError;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 /**
  * Global exception handler for the application.
- * Provides consistent error responses across all endpoints.
+ * Provides consistent error responses across all endpoints, for both the
+ * servlet and the reactive serving stacks.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -28,7 +33,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(
-            MethodArgumentNotValidException ex, WebRequest request) {
+            MethodArgumentNotValidException ex) {
         
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach((error) -> {
@@ -53,7 +58,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
-            IllegalArgumentException ex, WebRequest request) {
+            IllegalArgumentException ex) {
         
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
@@ -66,12 +71,32 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles requests rejected by admission control.
+     */
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleAdmissionRejectedException(
+            AdmissionRejectedException ex) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                ex.getStatus().value(),
+                ex.getStatus().getReasonPhrase(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+
+        logger.debug("Request rejected: {}", ex.getMessage());
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     /**
      * Handles general runtime exceptions.
      */
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(
-            RuntimeException ex, WebRequest request) {
+            RuntimeException ex) {
         
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
@@ -89,7 +114,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(
-            Exception ex, WebRequest request) {
+            Exception ex) {
         
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
@@ -110,6 +135,8 @@ public class GlobalExceptionHandler {
         private String error;
         private String message;
         private LocalDateTime timestamp;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private List<ValidationError> errors;
 
         public ErrorResponse() {
         }
@@ -121,6 +148,23 @@ public class GlobalExceptionHandler {
             this.timestamp = timestamp;
         }
 
+        /**
+         * Creates a 400 response listing every problem a request validator found.
+         *
+         * @param errors The problems, at least one
+         * @return The error response
+         */
+        public static ErrorResponse validationFailed(List<ValidationError> errors) {
+            final ErrorResponse response = new ErrorResponse(
+                    HttpStatus.BAD_REQUEST.value(),
+                    "Validation failed",
+                    errors.size() == 1 ? errors.get(0).message() : errors.size() + " invalid fields",
+                    LocalDateTime.now()
+            );
+            response.errors = errors;
+            return response;
+        }
+
         public int getStatus() {
             return status;
         }
@@ -152,5 +196,13 @@ public class GlobalExceptionHandler {
         public void setTimestamp(LocalDateTime timestamp) {
             this.timestamp = timestamp;
         }
+
+        public List<ValidationError> getErrors() {
+            return errors;
+        }
+
+        public void setErrors(List<ValidationError> errors) {
+            this.errors = errors;
+        }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.cj.exchangerates.ingest;
+
+import java.util.Locale;
+
+/**
+ * The layouts rate imports can be written in. Both hold one rate per line.
+ * 
+ * <ul>
+ *   <li>CSV: {@code base,symbol,rate[,date]}, e.g. {@code EUR,USD,1.0842,2026-10-19}.
+ *       A first line that is not a valid row is taken as a header.</li>
+ *   <li>NDJSON: one object per line with the fields base, symbol, rate and
+ *       optionally date, e.g. {@code {"base":"EUR","symbol":"USD","rate":1.0842}}.</li>
+ * </ul>
+ * Dates are ISO dates; rows without one are dated the day they are imported.
+ */
+public enum ImportFormat {
+
+    CSV,
+
+    NDJSON;
+
+    /**
+     * @param contentType The Content-Type of an upload, may be null
+     * @return The format, or null if the type is neither CSV nor NDJSON
+     */
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        final String type = contentType.toLowerCase(Locale.ROOT);
+        if (type.startsWith("text/csv")) {
+            return CSV;
+        }
+        if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+            return NDJSON;
+        }
+        return null;
+    }
+
+    /**
+     * @param fileName The name of an import file
+     * @return The format, or null unless the name ends in .csv, .ndjson or .jsonl
+     */
+    public static ImportFormat fromFileName(String fileName) {
+        final String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        return null;
+    }
+}
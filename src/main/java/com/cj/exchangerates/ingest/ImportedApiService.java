@@ -0,0 +1,238 @@
+package com.cj.exchangerates.ingest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.cj.exchangerates.cache.CacheKey;
+import com.cj.exchangerates.model.ExchangeRateResponse;
+import com.cj.exchangerates.model.ImportResult;
+import com.cj.exchangerates.service.IApiService;
+import com.cj.exchangerates.service.ProviderCapabilities;
+
+/**
+ * Serves rates imported from internal sources, such as treasury desk quotes
+ * and end-of-day files, as the "imported" provider.
+ * 
+ * Imports are uploaded (see RateImportController) or dropped into a watched
+ * directory (see {@link RateImportWatcher}). Files are memory-mapped and
+ * uploads read through one reused buffer, and both are parsed in place by
+ * {@link RateImportParser}, so an import never holds more than one window of
+ * its input. Each import is collected into a batch and then merged into the
+ * published table, which lookups read without locking. A
+ * {@link RatesImportedEvent} then names the bases the import touched, so that
+ * cached responses and prefetched tables for them are refreshed.
+ * 
+ * ApiService adds these rates to the upstream providers' for every request,
+ * weighted like any other provider (see exchangerates.providers.weights).
+ * Rates older than exchangerates.ingest.max-age are no longer served.
+ */
+@Service
+@Qualifier("ImportedApiService")
+public class ImportedApiService implements IApiService {
+
+    public static final String PROVIDER = "imported";
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportedApiService.class);
+
+    /**
+     * The most of a file mapped at once.
+     */
+    private static final long MAP_WINDOW = 256L << 20;
+
+    @Autowired
+    private ProviderCapabilities capabilities = new ProviderCapabilities();
+
+    @Autowired
+    private ApplicationEventPublisher events = event -> { };
+
+    @Value("${exchangerates.ingest.max-age:7d}")
+    private Duration maxAge = Duration.ofDays(7);
+
+    /**
+     * The read buffer of an upload, which is also the longest line it may hold.
+     */
+    @Value("${exchangerates.ingest.buffer-size:1MB}")
+    private DataSize bufferSize = DataSize.ofMegabytes(1);
+
+    private volatile ImportedRateTable table = ImportedRateTable.EMPTY;
+
+    /**
+     * Serializes merges, so that concurrent imports do not lose each other's rates.
+     */
+    private final ReentrantLock mergeLock = new ReentrantLock();
+
+    /**
+     * Looks up the imported rates for a request.
+     *
+     * @param base    The base currency code
+     * @param symbols List of target currency codes
+     * @return The imported rates keyed by "imported", or empty if none are held
+     */
+    @Override
+    public Map<String, ExchangeRateResponse> fetchAllRates(String base, List<String> symbols) {
+        final ImportedRateTable current = table;
+        final int baseId = CacheKey.tryEncode(base);
+        if (current.size() == 0 || baseId < 0) {
+            return Map.of();
+        }
+
+        final int oldest = toInt(today().minusDays(maxAge.toDays()));
+        final Map<String, Double> rates = new HashMap<>();
+        int date = Integer.MAX_VALUE;
+        for (String symbol : symbols) {
+            final int slot = current.find(baseId, CacheKey.tryEncode(symbol));
+            if (slot >= 0 && current.date(slot) >= oldest) {
+                rates.put(symbol.toUpperCase(), current.rate(slot));
+                date = Math.min(date, current.date(slot));
+            }
+        }
+        if (rates.isEmpty()) {
+            return Map.of();
+        }
+        return Map.of(PROVIDER, new ExchangeRateResponse(base.toUpperCase(), rates,
+                LocalDate.of(date / 10_000, date / 100 % 100, date % 100)));
+    }
+
+    /**
+     * @return The currencies in imported pairs keyed by "imported", or empty before any import
+     */
+    @Override
+    public Map<String, Set<String>> fetchSupportedCurrencies() {
+        final ImportedRateTable current = table;
+        return current.size() == 0 ? Map.of() : Map.of(PROVIDER, current.currencies());
+    }
+
+    /**
+     * Imports rates from an upload, reading it through one reused buffer.
+     *
+     * @param source A name for the import, used in logs
+     * @param format The layout of the rows
+     * @param input  The upload's body
+     * @return What was imported
+     * @throws IOException              if the upload cannot be read
+     * @throws IllegalArgumentException if a line is longer than the buffer
+     */
+    public ImportResult importStream(String source, ImportFormat format, InputStream input) throws IOException {
+        final long start = System.nanoTime();
+        final ImportedRateTable.Builder batch = new ImportedRateTable.Builder();
+        final RateImportParser parser = new RateImportParser(format, batch, toInt(today()));
+
+        final ReadableByteChannel channel = Channels.newChannel(input);
+        final ByteBuffer buffer = ByteBuffer.allocate((int) bufferSize.toBytes());
+        while (channel.read(buffer) >= 0) {
+            buffer.flip();
+            parser.parse(buffer);
+            if (buffer.position() == 0 && buffer.limit() == buffer.capacity()) {
+                throw new IllegalArgumentException("Import lines must be shorter than " + bufferSize);
+            }
+            buffer.compact();
+        }
+        buffer.flip();
+        parser.finish(buffer);
+
+        return publish(source, format, parser, batch, start);
+    }
+
+    /**
+     * Imports rates from a file, mapping it into memory a window at a time.
+     *
+     * @param file The file, in a layout named by its extension
+     * @return What was imported
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file's extension names no layout
+     */
+    public ImportResult importFile(Path file) throws IOException {
+        final ImportFormat format = ImportFormat.fromFileName(file.getFileName().toString());
+        if (format == null) {
+            throw new IllegalArgumentException("Unsupported import file: " + file.getFileName());
+        }
+
+        final long start = System.nanoTime();
+        final ImportedRateTable.Builder batch = new ImportedRateTable.Builder();
+        final RateImportParser parser = new RateImportParser(format, batch, toInt(today()));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                final long length = Math.min(MAP_WINDOW, size - position);
+                final MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                if (position + length == size) {
+                    parser.finish(window);
+                } else {
+                    // The next window starts at this one's incomplete last line
+                    parser.parse(window);
+                    if (window.position() == 0) {
+                        throw new IllegalArgumentException("Import lines must be shorter than " + DataSize.ofBytes(MAP_WINDOW));
+                    }
+                }
+                position += window.position();
+            }
+        }
+        return publish(file.getFileName().toString(), format, parser, batch, start);
+    }
+
+    /**
+     * @return The number of currency pairs imported
+     */
+    public int size() {
+        return table.size();
+    }
+
+    private ImportResult publish(String source, ImportFormat format, RateImportParser parser,
+                                 ImportedRateTable.Builder batch, long start) {
+        final ImportedRateTable merged;
+        mergeLock.lock();
+        try {
+            merged = table.merge(batch);
+            table = merged;
+        } finally {
+            mergeLock.unlock();
+        }
+        // Imported currencies are then accepted by request validation
+        capabilities.updateIfDiscovered(PROVIDER, merged.currencies());
+        if (batch.size() > 0) {
+            events.publishEvent(new RatesImportedEvent(batch.bases()));
+        }
+
+        final long durationMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Imported {} rates ({} rejected) from {} in {} ms, {} pairs held",
+                    parser.rows(), parser.rejected(), source, durationMs, merged.size());
+        return new ImportResult(source, format.name().toLowerCase(), parser.rows(), parser.rejected(),
+                                merged.size(), durationMs);
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    /**
+     * @return The date as yyyymmdd
+     */
+    private static int toInt(LocalDate date) {
+        return date.getYear() * 10_000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
+}
@@ -0,0 +1,210 @@
+package com.cj.exchangerates.ingest;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.cj.exchangerates.cache.CacheKey;
+
+/**
+ * Imported rates by currency pair, with the date of each.
+ * 
+ * An open-addressing hash table over primitive arrays, keyed by the base and
+ * symbol packed into one int (see {@link CacheKey#tryEncode}). Tables are
+ * immutable once built, so lookups need no locking; imports build a new table
+ * and publish it whole.
+ */
+final class ImportedRateTable {
+
+    static final ImportedRateTable EMPTY = new Builder().build();
+
+    private static final int FREE = -1;
+
+    private final int[] keys;
+
+    private final double[] rates;
+
+    private final int[] dates;
+
+    private final int size;
+
+    private ImportedRateTable(int[] keys, double[] rates, int[] dates, int size) {
+        this.keys = keys;
+        this.rates = rates;
+        this.dates = dates;
+        this.size = size;
+    }
+
+    /**
+     * @param base   The packed base id
+     * @param symbol The packed symbol id
+     * @return The pair's slot, or -1 if the pair has not been imported
+     */
+    int find(int base, int symbol) {
+        final int key = key(base, symbol);
+        final int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            if (keys[slot] == FREE) {
+                return -1;
+            }
+        }
+    }
+
+    double rate(int slot) {
+        return rates[slot];
+    }
+
+    /**
+     * @param slot A slot returned by {@link #find(int, int)}
+     * @return The rate's date as yyyymmdd
+     */
+    int date(int slot) {
+        return dates[slot];
+    }
+
+    /**
+     * @return The number of currency pairs held
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return Every base and symbol that appears in an imported pair
+     */
+    Set<String> currencies() {
+        final Set<Short> ids = new HashSet<>();
+        for (int key : keys) {
+            if (key != FREE) {
+                ids.add((short) (key >>> 15));
+                ids.add((short) (key & 0x7FFF));
+            }
+        }
+        final Set<String> codes = new HashSet<>(ids.size() * 2);
+        for (short id : ids) {
+            codes.add(CacheKey.decode(id));
+        }
+        return codes;
+    }
+
+    /**
+     * Returns a table with this table's rates, updated by a batch's.
+     *
+     * @param batch The rates imported since
+     * @return The merged table
+     */
+    ImportedRateTable merge(Builder batch) {
+        final Builder merged = new Builder(size + batch.size);
+        merged.putAll(keys, rates, dates);
+        merged.putAll(batch.keys, batch.rates, batch.dates);
+        return merged.build();
+    }
+
+    private static int key(int base, int symbol) {
+        return base << 15 | symbol;
+    }
+
+    private static int mix(int key) {
+        final int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Collects the rows of one import. When a pair appears more than once the
+     * row with the latest date wins, or the last row among equally dated ones.
+     */
+    static final class Builder {
+
+        private int[] keys;
+
+        private double[] rates;
+
+        private int[] dates;
+
+        private int size;
+
+        Builder() {
+            this(16);
+        }
+
+        Builder(int expected) {
+            allocate(Math.max(16, Integer.highestOneBit(Math.max(expected, 1) * 2 - 1) << 1));
+        }
+
+        /**
+         * @param base   The packed base id
+         * @param symbol The packed symbol id
+         * @param rate   The rate
+         * @param date   The rate's date as yyyymmdd
+         */
+        void put(int base, int symbol, double rate, int date) {
+            put(key(base, symbol), rate, date);
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * @return Every base currency with a rate in the batch
+         */
+        Set<String> bases() {
+            final Set<String> codes = new HashSet<>();
+            for (int key : keys) {
+                if (key != FREE) {
+                    codes.add(CacheKey.decode((short) (key >>> 15)));
+                }
+            }
+            return codes;
+        }
+
+        ImportedRateTable build() {
+            return new ImportedRateTable(keys, rates, dates, size);
+        }
+
+        private void put(int key, double rate, int date) {
+            final int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (keys[slot] != FREE && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == key) {
+                if (date >= dates[slot]) {
+                    rates[slot] = rate;
+                    dates[slot] = date;
+                }
+                return;
+            }
+            keys[slot] = key;
+            rates[slot] = rate;
+            dates[slot] = date;
+            // Kept at most half full, so probes stay short
+            if (++size * 2 > keys.length) {
+                final int[] oldKeys = keys;
+                final double[] oldRates = rates;
+                final int[] oldDates = dates;
+                allocate(keys.length * 2);
+                size = 0;
+                putAll(oldKeys, oldRates, oldDates);
+            }
+        }
+
+        private void putAll(int[] keys, double[] rates, int[] dates) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != FREE) {
+                    put(keys[i], rates[i], dates[i]);
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new int[capacity];
+            rates = new double[capacity];
+            dates = new int[capacity];
+            Arrays.fill(keys, FREE);
+        }
+    }
+}
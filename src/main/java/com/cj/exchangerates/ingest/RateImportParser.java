@@ -0,0 +1,406 @@
+package com.cj.exchangerates.ingest;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+
+/**
+ * Parses rate imports straight from byte buffers.
+ * 
+ * Lines are read in place with absolute gets, so a memory-mapped file or a
+ * reused read buffer is parsed without copying it or decoding it to strings.
+ * Currency codes are packed to their ids as they are read, and plain decimal
+ * rates are converted without allocating; only rates in exponent notation or
+ * with more than 15 significant digits go through {@link Double#parseDouble}.
+ * Malformed rows, including those dated after today, are counted and skipped.
+ */
+final class RateImportParser {
+
+    /**
+     * Powers of ten that are exact doubles, so that dividing an exact mantissa
+     * by one rounds correctly.
+     */
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private static final long MAX_EXACT_MANTISSA = 999_999_999_999_999L;
+
+    private static final byte[] BASE = "base".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] SYMBOL = "symbol".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] RATE = "rate".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] DATE = "date".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private final ImportFormat format;
+
+    private final ImportedRateTable.Builder batch;
+
+    /**
+     * The date of rows without one, and the latest date accepted, as yyyymmdd.
+     */
+    private final int today;
+
+    private long rows;
+
+    private long rejected;
+
+    private boolean firstLine = true;
+
+    // Fields of the row being parsed
+    private int base;
+
+    private int symbol;
+
+    private double rate;
+
+    private int date;
+
+    /**
+     * @param format The layout of the import
+     * @param batch  Where parsed rows are collected
+     * @param today  The date of rows without one, and the latest date accepted, as yyyymmdd
+     */
+    RateImportParser(ImportFormat format, ImportedRateTable.Builder batch, int today) {
+        this.format = format;
+        this.batch = batch;
+        this.today = today;
+    }
+
+    /**
+     * Parses every complete line in the buffer's remaining bytes. The
+     * buffer's position is left at the start of the first incomplete line, to
+     * be parsed once more input has been appended.
+     *
+     * @param buffer The input
+     */
+    void parse(ByteBuffer buffer) {
+        int start = buffer.position();
+        final int limit = buffer.limit();
+        for (int i = start; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                parseLine(buffer, start, i);
+                start = i + 1;
+            }
+        }
+        buffer.position(start);
+    }
+
+    /**
+     * Parses the buffer's remaining bytes as the last line of the input.
+     *
+     * @param buffer The input
+     */
+    void finish(ByteBuffer buffer) {
+        parse(buffer);
+        if (buffer.hasRemaining()) {
+            parseLine(buffer, buffer.position(), buffer.limit());
+            buffer.position(buffer.limit());
+        }
+    }
+
+    /**
+     * @return The rows imported so far
+     */
+    long rows() {
+        return rows;
+    }
+
+    /**
+     * @return The malformed rows skipped so far
+     */
+    long rejected() {
+        return rejected;
+    }
+
+    private void parseLine(ByteBuffer buffer, int from, int to) {
+        // Tolerate CRLF line endings and blank lines
+        if (to > from && buffer.get(to - 1) == '\r') {
+            to--;
+        }
+        from = skipBlank(buffer, from, to);
+        if (from == to) {
+            return;
+        }
+
+        base = -1;
+        symbol = -1;
+        rate = Double.NaN;
+        date = today;
+        final boolean parsed = format == ImportFormat.CSV ? parseCsv(buffer, from, to) : parseJson(buffer, from, to);
+        if (parsed && base >= 0 && symbol >= 0 && rate > 0 && rate < Double.POSITIVE_INFINITY
+                && date > 0 && date <= today) {
+            batch.put(base, symbol, rate, date);
+            rows++;
+        } else if (!(firstLine && format == ImportFormat.CSV)) {
+            rejected++;
+        }
+        firstLine = false;
+    }
+
+    private boolean parseCsv(ByteBuffer buffer, int from, int to) {
+        int field = 0;
+        int start = from;
+        for (int i = from; i <= to; i++) {
+            if (i < to && buffer.get(i) != ',') {
+                continue;
+            }
+            if (!parseCsvField(buffer, field++, start, i)) {
+                return false;
+            }
+            start = i + 1;
+        }
+        return field >= 3 && field <= 4;
+    }
+
+    private boolean parseCsvField(ByteBuffer buffer, int field, int from, int to) {
+        // Trim blanks, then quotes
+        from = skipBlank(buffer, from, to);
+        while (to > from && isBlank(buffer.get(to - 1))) {
+            to--;
+        }
+        if (to - from >= 2 && buffer.get(from) == '"' && buffer.get(to - 1) == '"') {
+            from++;
+            to--;
+        }
+        return switch (field) {
+            case 0 -> (base = code(buffer, from, to)) >= 0;
+            case 1 -> (symbol = code(buffer, from, to)) >= 0;
+            case 2 -> !Double.isNaN(rate = number(buffer, from, to));
+            case 3 -> from == to || (date = date(buffer, from, to)) > 0;
+            default -> false;
+        };
+    }
+
+    /**
+     * Reads one flat object of string and number fields. Unknown fields are
+     * skipped; nested values and escaped strings are not supported.
+     */
+    private boolean parseJson(ByteBuffer buffer, int from, int to) {
+        int i = from;
+        if (buffer.get(i++) != '{') {
+            return false;
+        }
+        while (true) {
+            i = skipBlank(buffer, i, to);
+            if (i < to && buffer.get(i) == '}') {
+                return skipBlank(buffer, i + 1, to) == to;
+            }
+            // The field name
+            if (i >= to || buffer.get(i) != '"') {
+                return false;
+            }
+            final int nameFrom = i + 1;
+            final int nameTo = indexOf(buffer, '"', nameFrom, to);
+            if (nameTo < 0) {
+                return false;
+            }
+            i = skipBlank(buffer, nameTo + 1, to);
+            if (i >= to || buffer.get(i) != ':') {
+                return false;
+            }
+            i = skipBlank(buffer, i + 1, to);
+            if (i >= to) {
+                return false;
+            }
+
+            // The value, a string or a bare number or literal
+            final int valueFrom;
+            final int valueTo;
+            if (buffer.get(i) == '"') {
+                valueFrom = i + 1;
+                valueTo = indexOf(buffer, '"', valueFrom, to);
+                if (valueTo < 0 || indexOf(buffer, '\\', valueFrom, valueTo) >= 0) {
+                    return false;
+                }
+                i = valueTo + 1;
+            } else {
+                valueFrom = i;
+                while (i < to && buffer.get(i) != ',' && buffer.get(i) != '}' && !isBlank(buffer.get(i))) {
+                    i++;
+                }
+                valueTo = i;
+                final byte first = buffer.get(valueFrom);
+                if (first == '{' || first == '[') {
+                    return false;
+                }
+            }
+            if (!parseJsonField(buffer, nameFrom, nameTo, valueFrom, valueTo)) {
+                return false;
+            }
+
+            i = skipBlank(buffer, i, to);
+            if (i < to && buffer.get(i) == ',') {
+                i++;
+            } else if (i >= to || buffer.get(i) != '}') {
+                return false;
+            }
+        }
+    }
+
+    private boolean parseJsonField(ByteBuffer buffer, int nameFrom, int nameTo, int from, int to) {
+        if (matches(buffer, from, to, NULL)) {
+            return true;
+        }
+        if (matches(buffer, nameFrom, nameTo, BASE)) {
+            return (base = code(buffer, from, to)) >= 0;
+        }
+        if (matches(buffer, nameFrom, nameTo, SYMBOL)) {
+            return (symbol = code(buffer, from, to)) >= 0;
+        }
+        if (matches(buffer, nameFrom, nameTo, RATE)) {
+            return !Double.isNaN(rate = number(buffer, from, to));
+        }
+        if (matches(buffer, nameFrom, nameTo, DATE)) {
+            return (date = date(buffer, from, to)) > 0;
+        }
+        return true;
+    }
+
+    /**
+     * Packs a 3-letter currency code, as {@link com.cj.exchangerates.cache.CacheKey#tryEncode} does.
+     *
+     * @return The id, or -1 if the bytes are not three ASCII letters
+     */
+    static int code(ByteBuffer buffer, int from, int to) {
+        if (to - from != 3) {
+            return -1;
+        }
+        int id = 0;
+        for (int i = from; i < to; i++) {
+            final int letter = (buffer.get(i) | 0x20) - 'a';
+            if (letter < 0 || letter >= 26) {
+                return -1;
+            }
+            id = (id << 5) | letter;
+        }
+        return id;
+    }
+
+    /**
+     * Reads a decimal number.
+     *
+     * @return The number, or NaN if the bytes are not one
+     */
+    static double number(ByteBuffer buffer, int from, int to) {
+        if (from == to) {
+            return Double.NaN;
+        }
+        int i = from;
+        final boolean negative = buffer.get(i) == '-';
+        if (negative || buffer.get(i) == '+') {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fraction = -1;
+        for (; i < to; i++) {
+            final byte b = buffer.get(i);
+            if (b >= '0' && b <= '9') {
+                if (mantissa > MAX_EXACT_MANTISSA / 10) {
+                    return slowNumber(buffer, from, to);
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (fraction >= 0) {
+                    fraction++;
+                }
+            } else if (b == '.' && fraction < 0) {
+                fraction = 0;
+            } else if (b == 'e' || b == 'E') {
+                return slowNumber(buffer, from, to);
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+        if (fraction >= POWERS_OF_TEN.length) {
+            return slowNumber(buffer, from, to);
+        }
+        final double value = fraction > 0 ? mantissa / POWERS_OF_TEN[fraction] : mantissa;
+        return negative ? -value : value;
+    }
+
+    private static double slowNumber(ByteBuffer buffer, int from, int to) {
+        final byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        try {
+            return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Reads an ISO date.
+     *
+     * @return The date as yyyymmdd, or -1 if the bytes are not a valid yyyy-mm-dd date
+     */
+    static int date(ByteBuffer buffer, int from, int to) {
+        if (to - from != 10 || buffer.get(from + 4) != '-' || buffer.get(from + 7) != '-') {
+            return -1;
+        }
+        final int year = digits(buffer, from, from + 4);
+        final int month = digits(buffer, from + 5, from + 7);
+        final int day = digits(buffer, from + 8, from + 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || !YearMonth.of(year, month).isValidDay(day)) {
+            return -1;
+        }
+        return year * 10_000 + month * 100 + day;
+    }
+
+    private static int digits(ByteBuffer buffer, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            final int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean matches(ByteBuffer buffer, int from, int to, byte[] name) {
+        if (to - from != name.length) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (buffer.get(from + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(ByteBuffer buffer, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipBlank(ByteBuffer buffer, int from, int to) {
+        while (from < to && isBlank(buffer.get(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+}
@@ -0,0 +1,144 @@
+package com.cj.exchangerates.ingest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Imports rate files dropped into exchangerates.ingest.directory.
+ * 
+ * Files already there are imported at startup, in name order, and new ones as
+ * they appear. Each file is moved to the processed subdirectory once
+ * imported, or to the failed one if it could not be read. Only .csv, .ndjson
+ * and .jsonl files are imported, so writers should write under another name
+ * and rename the file into place once complete. Disabled unless the
+ * directory is set.
+ */
+@Component
+public class RateImportWatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateImportWatcher.class);
+
+    static final String PROCESSED = "processed";
+
+    static final String FAILED = "failed";
+
+    @Autowired
+    private ImportedApiService importedApiService;
+
+    @Value("${exchangerates.ingest.directory:}")
+    private String directory = "";
+
+    private volatile WatchService watchService;
+
+    /**
+     * Starts watching the directory in the background once the application is up.
+     *
+     * @throws IOException if the directory cannot be created or watched
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (directory.isBlank()) {
+            return;
+        }
+        final Path dir = Path.of(directory);
+        Files.createDirectories(dir.resolve(PROCESSED));
+        Files.createDirectories(dir.resolve(FAILED));
+        watchService = dir.getFileSystem().newWatchService();
+        dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE);
+        Thread.ofPlatform().name("rate-import-watcher").daemon(true).start(() -> watch(dir));
+        logger.info("Watching {} for rate imports", dir.toAbsolutePath());
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void watch(Path dir) {
+        importExisting(dir);
+        try {
+            while (true) {
+                final WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        importExisting(dir);
+                    } else {
+                        importFile(dir, dir.resolve((Path) event.context()));
+                    }
+                }
+                if (!key.reset()) {
+                    logger.warn("Stopped watching {} for rate imports, it is no longer accessible", dir);
+                    return;
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            logger.debug("Stopped watching {} for rate imports", dir);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Imports every file in the directory, in name order.
+     *
+     * @param dir The watched directory
+     */
+    void importExisting(Path dir) {
+        final List<Path> files;
+        try (Stream<Path> listing = Files.list(dir)) {
+            files = listing.sorted().toList();
+        } catch (IOException e) {
+            logger.warn("Unable to list rate imports in {}: {}", dir, e.toString());
+            return;
+        }
+        for (Path file : files) {
+            importFile(dir, file);
+        }
+    }
+
+    /**
+     * Imports one file and moves it out of the directory.
+     *
+     * @param dir  The watched directory
+     * @param file The file
+     */
+    void importFile(Path dir, Path file) {
+        if (!Files.isRegularFile(file) || ImportFormat.fromFileName(file.getFileName().toString()) == null) {
+            return;
+        }
+        Path target = dir.resolve(PROCESSED);
+        try {
+            importedApiService.importFile(file);
+        } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+            logger.warn("Rate import from {} failed: {}", file.getFileName(), e.toString());
+            target = dir.resolve(FAILED);
+        }
+        try {
+            Files.move(file, target.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Unable to move rate import {}: {}", file.getFileName(), e.toString());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.cj.exchangerates.ingest;
+
+import java.util.Set;
+
+/**
+ * Published once an import has been merged into the served rates, so that
+ * anything derived from the affected bases can be refreshed.
+ *
+ * @param bases The base currencies with a rate in the import
+ */
+public record RatesImportedEvent(Set<String> bases) {
+}
@@ -0,0 +1,59 @@
+package com.cj.exchangerates.logging;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Servlet filter that writes a single summary log line per request.
+ * 
+ * The method, path, status and duration are added to the MDC so that they
+ * appear as fields in the structured log output, along with anything the
+ * request handling put there (for example the cache outcome). Those keys are
+ * removed once the line has been written; keys owned by others, such as the
+ * trace and span ids, are left in place.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class RequestSummaryFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestSummaryFilter.class);
+
+    /**
+     * MDC keys set by this filter or by the request handling it summarises.
+     */
+    static final String[] KEYS = { "http.method", "http.path", "http.query", "http.status", "duration.us", "cache" };
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            final long durationMicros = (System.nanoTime() - start) / 1_000;
+            if (logger.isInfoEnabled()) {
+                MDC.put("http.method", request.getMethod());
+                MDC.put("http.path", request.getRequestURI());
+                MDC.put("http.query", request.getQueryString());
+                MDC.put("http.status", Integer.toString(response.getStatus()));
+                MDC.put("duration.us", Long.toString(durationMicros));
+                logger.info("{} {} {} {}us", request.getMethod(), request.getRequestURI(), response.getStatus(), durationMicros);
+            }
+            for (String key : KEYS) {
+                MDC.remove(key);
+            }
+        }
+    }
+}
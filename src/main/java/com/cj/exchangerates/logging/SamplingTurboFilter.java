@@ -0,0 +1,73 @@
+package com.cj.exchangerates.logging;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Logback turbo filter that keeps only a fraction of DEBUG and INFO events
+ * per logger category.
+ * 
+ * Rates are configured as a comma-separated list of {@code category=rate}
+ * pairs, e.g. {@code com.cj.exchangerates.service=0.05,com.cj.exchangerates.logging=1.0}.
+ * The longest matching category prefix wins; loggers without a match are not
+ * sampled. WARN and ERROR events are never dropped.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final Map<String, Double> rates = new LinkedHashMap<>();
+
+    /**
+     * Resolved rate per logger name, so the prefix match runs once per logger.
+     */
+    private final Map<String, Double> resolved = new ConcurrentHashMap<>();
+
+    public void setRates(String value) {
+        rates.clear();
+        resolved.clear();
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        for (String pair : value.split(",")) {
+            final int split = pair.indexOf('=');
+            if (split <= 0) {
+                addError("Invalid sampling rate '" + pair + "', expected category=rate");
+                continue;
+            }
+            rates.put(pair.substring(0, split).trim(), Double.parseDouble(pair.substring(split + 1).trim()));
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isXxxEnabled() checks, WARN and above, and events the level would discard anyway are left alone
+        if (format == null || level.isGreaterOrEqual(Level.WARN) || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        final double rate = resolved.computeIfAbsent(logger.getName(), this::resolve);
+        if (rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.DENY;
+    }
+
+    private double resolve(String loggerName) {
+        String match = null;
+        for (String category : rates.keySet()) {
+            if ((loggerName.equals(category) || loggerName.startsWith(category + "."))
+                    && (match == null || category.length() > match.length())) {
+                match = category;
+            }
+        }
+        return match != null ? rates.get(match) : 1.0;
+    }
+}
@@ -7,6 +7,7 @@ package com.cj.exchangerates.model;
 public class ApiMetrics {
     private int totalRequests;
     private int totalResponses;
+    private int totalTimeouts;
 
     public ApiMetrics() {
     }
@@ -17,6 +18,14 @@ public class ApiMetrics {
         this.totalResponses = totalResponses;
     }
 
+    public ApiMetrics(int totalRequests,
+                      int totalResponses,
+                      int totalTimeouts) {
+        this.totalRequests = totalRequests;
+        this.totalResponses = totalResponses;
+        this.totalTimeouts = totalTimeouts;
+    }
+
     public int getTotalRequests() {
         return this.totalRequests;
     }
@@ -32,4 +41,12 @@ public class ApiMetrics {
     public void setTotalResponses(int totalResponses) {
         this.totalResponses = totalResponses;
     }
+
+    public int getTotalTimeouts() {
+        return this.totalTimeouts;
+    }
+
+    public void setTotalTimeouts(int totalTimeouts) {
+        this.totalTimeouts = totalTimeouts;
+    }
 }
@@ -1,5 +1,6 @@
 package com.cj.exchangerates.model;
 
+import java.time.LocalDate;
 import java.util.Map;
 
 /**
@@ -11,6 +12,12 @@ public class ExchangeRateResponse {
     private String base;
     private Map<String, Double> rates;
 
+    /**
+     * The date of the provider's data set, or for averaged responses the
+     * oldest date among the contributing providers.
+     */
+    private LocalDate date;
+
     public ExchangeRateResponse() {
     }
 
@@ -20,6 +27,14 @@ public class ExchangeRateResponse {
         this.rates = rates;
     }
 
+    public ExchangeRateResponse(String base,
+                                Map<String, Double> rates,
+                                LocalDate date) {
+        this.base = base;
+        this.rates = rates;
+        this.date = date;
+    }
+
     public String getBase() {
         return this.base;
     }
@@ -35,4 +50,12 @@ public class ExchangeRateResponse {
     public void setRates(Map<String, Double> rates) {
         this.rates = rates;
     }
+
+    public LocalDate getDate() {
+        return this.date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
 }
@@ -0,0 +1,92 @@
+package com.cj.exchangerates.model;
+
+/**
+ * The outcome of one rate import.
+ * 
+ */
+public class ImportResult {
+
+    private String source;
+    private String format;
+    private long rows;
+    private long rejected;
+    private int pairs;
+    private long durationMs;
+
+    public ImportResult() {
+    }
+
+    public ImportResult(String source,
+                        String format,
+                        long rows,
+                        long rejected,
+                        int pairs,
+                        long durationMs) {
+        this.source = source;
+        this.format = format;
+        this.rows = rows;
+        this.rejected = rejected;
+        this.pairs = pairs;
+        this.durationMs = durationMs;
+    }
+
+    /**
+     * @return The file name, or "upload" for uploaded imports
+     */
+    public String getSource() {
+        return this.source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getFormat() {
+        return this.format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    /**
+     * @return The rows imported
+     */
+    public long getRows() {
+        return this.rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * @return The malformed rows skipped
+     */
+    public long getRejected() {
+        return this.rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    /**
+     * @return The currency pairs held after the import, from all imports
+     */
+    public int getPairs() {
+        return this.pairs;
+    }
+
+    public void setPairs(int pairs) {
+        this.pairs = pairs;
+    }
+
+    public long getDurationMs() {
+        return this.durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+}
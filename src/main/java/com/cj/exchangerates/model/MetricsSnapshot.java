@@ -41,6 +41,7 @@ public class MetricsSnapshot {
     public static class ApiMetricsWithName {
         private String name;
         private ApiMetrics metrics;
+        private ProviderScore health;
 
         public ApiMetricsWithName() {}
 
@@ -49,6 +50,12 @@ public class MetricsSnapshot {
             this.metrics = metrics;
         }
 
+        public ApiMetricsWithName(String name, ApiMetrics metrics, ProviderScore health) {
+            this.name = name;
+            this.metrics = metrics;
+            this.health = health;
+        }
+
         public String getName() {
             return name;
         }
@@ -64,5 +71,13 @@ public class MetricsSnapshot {
         public void setMetrics(ApiMetrics metrics) {
             this.metrics = metrics;
         }
+
+        public ProviderScore getHealth() {
+            return health;
+        }
+
+        public void setHealth(ProviderScore health) {
+            this.health = health;
+        }
     }
 }
@@ -0,0 +1,108 @@
+package com.cj.exchangerates.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A class representing the rolling health of an external API.
+ *
+ */
+public class ProviderScore {
+    private double latencyMillis;
+    private double errorRate;
+    private LocalDate dataDate;
+    private Instant lastCall;
+    private long calls;
+    private boolean healthy;
+    private double score;
+
+    public ProviderScore() {
+    }
+
+    public ProviderScore(double latencyMillis,
+                         double errorRate,
+                         LocalDate dataDate,
+                         Instant lastCall,
+                         long calls,
+                         boolean healthy,
+                         double score) {
+        this.latencyMillis = latencyMillis;
+        this.errorRate = errorRate;
+        this.dataDate = dataDate;
+        this.lastCall = lastCall;
+        this.calls = calls;
+        this.healthy = healthy;
+        this.score = score;
+    }
+
+    /**
+     * @return The moving average of call latency in milliseconds
+     */
+    public double getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public void setLatencyMillis(double latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * @return The moving average fraction of calls that failed
+     */
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * @return The date of the newest data returned, or null if none yet
+     */
+    public LocalDate getDataDate() {
+        return dataDate;
+    }
+
+    public void setDataDate(LocalDate dataDate) {
+        this.dataDate = dataDate;
+    }
+
+    public Instant getLastCall() {
+        return lastCall;
+    }
+
+    public void setLastCall(Instant lastCall) {
+        this.lastCall = lastCall;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public void setCalls(long calls) {
+        this.calls = calls;
+    }
+
+    /**
+     * @return Whether the error rate and data age are within limits
+     */
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    /**
+     * @return The expected milliseconds to a successful answer, lower is better
+     */
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,99 @@
+package com.cj.exchangerates.model;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The rates of a base currency that changed after a given version.
+ * 
+ * A client keeps the {@code version} of the last response it applied and
+ * passes it as {@code since} on its next sync. When {@code full} is true
+ * (first sync, or a version this replica does not know), {@code changes}
+ * holds the whole table and replaces the client's copy.
+ */
+public class RateChangesResponse {
+
+    private String base;
+    private long since;
+    private long version;
+    private LocalDate date;
+    private boolean full;
+    private Map<String, Double> changes;
+    private List<String> removed;
+
+    public RateChangesResponse() {
+    }
+
+    public RateChangesResponse(String base,
+                               long since,
+                               long version,
+                               LocalDate date,
+                               boolean full,
+                               Map<String, Double> changes,
+                               List<String> removed) {
+        this.base = base;
+        this.since = since;
+        this.version = version;
+        this.date = date;
+        this.full = full;
+        this.changes = changes;
+        this.removed = removed;
+    }
+
+    public String getBase() {
+        return base;
+    }
+
+    public void setBase(String base) {
+        this.base = base;
+    }
+
+    public long getSince() {
+        return since;
+    }
+
+    public void setSince(long since) {
+        this.since = since;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public void setFull(boolean full) {
+        this.full = full;
+    }
+
+    public Map<String, Double> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(Map<String, Double> changes) {
+        this.changes = changes;
+    }
+
+    public List<String> getRemoved() {
+        return removed;
+    }
+
+    public void setRemoved(List<String> removed) {
+        this.removed = removed;
+    }
+}
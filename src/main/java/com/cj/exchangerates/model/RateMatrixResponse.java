@@ -0,0 +1,62 @@
+package com.cj.exchangerates.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Every cross rate between the supported currencies.
+ * 
+ * {@code rates} is the N x N matrix in row-major order: the rate from
+ * {@code currencies[i]} to {@code currencies[j]} is {@code rates[i * N + j]}.
+ * {@code version} is a hash of the date and rates, equal on every replica
+ * that holds the same data.
+ */
+public class RateMatrixResponse {
+
+    private long version;
+    private LocalDate date;
+    private List<String> currencies;
+    private double[] rates;
+
+    public RateMatrixResponse() {
+    }
+
+    public RateMatrixResponse(long version, LocalDate date, List<String> currencies, double[] rates) {
+        this.version = version;
+        this.date = date;
+        this.currencies = currencies;
+        this.rates = rates;
+    }
+
+    public long getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public LocalDate getDate() {
+        return this.date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public List<String> getCurrencies() {
+        return this.currencies;
+    }
+
+    public void setCurrencies(List<String> currencies) {
+        this.currencies = currencies;
+    }
+
+    public double[] getRates() {
+        return this.rates;
+    }
+
+    public void setRates(double[] rates) {
+        this.rates = rates;
+    }
+}
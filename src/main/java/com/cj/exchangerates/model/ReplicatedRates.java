@@ -0,0 +1,62 @@
+package com.cj.exchangerates.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Provider rate tables exchanged between cluster nodes, either pushed by the
+ * leader for a base or returned to a peer that asked the leader to fetch.
+ * 
+ */
+public class ReplicatedRates {
+
+    private String source;
+    private String base;
+    private List<String> symbols;
+    private Map<String, ExchangeRateResponse> rates;
+
+    public ReplicatedRates() {
+    }
+
+    public ReplicatedRates(String source,
+                           String base,
+                           List<String> symbols,
+                           Map<String, ExchangeRateResponse> rates) {
+        this.source = source;
+        this.base = base;
+        this.symbols = symbols;
+        this.rates = rates;
+    }
+
+    public String getSource() {
+        return this.source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getBase() {
+        return this.base;
+    }
+
+    public void setBase(String base) {
+        this.base = base;
+    }
+
+    public List<String> getSymbols() {
+        return this.symbols;
+    }
+
+    public void setSymbols(List<String> symbols) {
+        this.symbols = symbols;
+    }
+
+    public Map<String, ExchangeRateResponse> getRates() {
+        return this.rates;
+    }
+
+    public void setRates(Map<String, ExchangeRateResponse> rates) {
+        this.rates = rates;
+    }
+}
@@ -0,0 +1,150 @@
+package com.cj.exchangerates.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+/**
+ * Creates upstream requests with timeouts that follow each host's latency.
+ *
+ * Each provider is served from its own host, so latency is tracked per host.
+ * Registered as an interceptor as well, it times every call and keeps the
+ * most recent ones. A request's timeout is a multiple of a high percentile of
+ * those times, bounded by a minimum and a maximum. A call that times out
+ * counts as taking the whole timeout, so a host that slows down has its
+ * timeout raised rather than cut off at the old one. Until enough calls have
+ * been seen, the maximum applies.
+ *
+ * The timeout is applied to the JDK HttpClient request. It covers
+ * establishing the connection as well as waiting for and reading the
+ * response. Connection setup on its own is also bounded by the maximum.
+ */
+public class AdaptiveTimeoutRequestFactory implements ClientHttpRequestFactory, ClientHttpRequestInterceptor {
+
+    /**
+     * Calls needed before a host's timeout adapts.
+     */
+    static final int MIN_SAMPLES = 10;
+
+    private final HttpClient httpClient;
+
+    private final Duration minTimeout;
+
+    private final Duration maxTimeout;
+
+    private final double percentile;
+
+    private final double multiplier;
+
+    private final int window;
+
+    private final Map<String, LatencyWindow> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * @param minTimeout The shortest timeout applied
+     * @param maxTimeout The longest timeout applied, also used for unknown hosts
+     * @param percentile The latency percentile the timeout follows, e.g. 99
+     * @param multiplier The factor applied to that percentile
+     * @param window     How many recent calls per host are considered
+     */
+    public AdaptiveTimeoutRequestFactory(Duration minTimeout, Duration maxTimeout, double percentile,
+                                         double multiplier, int window) {
+        this.httpClient = HttpClient.newBuilder().connectTimeout(maxTimeout).build();
+        this.minTimeout = minTimeout;
+        this.maxTimeout = maxTimeout;
+        this.percentile = percentile;
+        this.multiplier = multiplier;
+        this.window = window;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        final JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(timeout(uri.getHost()));
+        return requestFactory.createRequest(uri, httpMethod);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        final String host = request.getURI().getHost();
+        final long start = System.nanoTime();
+        try {
+            final ClientHttpResponse response = execution.execute(request, body);
+            record(host, System.nanoTime() - start);
+            return response;
+        } catch (HttpTimeoutException e) {
+            record(host, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the timeout for the next request to a host.
+     *
+     * @param host The host
+     * @return The timeout
+     */
+    public Duration timeout(String host) {
+        final LatencyWindow latencies = host == null ? null : hosts.get(host);
+        return latencies == null ? maxTimeout : Duration.ofNanos(latencies.timeoutNanos);
+    }
+
+    /**
+     * Records how long a call to a host took and updates its timeout.
+     *
+     * @param host         The host
+     * @param latencyNanos How long the call took
+     */
+    void record(String host, long latencyNanos) {
+        if (host != null) {
+            hosts.computeIfAbsent(host, h -> new LatencyWindow()).record(latencyNanos);
+        }
+    }
+
+    /**
+     * The most recent call times to one host, and the timeout derived from them.
+     */
+    private final class LatencyWindow {
+
+        private final long[] samples = new long[window];
+
+        private final long[] sorted = new long[window];
+
+        private int next;
+
+        private int count;
+
+        private volatile long timeoutNanos = maxTimeout.toNanos();
+
+        synchronized void record(long latencyNanos) {
+            samples[next] = latencyNanos;
+            next = (next + 1) % window;
+            if (count < window) {
+                count++;
+            }
+            if (count < MIN_SAMPLES) {
+                return;
+            }
+            System.arraycopy(samples, 0, sorted, 0, count);
+            Arrays.sort(sorted, 0, count);
+            final int index = Math.min(count - 1, (int) Math.ceil(percentile / 100.0 * count) - 1);
+            final long timeout = (long) (sorted[Math.max(index, 0)] * multiplier);
+            timeoutNanos = Math.min(maxTimeout.toNanos(), Math.max(minTimeout.toNanos(), timeout));
+        }
+    }
+}
@@ -1,21 +1,40 @@
 package com.cj.exchangerates.service;
 
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import com.cj.exchangerates.cache.NegativeCache;
 import com.cj.exchangerates.model.ExchangeRateResponse;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.cj.exchangerates.model.ProviderScore;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 
 /**
  * Service implementation for external API interactions.
@@ -31,20 +50,60 @@ public class ApiService implements IApiService {
     private static final Logger logger = LoggerFactory.getLogger(ApiService.class);
     
     @Autowired
-    private ObjectMapper objectMapper;
+    private ProviderResponseParser responseParser;
     
     @Autowired
     private IMetricsService metricsService;
     
     @Autowired
     private RestTemplate restTemplate;
+    
+    @Autowired
+    private ThreadFactory upstreamThreadFactory;
+    
+    @Autowired
+    private NegativeCache negativeCache;
+    
+    @Autowired
+    private ProviderCapabilities capabilities;
+    
+    @Autowired(required = false)
+    private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+    
+    /**
+     * Rates imported from internal sources, served alongside the external APIs'.
+     */
+    @Autowired(required = false)
+    @Qualifier("ImportedApiService")
+    private IApiService importedApiService;
+    
+    @Value("${exchangerates.providers.frankfurter.url:https://api.frankfurter.app}")
+    private String frankfurterUrl;
+    
+    @Value("${exchangerates.providers.fawaz.url:https://cdn.jsdelivr.net/npm/@fawazahmed0/currency-api@latest/v1}")
+    private String fawazUrl;
+    
+    @Value("${exchangerates.providers.routing.quorum:2}")
+    private int quorum = 2;
+    
+    @Value("${exchangerates.providers.routing.probe-interval:30s}")
+    private Duration probeInterval = Duration.ofSeconds(30);
+    
+    /**
+     * Provider calls keyed by API name.
+     */
+    private final Map<String, BiFunction<String, List<String>, ExchangeRateResponse>> providers =
+        Map.of("frankfurter", this::fetchFrankfurter,
+               "fawaz", this::fetchFawaz);
 
     /**
-     * Fetches exchange rates from all configured external APIs.
+     * Fetches exchange rates from the best configured external APIs.
      * 
      * This method coordinates calls to multiple external APIs and returns
-     * a map of responses keyed by API name. Each API call is tracked for
-     * metrics and error handling.
+     * a map of responses keyed by API name. Rather than every provider, the
+     * fastest healthy ones up to the configured quorum are queried. Each API
+     * call is tracked for metrics, health scoring and error handling. Rates
+     * imported from internal sources are added as the "imported" API.
      *
      * @param base    The base currency code
      * @param symbols List of target currency codes
@@ -52,36 +111,195 @@ public class ApiService implements IApiService {
      */
     @Override
     public Map<String, ExchangeRateResponse> fetchAllRates(String base, List<String> symbols) {
-        logger.debug("Fetching rates from all external APIs - Base: {}, Symbols: {}", base, symbols);
+        logger.debug("Fetching rates from external APIs - Base: {}, Symbols: {}", base, symbols);
         
         final Map<String, ExchangeRateResponse> allRates = new HashMap<>();
+        final List<String> eligible = eligibleProviders(base, symbols);
+        final List<String> selected = selectProviders(eligible);
         
-        try {
-            // Fetch from Frankfurter API
-            ExchangeRateResponse frankfurterRates = fetchFrankfurter(base, symbols);
-            if (frankfurterRates != null) {
-                allRates.put("frankfurter", frankfurterRates);
-                logger.debug("Successfully fetched rates from Frankfurter API");
+        // Query the selected providers concurrently; closing the executor waits for every call.
+        // The calling span is handed over explicitly as it does not follow the task onto its thread.
+        final Observation parent = observationRegistry.getCurrentObservation();
+        final Map<String, Future<ExchangeRateResponse>> calls = new HashMap<>();
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(upstreamThreadFactory)) {
+            for (String apiName : selected) {
+                final BiFunction<String, List<String>, ExchangeRateResponse> fetch = providers.get(apiName);
+                final List<String> supported = capabilities.supportedSymbols(apiName, symbols);
+                calls.put(apiName, executor.submit(() -> observe(apiName, parent, () -> fetch.apply(base, supported))));
+            }
+            for (String apiName : selected) {
+                collect(allRates, apiName, calls.get(apiName));
             }
-        } catch (Exception e) {
-            logger.error("Error fetching rates from Frankfurter API", e);
         }
         
-        try {
-            // Fetch from Fawaz API
-            ExchangeRateResponse fawazRates = fetchFawaz(base, symbols);
-            if (fawazRates != null) {
-                allRates.put("fawaz", fawazRates);
-                logger.debug("Successfully fetched rates from Fawaz API");
+        if (importedApiService != null) {
+            allRates.putAll(importedApiService.fetchAllRates(base, symbols));
+        }
+        
+        // Symbols no provider quoted are remembered, unless a provider was left out or failed
+        if (selected.size() == eligible.size()
+                && providers.keySet().stream().noneMatch(apiName -> negativeCache.isFailing(apiName, base))) {
+            for (String symbol : symbols) {
+                if (allRates.values().stream().noneMatch(rates -> rates.getRates().containsKey(symbol.toUpperCase()))) {
+                    logger.debug("No API quotes symbol: {}", symbol);
+                    negativeCache.markUnknown(symbol);
+                }
             }
-        } catch (Exception e) {
-            logger.error("Error fetching rates from Fawaz API", e);
         }
         
-        logger.info("Completed fetching rates from {} APIs", allRates.size());
+        logger.debug("Completed fetching rates from {} of {} APIs", allRates.size(), selected.size());
         return allRates;
     }
     
+    /**
+     * Fetches the currencies each API supports.
+     *
+     * @return Map of currency codes keyed by API name, including imported rates,
+     *         or empty unless both external lists were fetched
+     */
+    @Override
+    public Map<String, Set<String>> fetchSupportedCurrencies() {
+        try {
+            @SuppressWarnings("unchecked")
+            final Map<String, Object> frankfurter = restTemplate.getForObject(
+                UriComponentsBuilder.fromUriString(frankfurterUrl).path("/currencies").toUriString(), Map.class);
+            @SuppressWarnings("unchecked")
+            final Map<String, Object> fawaz = restTemplate.getForObject(fawazUrl + "/currencies.json", Map.class);
+            
+            if (frankfurter == null || frankfurter.isEmpty() || fawaz == null || fawaz.isEmpty()) {
+                logger.warn("Empty currency list received from an external API");
+                return Map.of();
+            }
+            final Map<String, Set<String>> supported = new HashMap<>();
+            supported.put("frankfurter", new HashSet<>(frankfurter.keySet()));
+            supported.put("fawaz", new HashSet<>(fawaz.keySet()));
+            if (importedApiService != null) {
+                supported.putAll(importedApiService.fetchSupportedCurrencies());
+            }
+            return supported;
+        } catch (RestClientException e) {
+            logger.warn("Unable to fetch supported currencies: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+    
+    /**
+     * Lists the providers that can answer a request: those that have not
+     * recently failed for the base and support the base and at least one symbol.
+     *
+     * @param base    The base currency code
+     * @param symbols List of target currency codes
+     * @return The names of the eligible APIs
+     */
+    private List<String> eligibleProviders(String base, List<String> symbols) {
+        final List<String> eligible = new ArrayList<>(providers.size());
+        for (String apiName : providers.keySet()) {
+            if (negativeCache.isFailing(apiName, base)) {
+                logger.debug("Skipping {} API, recently failed for base: {}", apiName, base);
+            } else if (!capabilities.supports(apiName, base) || capabilities.supportedSymbols(apiName, symbols).isEmpty()) {
+                logger.debug("Skipping {} API, unsupported base or symbols: {} {}", apiName, base, symbols);
+            } else {
+                eligible.add(apiName);
+            }
+        }
+        return eligible;
+    }
+    
+    /**
+     * Chooses which eligible providers to query.
+     * 
+     * Healthy providers are taken in order of score, fastest first, up to the
+     * quorum. If none is healthy the best scoring provider is queried anyway.
+     * Providers left out are still probed once the probe interval has passed
+     * since their last call, so that their scores keep up with recoveries.
+     * Providers never called have no score and are always queried.
+     *
+     * @param eligible The names of the eligible APIs
+     * @return The names of the APIs to query
+     */
+    private List<String> selectProviders(List<String> eligible) {
+        if (eligible.size() <= 1) {
+            return eligible;
+        }
+        final Map<String, ProviderScore> scores = new HashMap<>();
+        for (String apiName : eligible) {
+            scores.put(apiName, metricsService.getProviderScore(apiName));
+        }
+        final List<String> ranked = new ArrayList<>(eligible);
+        ranked.sort(Comparator.comparingDouble(apiName -> scores.get(apiName) == null ? 0.0 : scores.get(apiName).getScore()));
+        
+        final List<String> selected = new ArrayList<>(ranked.size());
+        for (String apiName : ranked) {
+            final ProviderScore score = scores.get(apiName);
+            if (score == null || (score.isHealthy() && selected.size() < quorum)) {
+                selected.add(apiName);
+            }
+        }
+        if (selected.isEmpty()) {
+            selected.add(ranked.get(0));
+        }
+        
+        final Instant probeBefore = Instant.now().minus(probeInterval);
+        for (String apiName : ranked) {
+            final ProviderScore score = scores.get(apiName);
+            if (!selected.contains(apiName) && score.getLastCall().isBefore(probeBefore)) {
+                logger.debug("Probing {} API, not queried since {}", apiName, score.getLastCall());
+                selected.add(apiName);
+            }
+        }
+        return selected;
+    }
+    
+    /**
+     * Runs a provider call as its own tracing span beneath the request's span.
+     *
+     * @param apiName The name of the API
+     * @param parent  The span of the request, or null if none
+     * @param call    The provider call
+     * @return The provider call's result
+     */
+    private ExchangeRateResponse observe(String apiName, Observation parent, Supplier<ExchangeRateResponse> call) {
+        return Observation.createNotStarted("exchangerates.provider", observationRegistry)
+                          .contextualName(apiName)
+                          .lowCardinalityKeyValue("provider", apiName)
+                          .parentObservation(parent)
+                          .observe(call);
+    }
+    
+    /**
+     * Runs response parsing as its own tracing span beneath the provider call.
+     *
+     * @param parse The parsing step
+     * @return The parsed response
+     */
+    private ExchangeRateResponse observeParse(Supplier<ExchangeRateResponse> parse) {
+        return Observation.createNotStarted("exchangerates.provider.parse", observationRegistry)
+                          .contextualName("parse")
+                          .observe(parse);
+    }
+    
+    /**
+     * Waits for a provider call and records its result if one was returned.
+     *
+     * @param allRates The map collecting provider responses
+     * @param apiName  The name of the API
+     * @param future   The pending provider call
+     */
+    private void collect(Map<String, ExchangeRateResponse> allRates, String apiName, Future<ExchangeRateResponse> future) {
+        try {
+            final ExchangeRateResponse rates = future.get();
+            if (rates != null) {
+                allRates.put(apiName, rates);
+                logger.debug("Successfully fetched rates from {} API", apiName);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while fetching rates from {} API", apiName);
+        } catch (ExecutionException e) {
+            logger.error("Error fetching rates from {} API", apiName, e.getCause());
+        }
+    }
+    
     /**
      * Fetches current exchange rates from Frankfurter API.
      * 
@@ -93,13 +311,15 @@ public class ApiService implements IApiService {
      * @return ExchangeRateResponse containing the rates, or null if failed
      */
     private ExchangeRateResponse fetchFrankfurter(String base, List<String> symbols) {
-        final String url = UriComponentsBuilder.fromUriString("https://api.frankfurter.app/latest")
+        final String url = UriComponentsBuilder.fromUriString(frankfurterUrl)
+                                               .path("/latest")
                                                .queryParam("from", base)
                                                .queryParam("to", String.join(",", symbols))
                                                .toUriString();
 
         logger.debug("Fetching from Frankfurter API: {}", url);
         metricsService.incrementRequest("frankfurter");
+        final long start = System.nanoTime();
 
         try {
             // GET request to Frankfurter API
@@ -108,33 +328,30 @@ public class ApiService implements IApiService {
 
             if (response == null) {
                 logger.warn("Null response received from Frankfurter API");
-                return null;
+                return failed("frankfurter", base, start);
             }
 
             metricsService.incrementResponse("frankfurter");
             logger.debug("Received response from Frankfurter API");
 
             // Extract rates from response
-            final Object ratesObj = response.get("rates");
-            if (ratesObj instanceof Map<?, ?>) {
-                final Map<String, Double> rates = objectMapper.convertValue(ratesObj, 
-                    new TypeReference<Map<String, Double>>() {});
-                
-                if (rates != null && !rates.isEmpty()) {
-                    logger.debug("Successfully parsed {} rates from Frankfurter API", rates.size());
-                    return new ExchangeRateResponse(base, rates);
-                }
-            }
-
-            logger.warn("Invalid rates format in Frankfurter API response");
-            return null;
+            return succeeded("frankfurter", start,
+                             observeParse(() -> responseParser.parseFrankfurter(base, response)));
 
+        } catch (HttpClientErrorException.NotFound e) {
+            // Frankfurter answers 404 for currencies it does not quote, which is not a failure
+            logger.debug("Frankfurter API does not quote {} or {}", base, symbols);
+            return succeeded("frankfurter", start, null);
         } catch (RestClientException e) {
+            if (e.getCause() instanceof HttpTimeoutException) {
+                logger.warn("Frankfurter API timed out: {}", e.getCause().getMessage());
+                return timedOut("frankfurter", base, start);
+            }
             logger.error("HTTP error when calling Frankfurter API", e);
-            return null;
+            return failed("frankfurter", base, start);
         } catch (Exception e) {
             logger.error("Unexpected error when calling Frankfurter API", e);
-            return null;
+            return failed("frankfurter", base, start);
         }
     }
 
@@ -149,13 +366,11 @@ public class ApiService implements IApiService {
      * @return ExchangeRateResponse containing the rates, or null if failed
      */
     private ExchangeRateResponse fetchFawaz(String base, List<String> symbols) {
-        final String url = String.format(
-            "https://cdn.jsdelivr.net/npm/@fawazahmed0/currency-api@latest/v1/currencies/%s.json", 
-            base.toLowerCase()
-        );
+        final String url = String.format("%s/currencies/%s.json", fawazUrl, base.toLowerCase());
 
         logger.debug("Fetching from Fawaz API: {}", url);
         metricsService.incrementRequest("fawaz");
+        final long start = System.nanoTime();
 
         try {
             // GET request to Fawaz API
@@ -164,39 +379,69 @@ public class ApiService implements IApiService {
 
             if (response == null || !response.containsKey(base.toLowerCase())) {
                 logger.warn("Invalid response from Fawaz API - missing base currency data");
-                return null;
+                return failed("fawaz", base, start);
             }
 
             metricsService.incrementResponse("fawaz");
             logger.debug("Received response from Fawaz API");
             
             // Extract rates from nested response structure
-            final Map<String, Double> rates = new HashMap<>();
-            final Object nestedRates = response.get(base.toLowerCase());
-            
-            if (nestedRates instanceof Map<?, ?> ratesObjMap) {
-                for (String symbol : symbols) {
-                    final Object ratesObj = ratesObjMap.get(symbol.toLowerCase());
-                    if (ratesObj instanceof Number result) {
-                        rates.put(symbol.toUpperCase(), result.doubleValue());
-                    }
-                }
-            }
-            
-            if (!rates.isEmpty()) {
-                logger.debug("Successfully parsed {} rates from Fawaz API", rates.size());
-                return new ExchangeRateResponse(base.toUpperCase(), rates);
-            }
-
-            logger.warn("No valid rates found in Fawaz API response");
-            return null;
+            return succeeded("fawaz", start,
+                             observeParse(() -> responseParser.parseFawaz(base, symbols, response)));
 
         } catch (RestClientException e) {
+            if (e.getCause() instanceof HttpTimeoutException) {
+                logger.warn("Fawaz API timed out: {}", e.getCause().getMessage());
+                return timedOut("fawaz", base, start);
+            }
             logger.error("HTTP error when calling Fawaz API", e);
-            return null;
+            return failed("fawaz", base, start);
         } catch (Exception e) {
             logger.error("Unexpected error when calling Fawaz API", e);
-            return null;
+            return failed("fawaz", base, start);
         }
     }
+    
+    /**
+     * Records a provider call that answered, along with the date of its data.
+     *
+     * @param apiName The name of the API
+     * @param start   The System.nanoTime() at which the call started
+     * @param rates   The parsed response, or null if the provider quotes none of the currencies
+     * @return The parsed response
+     */
+    private ExchangeRateResponse succeeded(String apiName, long start, ExchangeRateResponse rates) {
+        metricsService.recordProviderCall(apiName, System.nanoTime() - start, true, rates == null ? null : rates.getDate());
+        return rates;
+    }
+    
+    /**
+     * Records a provider call that timed out and remembers the failure for the base.
+     * 
+     * Timeouts are counted apart from other failures, but count as failures
+     * towards the provider's health.
+     *
+     * @param apiName The name of the API
+     * @param base    The base currency code
+     * @param start   The System.nanoTime() at which the call started
+     * @return null, as there is no response
+     */
+    private ExchangeRateResponse timedOut(String apiName, String base, long start) {
+        metricsService.incrementTimeout(apiName);
+        return failed(apiName, base, start);
+    }
+    
+    /**
+     * Records a failed provider call and remembers the failure for the base.
+     *
+     * @param apiName The name of the API
+     * @param base    The base currency code
+     * @param start   The System.nanoTime() at which the call started
+     * @return null, as there is no response
+     */
+    private ExchangeRateResponse failed(String apiName, String base, long start) {
+        metricsService.recordProviderCall(apiName, System.nanoTime() - start, false, null);
+        negativeCache.markFailing(apiName, base);
+        return null;
+    }
 }
@@ -0,0 +1,153 @@
+package com.cj.exchangerates.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Service implementation for bulk currency conversion.
+ * 
+ * Amounts are streamed through a fixed-size primitive buffer: each chunk is
+ * decoded, multiplied by the rate in a tight loop the JIT vectorizes, and
+ * encoded straight to the response, so memory use is independent of how many
+ * amounts a request carries.
+ */
+@Service
+@Qualifier("CurrencyConversionService")
+public class CurrencyConversionService implements ICurrencyConversionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CurrencyConversionService.class);
+
+    static final int CHUNK_SIZE = 8192;
+
+    @Autowired
+    private IExchangeRateService exchangeRateService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public CurrencyConversionService() {
+    }
+
+    public CurrencyConversionService(IExchangeRateService exchangeRateService, ObjectMapper objectMapper) {
+        this.exchangeRateService = exchangeRateService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Looks up the rate from the exchange rate service, and so from its
+     * matrix and cache where possible.
+     *
+     * @param base   The currency the amounts are in
+     * @param target The currency to convert to
+     * @return The rate
+     * @throws IllegalArgumentException if no rate is available
+     */
+    @Override
+    public double getRate(String base, String target) {
+        final double rate = exchangeRateService.getRate(base, target);
+        if (Double.isNaN(rate)) {
+            throw new IllegalArgumentException("No rate available from " + base + " to " + target);
+        }
+        return rate;
+    }
+
+    @Override
+    public long convertJson(double rate, InputStream in, OutputStream out) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Request body must be a JSON array of amounts");
+            }
+
+            // Not closed on failure, so a bad amount never yields a truncated but well-formed array
+            final JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            final double[] chunk = new double[CHUNK_SIZE];
+            long total = 0;
+            int length = 0;
+
+            generator.writeStartArray();
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT) {
+                    throw new IllegalArgumentException("Amounts must be numbers, found: " + token);
+                }
+                chunk[length++] = parser.getDoubleValue();
+                if (length == CHUNK_SIZE) {
+                    scale(chunk, length, rate);
+                    writeNumbers(generator, chunk, length);
+                    total += length;
+                    length = 0;
+                }
+            }
+            scale(chunk, length, rate);
+            writeNumbers(generator, chunk, length);
+            total += length;
+            generator.writeEndArray();
+            generator.close();
+
+            logger.debug("Converted {} JSON amounts at rate {}", total, rate);
+            return total;
+        }
+    }
+
+    @Override
+    public long convertBinary(double rate, InputStream in, OutputStream out) throws IOException {
+        final byte[] bytes = new byte[CHUNK_SIZE * Double.BYTES];
+        final DoubleBuffer doubles = ByteBuffer.wrap(bytes).asDoubleBuffer();
+        final double[] chunk = new double[CHUNK_SIZE];
+        long total = 0;
+
+        int read;
+        while ((read = in.readNBytes(bytes, 0, bytes.length)) > 0) {
+            if (read % Double.BYTES != 0) {
+                throw new IllegalArgumentException("Binary amounts must be 8-byte doubles");
+            }
+            final int length = read / Double.BYTES;
+            doubles.get(0, chunk, 0, length);
+            scale(chunk, length, rate);
+            doubles.put(0, chunk, 0, length);
+            out.write(bytes, 0, read);
+            total += length;
+        }
+
+        logger.debug("Converted {} binary amounts at rate {}", total, rate);
+        return total;
+    }
+
+    /**
+     * Multiplies the first {@code length} amounts by the rate in place. Kept as
+     * a plain counted loop over a primitive array so that C2 compiles it to
+     * SIMD instructions.
+     *
+     * @param amounts The amounts
+     * @param length  How many amounts are in use
+     * @param rate    The rate
+     */
+    static void scale(double[] amounts, int length, double rate) {
+        for (int i = 0; i < length; i++) {
+            amounts[i] *= rate;
+        }
+    }
+
+    private static void writeNumbers(JsonGenerator generator, double[] values, int length) throws IOException {
+        for (int i = 0; i < length; i++) {
+            generator.writeNumber(values[i]);
+        }
+    }
+}
@@ -1,19 +1,38 @@
 package com.cj.exchangerates.service;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import com.cj.exchangerates.cache.CacheKey;
+import com.cj.exchangerates.cache.NegativeCache;
+import com.cj.exchangerates.cache.RateChangeLog;
+import com.cj.exchangerates.cache.RateCache;
+import com.cj.exchangerates.cache.RateExpiryPolicy;
+import com.cj.exchangerates.cache.RateMatrix;
+import com.cj.exchangerates.ingest.RatesImportedEvent;
 import com.cj.exchangerates.model.ExchangeRateResponse;
+import com.cj.exchangerates.model.RateChangesResponse;
+import com.cj.exchangerates.model.RateMatrixResponse;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 
 /**
  * Service implementation for exchange rate operations.
@@ -35,26 +54,89 @@ public class ExchangeRateService implements IExchangeRateService {
 	private IMetricsService metricsService;
 	
 	/**
-	 * Thread-safe cache for storing exchange rate responses.
-	 * Key format: {base}|{sorted_symbols} (e.g., "USD|EUR,GBP,JPY")
+	 * How much each provider counts towards the averaged rates.
+	 */
+	@Autowired
+	private ProviderWeights weights;
+	
+	/**
+	 * Thread-safe cache for storing exchange rate responses, keyed by the
+	 * canonical form of each request (see {@link CacheKey}). Backed by a
+	 * shared tier across replicas when one is configured.
+	 */
+	@Autowired
+	private RateCache cache;
+	
+	/**
+	 * Sets each cached response's lifetime from the providers' publication schedules.
+	 */
+	@Autowired
+	private RateExpiryPolicy expiryPolicy;
+	
+	/**
+	 * Full rate tables for the most requested bases, refreshed on a schedule.
+	 */
+	@Autowired
+	private RatePrefetcher prefetcher;
+	
+	/**
+	 * Cross rates between all supported currencies, derived from the pivot table.
+	 */
+	@Autowired
+	private RateMatrix matrix;
+	
+	/**
+	 * Per-symbol versions of each base's rates, for clients that sync deltas.
 	 */
-	private final Map<String, ExchangeRateResponse> cache = new ConcurrentHashMap<>();
+	@Autowired
+	private RateChangeLog changeLog;
+	
+	/**
+	 * Symbols no provider quotes and failing providers, remembered briefly.
+	 */
+	@Autowired
+	private NegativeCache negativeCache;
+	
+	/**
+	 * The currencies each provider supports.
+	 */
+	@Autowired
+	private ProviderCapabilities capabilities;
+	
+	/**
+	 * Records the cache lookup and aggregation stages as tracing spans.
+	 */
+	@Autowired(required = false)
+	private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+	
+	/**
+	 * Upstream fetches currently in progress, so that concurrent misses for
+	 * the same key wait for one fetch instead of each calling the providers.
+	 */
+	private final Map<CacheKey, CompletableFuture<ExchangeRateResponse>> inFlight = new ConcurrentHashMap<>();
+	
+	/**
+	 * Bases with imported rates. The matrix only reflects imports for the
+	 * pivot, so these are never answered from it.
+	 */
+	private final Set<String> importedBases = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * Retrieves exchange rates for the specified base currency and target symbols.
 	 * 
 	 * This method implements the following workflow:
 	 * 1. Validates input parameters
-	 * 2. Checks cache for existing results
-	 * 3. Fetches rates from multiple external APIs
-	 * 4. Averages the rates for improved accuracy
-	 * 5. Caches the result for future requests
-	 * 6. Tracks metrics for monitoring
+	 * 2. Checks the prefetched tables, the rate matrix, then the cache, for existing results
+	 * 3. Rejects symbols that no provider supports or that recently went unquoted
+	 * 4. Fetches rates from multiple external APIs, once per key for concurrent misses
+	 * 5. Averages the rates for improved accuracy
+	 * 6. Caches the result for future requests, briefly if no provider answered
+	 * 7. Tracks metrics for monitoring
 	 *
 	 * @param base    The base currency code (must not be null or empty)
 	 * @param symbols List of target currency codes (must not be null or empty)
 	 * @return ExchangeRateResponse containing averaged rates
-	 * @throws IllegalArgumentException if base or symbols are invalid
+	 * @throws IllegalArgumentException if base or symbols are invalid or unsupported
 	 */
 	@Override
 	public ExchangeRateResponse getExchangeRates(String base, List<String> symbols) {
@@ -63,52 +145,259 @@ public class ExchangeRateService implements IExchangeRateService {
 	    // Input validation
 	    validateInput(base, symbols);
 	    
+	    // Generate cache key, which rejects malformed currency codes
+	    final CacheKey cacheKey = CacheKey.of(base, symbols);
+	    
 	    // Increment metrics
 	    metricsService.incrementTotalQueries();
 	    
-	    // Generate cache key
-	    final String cacheKey = createCacheKey(base, symbols);
+	    // Check the prefetched tables, the rate matrix and the cache first
+	    final ExchangeRateResponse cached = Observation.createNotStarted("exchangerates.cache.lookup", observationRegistry)
+	                                                   .contextualName("cache lookup")
+	                                                   .observe(() -> lookupCached(cacheKey, base, symbols));
+	    if (cached != null) {
+	        return cached;
+	    }
 	    
-	    // Check cache first
-	    if (cache.containsKey(cacheKey)) {
-	        logger.debug("Cache hit for key: {}", cacheKey);
-	        return cache.get(cacheKey);
+	    // Reject symbols no provider quotes before calling any of them
+	    final String unsupported = unsupportedSymbol(symbols);
+	    if (unsupported != null) {
+	        MDC.put("cache", "negative");
+	        throw new IllegalArgumentException("Unsupported currency symbol: " + unsupported);
 	    }
 	    
 	    logger.debug("Cache miss for key: {}, fetching from external APIs", cacheKey);
+	    MDC.put("cache", "miss");
+	    
+	    // Share a single upstream fetch between concurrent misses for the same key
+	    final CompletableFuture<ExchangeRateResponse> pending = new CompletableFuture<>();
+	    final CompletableFuture<ExchangeRateResponse> existing = inFlight.putIfAbsent(cacheKey, pending);
+	    if (existing != null) {
+	        logger.debug("Joining in-flight fetch for key: {}", cacheKey);
+	        MDC.put("cache", "coalesced");
+	        return await(existing);
+	    }
+	    
+	    try {
+	        // Another request may have cached the result just before we registered
+	        final ExchangeRateResponse raced = cache.recheck(cacheKey);
+	        final ExchangeRateResponse result = raced != null ? raced : fetchAndCache(cacheKey, base, symbols);
+	        pending.complete(result);
+	        return result;
+	    } catch (RuntimeException e) {
+	        pending.completeExceptionally(e);
+	        throw e;
+	    } finally {
+	        inFlight.remove(cacheKey, pending);
+	    }
+    }
+	
+	/**
+	 * Looks a request up in the prefetched tables, then the rate matrix, then the cache.
+	 *
+	 * @param cacheKey The cache key
+	 * @param base     The base currency code
+	 * @param symbols  List of target currency codes
+	 * @return The held response, or null on a miss
+	 */
+	private ExchangeRateResponse lookupCached(CacheKey cacheKey, String base, List<String> symbols) {
+	    // Serve from the prefetched tables when they cover the request
+	    final ExchangeRateResponse prefetched = prefetcher.lookup(base, symbols);
+	    if (prefetched != null) {
+	        logger.debug("Prefetched hit for base: {}", base);
+	        MDC.put("cache", "prefetched");
+	        return prefetched;
+	    }
+	    
+	    // Otherwise derive cross rates from the pivot matrix
+	    final ExchangeRateResponse crossed = crossesFromMatrix(base) ? matrix.lookup(base, symbols) : null;
+	    if (crossed != null) {
+	        logger.debug("Matrix hit for base: {}", base);
+	        MDC.put("cache", "matrix");
+	        return crossed;
+	    }
 	    
+	    final ExchangeRateResponse cached = cache.get(cacheKey);
+	    if (cached != null) {
+	        logger.debug("Cache hit for key: {}", cacheKey);
+	        MDC.put("cache", "hit");
+	    }
+	    return cached;
+	}
+	
+	/**
+	 * Fetches rates from all external APIs, averages them and caches the result.
+	 *
+	 * @param cacheKey The cache key
+	 * @param base     The base currency code
+	 * @param symbols  List of target currency codes
+	 * @return ExchangeRateResponse containing averaged rates
+	 */
+	private ExchangeRateResponse fetchAndCache(CacheKey cacheKey, String base, List<String> symbols) {
 	    // Fetch rates from all external APIs
 	    final Map<String, ExchangeRateResponse> allRates = apiService.fetchAllRates(base, symbols);
-	    final Map<String, List<Double>> combinedRates = new HashMap<>();
 	    
-	    // Combine rates from all API sources
-	    for (Map.Entry<String, ExchangeRateResponse> entry : allRates.entrySet()) {
-	        String apiName = entry.getKey();
-	        ExchangeRateResponse rateResponse = entry.getValue();
-	        
-	        if (rateResponse != null && rateResponse.getRates() != null) {
-	            logger.debug("Processing rates from API: {}", apiName);
-	            for (Map.Entry<String, Double> rateEntry : rateResponse.getRates().entrySet()) {
-	                combinedRates.computeIfAbsent(rateEntry.getKey(), k -> new ArrayList<>())
-	                            .add(rateEntry.getValue());
-	            }
-	        } else {
-	            logger.warn("No valid rates received from API: {}", apiName);
-	        }
+	    return storeRates(cacheKey, base, symbols, allRates);
+	}
+	
+	/**
+	 * Retrieves a single rate. Served from the rate matrix without locking or
+	 * allocating when it holds both currencies, otherwise fetched as a
+	 * one-symbol request.
+	 *
+	 * @param base   The base currency code
+	 * @param symbol The target currency code
+	 * @return The rate, or NaN if no provider quotes it
+	 */
+	@Override
+	public double getRate(String base, String symbol) {
+	    final double rate = crossesFromMatrix(base) ? matrix.rate(base, symbol) : Double.NaN;
+	    if (!Double.isNaN(rate)) {
+	        metricsService.incrementTotalQueries();
+	        return rate;
 	    }
 	    
-	    // Calculate averages across all rate responses
-	    final Map<String, Double> averagedRates = calculateAverages(combinedRates);
+	    final Double fetched = getExchangeRates(base, Collections.singletonList(symbol)).getRates().get(symbol.toUpperCase());
+	    return fetched != null ? fetched : Double.NaN;
+	}
+	
+	/**
+	 * Returns every cross rate between the supported currencies.
+	 *
+	 * @return The current matrix, or null before the pivot has been fetched or once it has expired
+	 */
+	@Override
+	public RateMatrixResponse getRateMatrix() {
+	    return matrix.snapshot();
+	}
+	
+	/**
+	 * Returns the rates of a base that changed after a version.
+	 *
+	 * @param base  The base currency code
+	 * @param since The version the client last applied, or 0 for everything
+	 * @return The changes, or null if no rates are known for the base
+	 */
+	@Override
+	public RateChangesResponse getRateChanges(String base, long since) {
+	    return changeLog.changesSince(base, since);
+	}
+	
+	/**
+	 * Averages rates fetched elsewhere, such as those replicated from a peer,
+	 * and caches the result.
+	 *
+	 * @param base     The base currency code
+	 * @param symbols  List of target currency codes
+	 * @param allRates Map of API responses keyed by API name
+	 * @return ExchangeRateResponse containing averaged rates
+	 */
+	@Override
+	public ExchangeRateResponse storeRates(String base, List<String> symbols, Map<String, ExchangeRateResponse> allRates) {
+	    validateInput(base, symbols);
+	    return storeRates(CacheKey.of(base, symbols), base, symbols, allRates);
+	}
+	
+	/**
+	 * Checks whether a request can be served from this replica's prefetched
+	 * tables or local cache,
+	 * without validating input, touching metrics or the shared tier.
+	 *
+	 * @param base    The base currency code
+	 * @param symbols List of target currency codes
+	 * @return true if the response is held locally
+	 */
+	@Override
+	public boolean isCached(String base, List<String> symbols) {
+	    if (base == null || symbols == null || symbols.isEmpty()) {
+	        return false;
+	    }
+	    try {
+	        return prefetcher.covers(base, symbols) || crossesFromMatrix(base) && matrix.covers(base, symbols)
+	                || cache.containsLocal(CacheKey.of(base, symbols));
+	    } catch (IllegalArgumentException e) {
+	        return false;
+	    }
+	}
+	
+	/**
+	 * Drops the cached responses for the bases of an import, and refreshes
+	 * their prefetched tables and, with the pivot, the rate matrix, so that
+	 * imported rates are served without waiting for the old ones to expire.
+	 * From then on the bases are no longer answered from the matrix.
+	 *
+	 * @param event The bases the import touched
+	 */
+	@EventListener
+	public void onRatesImported(RatesImportedEvent event) {
+	    logger.debug("Refreshing rates for imported bases: {}", event.bases());
+	    event.bases().forEach(base -> importedBases.add(base.toUpperCase()));
+	    event.bases().forEach(cache::evictBase);
+	    prefetcher.refresh(event.bases());
+	}
+	
+	private boolean crossesFromMatrix(String base) {
+	    return importedBases.isEmpty() || !importedBases.contains(base.toUpperCase());
+	}
+	
+	private ExchangeRateResponse storeRates(CacheKey cacheKey, String base, List<String> symbols,
+	                                        Map<String, ExchangeRateResponse> allRates) {
+	    // Combine rates from all API sources and calculate averages
+	    final Map<String, Double> averagedRates = Observation.createNotStarted("exchangerates.aggregate", observationRegistry)
+	                                                         .contextualName("aggregate")
+	                                                         .observe(() -> weightedAverages(allRates, weights));
 	    
-	    // Create and cache the result
-	    final ExchangeRateResponse result = new ExchangeRateResponse(base.toUpperCase(), averagedRates);
-	    cache.put(cacheKey, result);
+	    // Create and cache the result until the providers next publish. An empty
+	    // result means every provider failed or none quotes the symbols, and while
+	    // a provider is failing for the base it failed or was skipped, so retry soon
+	    final ExchangeRateResponse result = new ExchangeRateResponse(base.toUpperCase(), averagedRates, oldestDate(allRates));
+	    final Instant now = Instant.now();
+	    final boolean partial = averagedRates.isEmpty() || negativeCache.isAnyFailing(base);
+	    cache.put(cacheKey, result, partial ? negativeCache.failureExpiresAt(now) : expiryPolicy.expiresAt(allRates, now));
+	    // Rates missing a provider would publish moves that are only its absence
+	    if (!partial) {
+	        changeLog.record(result.getBase(), averagedRates, result.getDate(), List.of());
+	    }
 	    
-	    logger.info("Exchange rates calculated and cached - Base: {}, Symbols: {}, Rates count: {}", 
+	    logger.debug("Exchange rates calculated and cached - Base: {}, Symbols: {}, Rates count: {}", 
 	               base, symbols, averagedRates.size());
 	    
 	    return result;
-    }
+	}
+	
+	/**
+	 * Finds a symbol that no provider supports or that recently went unquoted.
+	 *
+	 * @param symbols List of target currency codes
+	 * @return The first such symbol, or null if there is none
+	 */
+	private String unsupportedSymbol(List<String> symbols) {
+	    for (String symbol : symbols) {
+	        final int id = CacheKey.tryEncode(symbol);
+	        if (negativeCache.isUnknown(id) || !capabilities.supportedByAny(id)) {
+	            return symbol;
+	        }
+	    }
+	    return null;
+	}
+	
+	/**
+	 * Waits for a fetch started by another request and returns its result,
+	 * rethrowing its failure unchanged.
+	 *
+	 * @param future The in-flight fetch
+	 * @return ExchangeRateResponse containing averaged rates
+	 */
+	static ExchangeRateResponse await(CompletableFuture<ExchangeRateResponse> future) {
+	    try {
+	        return future.join();
+	    } catch (CompletionException e) {
+	        if (e.getCause() instanceof RuntimeException cause) {
+	            throw cause;
+	        }
+	        throw e;
+	    }
+	}
 	
 	/**
 	 * Validates input parameters for exchange rate requests.
@@ -117,7 +406,7 @@ public class ExchangeRateService implements IExchangeRateService {
 	 * @param symbols The list of symbols to validate
 	 * @throws IllegalArgumentException if validation fails
 	 */
-	private void validateInput(String base, List<String> symbols) {
+	static void validateInput(String base, List<String> symbols) {
 	    if (base == null || base.trim().isEmpty()) {
 	        logger.warn("Invalid base currency: {}", base);
 	        throw new IllegalArgumentException("Base currency must be provided");
@@ -136,13 +425,95 @@ public class ExchangeRateService implements IExchangeRateService {
 	    }
 	}
 	
+	/**
+	 * Combines rates from all API sources into a list of rates per currency.
+	 *
+	 * @param allRates Map of API responses keyed by API name
+	 * @return Map of currency codes to lists of rates
+	 */
+	static Map<String, List<Double>> combineRates(Map<String, ExchangeRateResponse> allRates) {
+	    final Map<String, List<Double>> combinedRates = new HashMap<>();
+	    
+	    for (Map.Entry<String, ExchangeRateResponse> entry : allRates.entrySet()) {
+	        String apiName = entry.getKey();
+	        ExchangeRateResponse rateResponse = entry.getValue();
+	        
+	        if (rateResponse != null && rateResponse.getRates() != null) {
+	            logger.debug("Processing rates from API: {}", apiName);
+	            for (Map.Entry<String, Double> rateEntry : rateResponse.getRates().entrySet()) {
+	                combinedRates.computeIfAbsent(rateEntry.getKey(), k -> new ArrayList<>())
+	                            .add(rateEntry.getValue());
+	            }
+	        } else {
+	            logger.warn("No valid rates received from API: {}", apiName);
+	        }
+	    }
+	    
+	    return combinedRates;
+	}
+	
+	/**
+	 * Finds the oldest data date among the API responses, which dates an
+	 * average built from all of them.
+	 *
+	 * @param allRates Map of API responses keyed by API name
+	 * @return The oldest date, or null if no response carried one
+	 */
+	static LocalDate oldestDate(Map<String, ExchangeRateResponse> allRates) {
+	    LocalDate oldest = null;
+	    for (ExchangeRateResponse response : allRates.values()) {
+	        if (response != null && response.getDate() != null
+	                && (oldest == null || response.getDate().isBefore(oldest))) {
+	            oldest = response.getDate();
+	        }
+	    }
+	    return oldest;
+	}
+	
+	/**
+	 * Calculates weighted average rates across the API responses. With equal
+	 * weights this is the same as {@link #calculateAverages(Map)} over
+	 * {@link #combineRates(Map)}, without collecting every rate first.
+	 *
+	 * @param allRates Map of API responses keyed by API name
+	 * @param weights  The weight of each API
+	 * @return Map of currency codes to averaged rates
+	 */
+	static Map<String, Double> weightedAverages(Map<String, ExchangeRateResponse> allRates, ProviderWeights weights) {
+	    final Map<String, double[]> sums = new HashMap<>();
+	    
+	    for (Map.Entry<String, ExchangeRateResponse> entry : allRates.entrySet()) {
+	        final ExchangeRateResponse rateResponse = entry.getValue();
+	        final double weight = weights.weightOf(entry.getKey());
+	        if (rateResponse == null || rateResponse.getRates() == null) {
+	            logger.warn("No valid rates received from API: {}", entry.getKey());
+	            continue;
+	        }
+	        if (weight == 0) {
+	            continue;
+	        }
+	        for (Map.Entry<String, Double> rateEntry : rateResponse.getRates().entrySet()) {
+	            // Weighted sum of the rates, then the sum of the weights
+	            final double[] sum = sums.computeIfAbsent(rateEntry.getKey(), k -> new double[2]);
+	            sum[0] += weight * rateEntry.getValue();
+	            sum[1] += weight;
+	        }
+	    }
+	    
+	    final Map<String, Double> averagedRates = new HashMap<>(sums.size() * 2);
+	    for (Map.Entry<String, double[]> entry : sums.entrySet()) {
+	        averagedRates.put(entry.getKey(), entry.getValue()[0] / entry.getValue()[1]);
+	    }
+	    return averagedRates;
+	}
+	
 	/**
 	 * Calculates average rates from combined rate data.
 	 *
 	 * @param combinedRates Map of currency codes to lists of rates
 	 * @return Map of currency codes to averaged rates
 	 */
-	private Map<String, Double> calculateAverages(Map<String, List<Double>> combinedRates) {
+	static Map<String, Double> calculateAverages(Map<String, List<Double>> combinedRates) {
 	    final Map<String, Double> averagedRates = new HashMap<>();
 	    
 	    for (Map.Entry<String, List<Double>> entry : combinedRates.entrySet()) {
@@ -162,18 +533,4 @@ public class ExchangeRateService implements IExchangeRateService {
 	    
 	    return averagedRates;
 	}
-	
-	/**
-	 * Creates a cache key from base currency and symbols.
-	 * The key format ensures consistent caching regardless of symbol order.
-	 *
-	 * @param base    The base currency
-	 * @param symbols The list of symbols
-	 * @return A consistent cache key string
-	 */
-    private String createCacheKey(String base, List<String> symbols) {
-	    final List<String> sorted = new ArrayList<>(symbols);
-	    Collections.sort(sorted);
-	    return base.toUpperCase() + "|" + String.join(",", sorted).toUpperCase();
-	}
 }
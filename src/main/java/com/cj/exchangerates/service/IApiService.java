@@ -2,6 +2,7 @@ package com.cj.exchangerates.service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import com.cj.exchangerates.model.ExchangeRateResponse;
 
@@ -13,4 +14,12 @@ public interface IApiService {
      * @return          The rates mapped by rate source.
      */
     public Map<String, ExchangeRateResponse> fetchAllRates(String base, List<String> symbols);
+
+    /**
+     * Fetch the currencies each API source supports.
+     * @return          The currency codes mapped by rate source, for every source or none.
+     */
+    public default Map<String, Set<String>> fetchSupportedCurrencies() {
+        return Map.of();
+    }
 }
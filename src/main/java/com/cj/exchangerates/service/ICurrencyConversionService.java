@@ -0,0 +1,38 @@
+package com.cj.exchangerates.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface ICurrencyConversionService {
+
+    /**
+     * Looks up the rate used to convert between two currencies.
+     * 
+     * @param base      The currency the amounts are in.
+     * @param target    The currency to convert to.
+     * @return          The rate.
+     */
+    public double getRate(String base, String target);
+
+    /**
+     * Converts a JSON array of amounts, streaming the converted JSON array out.
+     * 
+     * @param rate      The rate to apply.
+     * @param in        The request body.
+     * @param out       The response body.
+     * @return          The number of amounts converted.
+     */
+    public long convertJson(double rate, InputStream in, OutputStream out) throws IOException;
+
+    /**
+     * Converts a stream of big-endian IEEE 754 doubles, streaming the converted
+     * doubles out in the same encoding.
+     * 
+     * @param rate      The rate to apply.
+     * @param in        The request body.
+     * @param out       The response body.
+     * @return          The number of amounts converted.
+     */
+    public long convertBinary(double rate, InputStream in, OutputStream out) throws IOException;
+}
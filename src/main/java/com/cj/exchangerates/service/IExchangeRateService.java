@@ -1,8 +1,11 @@
 package com.cj.exchangerates.service;
 
 import java.util.List;
+import java.util.Map;
 
 import com.cj.exchangerates.model.ExchangeRateResponse;
+import com.cj.exchangerates.model.RateChangesResponse;
+import com.cj.exchangerates.model.RateMatrixResponse;
 
 public interface IExchangeRateService {
 
@@ -15,4 +18,48 @@ public interface IExchangeRateService {
      */
     public ExchangeRateResponse getExchangeRates(String base, List<String> symbols);
 
+    /**
+     * Averages and caches rates that were fetched elsewhere.
+     * 
+     * @param base      The base currency.
+     * @param symbols   The symbols.
+     * @param allRates  The rates mapped by rate source.
+     * @return          The exchange rates response.
+     */
+    public ExchangeRateResponse storeRates(String base, List<String> symbols, Map<String, ExchangeRateResponse> allRates);
+
+    /**
+     * Checks whether a request would be served from the local cache.
+     * 
+     * @param base      The base currency.
+     * @param symbols   The symbols.
+     * @return          True if the response is cached locally.
+     */
+    public boolean isCached(String base, List<String> symbols);
+
+    /**
+     * Retrieves a single rate.
+     * 
+     * @param base      The base currency.
+     * @param symbol    The target currency.
+     * @return          The rate, or NaN if unavailable.
+     */
+    public double getRate(String base, String symbol);
+
+    /**
+     * Retrieves every cross rate between the supported currencies.
+     * 
+     * @return          The rate matrix, or null if not yet built.
+     */
+    public RateMatrixResponse getRateMatrix();
+
+    /**
+     * Retrieves the rates of a base currency that changed after a version.
+     * 
+     * @param base      The base currency.
+     * @param since     The version the client last applied, or 0 for everything.
+     * @return          The changes, or null if no rates are known for the base.
+     */
+    public RateChangesResponse getRateChanges(String base, long since);
+
 }
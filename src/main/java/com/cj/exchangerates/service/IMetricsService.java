@@ -1,6 +1,9 @@
 package com.cj.exchangerates.service;
 
+import java.time.LocalDate;
+
 import com.cj.exchangerates.model.MetricsSnapshot;
+import com.cj.exchangerates.model.ProviderScore;
 
 public interface IMetricsService {
 
@@ -24,10 +27,42 @@ public interface IMetricsService {
      */
     public void incrementResponse(String api);
 
+    /**
+     * Increments the number of requests to the given API that timed out.
+     *
+     * @param api The name of the API.
+     */
+    public void incrementTimeout(String api);
+
+    /**
+     * Records the latency and outcome of a call to the given API.
+     *
+     * @param api          The name of the API.
+     * @param latencyNanos How long the call took.
+     * @param success      Whether the API answered.
+     * @param dataDate     The date of the rates returned, or null if unknown.
+     */
+    public void recordProviderCall(String api, long latencyNanos, boolean success, LocalDate dataDate);
+
+    /**
+     * Returns the rolling health score of the given API.
+     *
+     * @param api The name of the API.
+     * @return The score, or null if the API has not been called yet
+     */
+    public ProviderScore getProviderScore(String api);
+
     /**
      * Returns a snapshot of current metrics.
      *
      * @return The current metrics snapshot
      */
     public MetricsSnapshot getSnapshot();
+
+    /**
+     * Returns the latest periodically published metrics snapshot, encoded as JSON.
+     *
+     * @return The encoded snapshot, shared between callers and not to be modified
+     */
+    public byte[] getEncodedSnapshot();
 }
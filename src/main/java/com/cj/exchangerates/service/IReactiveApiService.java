@@ -0,0 +1,27 @@
+package com.cj.exchangerates.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface IReactiveApiService {
+    /**
+     * Fetch rates from each API source as they arrive.
+     * @param base      The base.
+     * @param symbols   The symbols.
+     * @return          The rates of each source, keyed by rate source.
+     */
+    public Flux<Map.Entry<String, ExchangeRateResponse>> fetchRates(String base, List<String> symbols);
+
+    /**
+     * Fetch all rates from both API sources.
+     * @param base      The base.
+     * @param symbols   The symbols.
+     * @return          The rates mapped by rate source.
+     */
+    public Mono<Map<String, ExchangeRateResponse>> fetchAllRates(String base, List<String> symbols);
+}
@@ -0,0 +1,20 @@
+package com.cj.exchangerates.service;
+
+import java.util.List;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+
+import reactor.core.publisher.Mono;
+
+public interface IReactiveExchangeRateService {
+
+    /**
+     * Calls our exchange rates API endpoint without blocking.
+     * 
+     * @param base      The base currency.
+     * @param symbols   The symbols.
+     * @return          The exchange rates response.
+     */
+    public Mono<ExchangeRateResponse> getExchangeRates(String base, List<String> symbols);
+
+}
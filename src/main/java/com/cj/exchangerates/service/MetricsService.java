@@ -1,5 +1,7 @@
 package com.cj.exchangerates.service;
 
+import java.time.Clock;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -8,18 +10,33 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.cj.exchangerates.model.ApiMetrics;
 import com.cj.exchangerates.model.MetricsSnapshot;
+import com.cj.exchangerates.model.ProviderScore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 
 /**
  * Service implementation for application metrics tracking.
  * 
  * This service provides thread-safe metrics collection and reporting capabilities.
- * It tracks total queries, API requests, and responses using atomic counters
- * for concurrent access safety.
+ * It tracks total queries, API requests, responses and timeouts using atomic counters
+ * for concurrent access safety, along with the rolling health of each API
+ * used to route requests to the best providers.
+ * 
+ * Readers of /metrics do not aggregate the counters themselves. A snapshot is
+ * aggregated and encoded as JSON at a fixed interval in the background, and
+ * published through a volatile field, so each read returns the same bytes
+ * until the next publication.
  */
 @Service
 @Qualifier("MetricsService")
@@ -41,6 +58,44 @@ public class MetricsService implements IMetricsService {
      * Thread-safe map tracking response counts per API.
      */
     private final Map<String, AtomicInteger> responses = new ConcurrentHashMap<>();
+    
+    /**
+     * Thread-safe map tracking timed out request counts per API.
+     */
+    private final Map<String, AtomicInteger> timeouts = new ConcurrentHashMap<>();
+    
+    /**
+     * Thread-safe map tracking rolling latency, error rate and freshness per API.
+     */
+    private final Map<String, ProviderHealth> health = new ConcurrentHashMap<>();
+    
+    @Value("${exchangerates.providers.routing.max-error-rate:0.5}")
+    private double maxErrorRate = 0.5;
+    
+    @Value("${exchangerates.providers.routing.max-stale-days:4}")
+    private int maxStaleDays = 4;
+    
+    /**
+     * The latest published snapshot, encoded as JSON. Never modified once published.
+     */
+    private volatile byte[] encodedSnapshot;
+    
+    @Autowired(required = false)
+    private ObjectMapper objectMapper = JsonMapper.builder()
+                                                  .findAndAddModules()
+                                                  .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                                                  .serializationInclusion(JsonInclude.Include.NON_NULL)
+                                                  .build();
+    
+    private final Clock clock;
+
+    public MetricsService() {
+        this(Clock.systemUTC());
+    }
+
+    MetricsService(Clock clock) {
+        this.clock = clock;
+    }
 
     /**
      * Increments the total number of exchange rate queries processed.
@@ -78,11 +133,51 @@ public class MetricsService implements IMetricsService {
         logger.debug("Response count for {} incremented to: {}", api, currentCount);
     }
 
+    /**
+     * Increments the timed out request count for a specific API.
+     * This method is thread-safe and will create a new counter if one doesn't exist.
+     *
+     * @param api The name of the API (e.g., "frankfurter", "fawaz")
+     */
+    @Override
+    public void incrementTimeout(String api) {
+        AtomicInteger counter = timeouts.computeIfAbsent(api, a -> new AtomicInteger());
+        int currentCount = counter.incrementAndGet();
+        logger.debug("Timeout count for {} incremented to: {}", api, currentCount);
+    }
+
+    /**
+     * Records the latency and outcome of a call to a specific API.
+     *
+     * @param api          The name of the API (e.g., "frankfurter", "fawaz")
+     * @param latencyNanos How long the call took
+     * @param success      Whether the API answered
+     * @param dataDate     The date of the rates returned, or null if unknown
+     */
+    @Override
+    public void recordProviderCall(String api, long latencyNanos, boolean success, LocalDate dataDate) {
+        health.computeIfAbsent(api, a -> new ProviderHealth()).record(latencyNanos, success, dataDate, clock.instant());
+    }
+
+    /**
+     * Scores a specific API from its recent calls.
+     *
+     * @param api The name of the API (e.g., "frankfurter", "fawaz")
+     * @return The API's score, or null if it has not been called yet
+     */
+    @Override
+    public ProviderScore getProviderScore(String api) {
+        final ProviderHealth providerHealth = health.get(api);
+        return providerHealth == null ? null : providerHealth.score(LocalDate.now(clock), maxErrorRate, maxStaleDays);
+    }
+
     /**
      * Generates a snapshot of current metrics.
      * 
      * This method creates a thread-safe snapshot of all current metrics,
      * including total queries and per-API request/response statistics.
+     * It walks every counter, so readers should prefer the published
+     * snapshot from {@link #getEncodedSnapshot()}.
      *
      * @return MetricsSnapshot containing current application metrics
      */
@@ -92,20 +187,55 @@ public class MetricsService implements IMetricsService {
         final List<MetricsSnapshot.ApiMetricsWithName> metricsList = new ArrayList<>();
         
         // Build metrics for each API
-        for (String apiName : requests.keySet()) {
-            final int requestCount = requests.get(apiName).get();
-            final int responseCount = responses.getOrDefault(apiName, new AtomicInteger()).get();
-            final ApiMetrics metrics = new ApiMetrics(requestCount, responseCount);
-            metricsList.add(new MetricsSnapshot.ApiMetricsWithName(apiName, metrics));
-            
-            logger.debug("API {} metrics - Requests: {}, Responses: {}", 
-                        apiName, requestCount, responseCount);
+        for (Map.Entry<String, AtomicInteger> entry : requests.entrySet()) {
+            final String apiName = entry.getKey();
+            final AtomicInteger responseCounter = responses.get(apiName);
+            final AtomicInteger timeoutCounter = timeouts.get(apiName);
+            final ApiMetrics metrics = new ApiMetrics(entry.getValue().get(),
+                                                      responseCounter == null ? 0 : responseCounter.get(),
+                                                      timeoutCounter == null ? 0 : timeoutCounter.get());
+            metricsList.add(new MetricsSnapshot.ApiMetricsWithName(apiName, metrics, getProviderScore(apiName)));
         }
         
-        MetricsSnapshot snapshot = new MetricsSnapshot(totalQueriesCount, metricsList);
-        logger.info("Generated metrics snapshot - Total queries: {}, APIs tracked: {}", 
-                   totalQueriesCount, metricsList.size());
-        
-        return snapshot;
+        return new MetricsSnapshot(totalQueriesCount, metricsList);
+    }
+
+    /**
+     * Returns the latest published snapshot encoded as JSON.
+     * 
+     * The bytes are shared between callers and must not be modified. The first
+     * call before any publication publishes a snapshot itself.
+     *
+     * @return The JSON encoding of the latest MetricsSnapshot
+     */
+    @Override
+    public byte[] getEncodedSnapshot() {
+        byte[] encoded = encodedSnapshot;
+        if (encoded == null) {
+            encoded = encode();
+            encodedSnapshot = encoded;
+        }
+        return encoded;
+    }
+
+    /**
+     * Aggregates the current metrics and publishes them for readers.
+     */
+    @Scheduled(fixedRateString = "${exchangerates.metrics.publish-interval:1s}")
+    public void publish() {
+        encodedSnapshot = encode();
+    }
+
+    /**
+     * Encodes a snapshot of the current metrics as JSON.
+     *
+     * @return The encoded snapshot
+     */
+    private byte[] encode() {
+        try {
+            return objectMapper.writeValueAsBytes(getSnapshot());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to encode metrics snapshot", e);
+        }
     }
 }
@@ -0,0 +1,110 @@
+package com.cj.exchangerates.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.cj.exchangerates.cache.CacheKey;
+
+/**
+ * The currencies each provider supports, as discovered from its currency list.
+ * 
+ * Until a provider's list has been fetched, it is assumed to support every
+ * currency. Lists are only updated when every provider's was fetched, so
+ * {@link #supportedByAny(int)} never judges from a partial set. Each list is
+ * a bitset over the packed {@link CacheKey} ids and is replaced whole on
+ * refresh.
+ */
+@Component
+public class ProviderCapabilities {
+
+    private final Map<String, long[]> supported = new ConcurrentHashMap<>();
+
+    /**
+     * Replaces the currencies a provider supports.
+     *
+     * @param provider The provider name
+     * @param codes    The currency codes it quotes, in either case
+     */
+    public void update(String provider, Collection<String> codes) {
+        final long[] bits = new long[(1 << 15) / Long.SIZE];
+        for (String code : codes) {
+            final int id = CacheKey.tryEncode(code);
+            if (id >= 0) {
+                bits[id >>> 6] |= 1L << id;
+            }
+        }
+        supported.put(provider, bits);
+    }
+
+    /**
+     * Replaces the currencies a provider supports once every provider's have
+     * been discovered. Until then every currency is accepted, and the
+     * provider's list is picked up by the discovery itself.
+     *
+     * @param provider The provider name
+     * @param codes    The currency codes it quotes, in either case
+     */
+    public void updateIfDiscovered(String provider, Collection<String> codes) {
+        if (!supported.isEmpty()) {
+            update(provider, codes);
+        }
+    }
+
+    /**
+     * @param provider The provider name
+     * @param code     The currency code
+     * @return true if the provider supports the code, or its list is not known yet
+     */
+    public boolean supports(String provider, String code) {
+        return supports(supported.get(provider), CacheKey.tryEncode(code));
+    }
+
+    /**
+     * @param id A packed id from {@link CacheKey#tryEncode(String)}
+     * @return true if any provider supports the code, or no lists are known yet
+     */
+    public boolean supportedByAny(int id) {
+        if (supported.isEmpty()) {
+            return true;
+        }
+        for (long[] bits : supported.values()) {
+            if (supports(bits, id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Picks the symbols a provider supports.
+     *
+     * @param provider The provider name
+     * @param symbols  List of target currency codes
+     * @return The supported symbols; the same list if it supports them all
+     */
+    public List<String> supportedSymbols(String provider, List<String> symbols) {
+        final long[] bits = supported.get(provider);
+        if (bits == null) {
+            return symbols;
+        }
+        List<String> filtered = null;
+        for (int i = 0; i < symbols.size(); i++) {
+            final boolean keep = supports(bits, CacheKey.tryEncode(symbols.get(i)));
+            if (!keep && filtered == null) {
+                filtered = new ArrayList<>(symbols.subList(0, i));
+            } else if (keep && filtered != null) {
+                filtered.add(symbols.get(i));
+            }
+        }
+        return filtered != null ? filtered : symbols;
+    }
+
+    private static boolean supports(long[] bits, int id) {
+        return bits == null || (id >= 0 && (bits[id >>> 6] & (1L << id)) != 0);
+    }
+}
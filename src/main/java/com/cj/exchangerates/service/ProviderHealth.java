@@ -0,0 +1,77 @@
+package com.cj.exchangerates.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import com.cj.exchangerates.model.ProviderScore;
+
+/**
+ * Rolling latency, error rate and data freshness of one external API.
+ *
+ * Latency and error rate are exponentially weighted moving averages, so recent
+ * calls dominate and a provider that recovers is trusted again after a handful
+ * of good answers. Updates happen once per provider call and are synchronized.
+ */
+final class ProviderHealth {
+
+    /**
+     * Weight of the newest sample in the moving averages.
+     */
+    private static final double ALPHA = 0.2;
+
+    /**
+     * Error rates are capped here when scoring so that scores stay finite.
+     */
+    private static final double MAX_SCORED_ERROR_RATE = 0.95;
+
+    private double latencyMillis;
+    private double errorRate;
+    private LocalDate dataDate;
+    private Instant lastCall;
+    private long calls;
+
+    /**
+     * Records the outcome of a call.
+     *
+     * @param latencyNanos How long the call took
+     * @param success      Whether the provider answered
+     * @param dataDate     The date of the data returned, or null if unknown
+     * @param now          The time of the call
+     */
+    synchronized void record(long latencyNanos, boolean success, LocalDate dataDate, Instant now) {
+        final double millis = latencyNanos / 1_000_000.0;
+        final double error = success ? 0.0 : 1.0;
+        if (calls == 0) {
+            latencyMillis = millis;
+            errorRate = error;
+        } else {
+            latencyMillis += ALPHA * (millis - latencyMillis);
+            errorRate += ALPHA * (error - errorRate);
+        }
+        if (dataDate != null && (this.dataDate == null || dataDate.isAfter(this.dataDate))) {
+            this.dataDate = dataDate;
+        }
+        lastCall = now;
+        calls++;
+    }
+
+    /**
+     * Scores the provider.
+     *
+     * The score is the expected time to a successful answer, the mean latency
+     * divided by the success rate. A provider is unhealthy if its error rate is
+     * too high or its newest data is older than the allowed staleness.
+     *
+     * @param today        The current date
+     * @param maxErrorRate The highest error rate of a healthy provider
+     * @param maxStaleDays The oldest data, in days, a healthy provider may return
+     * @return The score
+     */
+    synchronized ProviderScore score(LocalDate today, double maxErrorRate, int maxStaleDays) {
+        final boolean fresh = dataDate == null || ChronoUnit.DAYS.between(dataDate, today) <= maxStaleDays;
+        final boolean healthy = errorRate <= maxErrorRate && fresh;
+        final double score = latencyMillis / (1.0 - Math.min(errorRate, MAX_SCORED_ERROR_RATE));
+        return new ProviderScore(latencyMillis, errorRate, dataDate, lastCall, calls, healthy, score);
+    }
+}
@@ -0,0 +1,115 @@
+package com.cj.exchangerates.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Parses the raw JSON payloads returned by the external exchange rate APIs.
+ * 
+ * Shared by the blocking and reactive API services so that both serving
+ * stacks interpret provider responses in exactly the same way.
+ */
+@Component
+public class ProviderResponseParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderResponseParser.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public ProviderResponseParser() {
+    }
+
+    public ProviderResponseParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Parses a Frankfurter API response.
+     * 
+     * Frankfurter returns the rates as a flat map under the "rates" field and
+     * the ECB reference date under "date".
+     *
+     * @param base     The base currency code
+     * @param response The decoded JSON response
+     * @return ExchangeRateResponse containing the rates, or null if invalid
+     */
+    public ExchangeRateResponse parseFrankfurter(String base, Map<String, Object> response) {
+        final Object ratesObj = response.get("rates");
+        if (ratesObj instanceof Map<?, ?>) {
+            final Map<String, Double> rates = objectMapper.convertValue(ratesObj, 
+                new TypeReference<Map<String, Double>>() {});
+            
+            if (rates != null && !rates.isEmpty()) {
+                logger.debug("Successfully parsed {} rates from Frankfurter API", rates.size());
+                return new ExchangeRateResponse(base, rates, parseDate(response.get("date")));
+            }
+        }
+
+        logger.warn("Invalid rates format in Frankfurter API response");
+        return null;
+    }
+
+    /**
+     * Parses a Fawaz API response.
+     * 
+     * Fawaz returns every rate for the base nested under the lower-cased base
+     * code, so only the requested symbols are picked out. The publication date
+     * is under "date".
+     *
+     * @param base     The base currency code
+     * @param symbols  List of target currency codes
+     * @param response The decoded JSON response
+     * @return ExchangeRateResponse containing the rates, or null if invalid
+     */
+    public ExchangeRateResponse parseFawaz(String base, List<String> symbols, Map<String, Object> response) {
+        final Map<String, Double> rates = new HashMap<>();
+        final Object nestedRates = response.get(base.toLowerCase());
+        
+        if (nestedRates instanceof Map<?, ?> ratesObjMap) {
+            for (String symbol : symbols) {
+                final Object ratesObj = ratesObjMap.get(symbol.toLowerCase());
+                if (ratesObj instanceof Number result) {
+                    rates.put(symbol.toUpperCase(), result.doubleValue());
+                }
+            }
+        }
+        
+        if (!rates.isEmpty()) {
+            logger.debug("Successfully parsed {} rates from Fawaz API", rates.size());
+            return new ExchangeRateResponse(base.toUpperCase(), rates, parseDate(response.get("date")));
+        }
+
+        logger.warn("No valid rates found in Fawaz API response");
+        return null;
+    }
+
+    /**
+     * Parses a provider's data date.
+     *
+     * @param value The "date" field of the response, in ISO format
+     * @return The date, or null if absent or malformed
+     */
+    static LocalDate parseDate(Object value) {
+        if (value instanceof String text) {
+            try {
+                return LocalDate.parse(text);
+            } catch (DateTimeParseException e) {
+                logger.warn("Ignoring malformed provider date: {}", text);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.cj.exchangerates.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * How much each provider's rates count towards an average.
+ * 
+ * Configured with exchangerates.providers.weights as comma-separated
+ * provider:weight pairs, e.g. "imported:2,fawaz:0.5". Providers not listed
+ * have weight 1, so by default every provider counts equally. A provider with
+ * weight 0 is still queried but ignored when averaging.
+ */
+@Component
+public class ProviderWeights {
+
+    private final Map<String, Double> weights;
+
+    public ProviderWeights() {
+        this("");
+    }
+
+    @Autowired
+    public ProviderWeights(@Value("${exchangerates.providers.weights:}") String weights) {
+        this.weights = new HashMap<>();
+        for (String pair : weights.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            final int split = pair.lastIndexOf(':');
+            final double weight = split > 0 ? Double.parseDouble(pair.substring(split + 1).trim()) : Double.NaN;
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Provider weights must be name:weight pairs with a weight of 0 or more: " + pair);
+            }
+            this.weights.put(pair.substring(0, split).trim(), weight);
+        }
+    }
+
+    /**
+     * @param provider The provider name
+     * @return The provider's weight, 1 unless configured
+     */
+    public double weightOf(String provider) {
+        return weights.getOrDefault(provider, 1.0);
+    }
+}
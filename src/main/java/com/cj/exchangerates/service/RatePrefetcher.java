@@ -0,0 +1,256 @@
+package com.cj.exchangerates.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.cj.exchangerates.cache.HeapRateTableStore;
+import com.cj.exchangerates.cache.IRateTableStore;
+import com.cj.exchangerates.cache.NegativeCache;
+import com.cj.exchangerates.cache.RateChangeLog;
+import com.cj.exchangerates.cache.RateExpiryPolicy;
+import com.cj.exchangerates.cache.RateMatrix;
+import com.cj.exchangerates.model.ExchangeRateResponse;
+
+/**
+ * Prefetches full rate tables for the most requested base currencies.
+ * 
+ * The configured bases are fetched for the whole symbol set at startup and
+ * again on a schedule aligned with the providers' publication times, so
+ * requests against those bases are answered from memory whatever symbols
+ * they ask for. Upstream usage is then one call per provider per base per
+ * refresh, independent of traffic.
+ */
+@Component
+public class RatePrefetcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatePrefetcher.class);
+
+    @Autowired
+    private IApiService apiService;
+
+    @Autowired
+    private ThreadFactory upstreamThreadFactory;
+
+    @Value("${exchangerates.prefetch.bases:}")
+    private List<String> bases = List.of();
+
+    @Value("${exchangerates.prefetch.symbols:}")
+    private List<String> symbols = List.of();
+
+    /**
+     * Averaged rate tables by base currency, on or off the heap.
+     */
+    @Autowired
+    private IRateTableStore tables = new HeapRateTableStore();
+
+    /**
+     * When each base's table stops being served, in epoch milliseconds.
+     */
+    private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+
+    /**
+     * Sets each table's lifetime from the providers' publication schedules.
+     */
+    @Autowired
+    private RateExpiryPolicy expiryPolicy = new RateExpiryPolicy();
+
+    /**
+     * Failing providers, whose absence makes a table partial.
+     */
+    @Autowired
+    private NegativeCache negativeCache = new NegativeCache();
+
+    /**
+     * Rebuilt whenever the pivot currency's table is refreshed.
+     */
+    @Autowired
+    private RateMatrix matrix = new RateMatrix();
+
+    /**
+     * Tracks which symbols each refresh actually moved.
+     */
+    @Autowired
+    private RateChangeLog changes = new RateChangeLog();
+
+    /**
+     * The currencies each provider supports, refreshed alongside the tables.
+     */
+    @Autowired
+    private ProviderCapabilities capabilities = new ProviderCapabilities();
+
+    /**
+     * How much each provider counts towards the averaged tables.
+     */
+    @Autowired
+    private ProviderWeights weights = new ProviderWeights();
+
+    /**
+     * Starts the first capability discovery and prefetch in the background
+     * once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prefetchOnStartup() {
+        upstreamThreadFactory.newThread(() -> {
+            discoverCapabilities();
+            prefetch();
+        }).start();
+    }
+
+    /**
+     * Refreshes the currencies each provider supports, so that requests for
+     * others are rejected before any provider is called. The previous lists
+     * are kept if any provider's cannot be fetched.
+     */
+    @Scheduled(cron = "${exchangerates.providers.discovery-cron:0 0 3 * * *}", zone = "UTC")
+    public void discoverCapabilities() {
+        final Map<String, Set<String>> supported = apiService.fetchSupportedCurrencies();
+        supported.forEach(capabilities::update);
+        if (!supported.isEmpty()) {
+            logger.info("Discovered supported currencies for {} providers", supported.size());
+        }
+    }
+
+    /**
+     * Refreshes every configured base, and the matrix pivot, in parallel. A
+     * base whose fetch fails keeps its previous table until that expires.
+     */
+    @Scheduled(cron = "${exchangerates.prefetch.cron:0 5 2,16 * * *}", zone = "${exchangerates.prefetch.zone:Europe/Berlin}")
+    public void prefetch() {
+        if (bases.isEmpty()) {
+            return;
+        }
+
+        final Set<String> targets = targets();
+        final long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(upstreamThreadFactory)) {
+            for (String base : targets) {
+                executor.submit(() -> prefetch(base));
+            }
+        }
+        logger.info("Prefetched {} of {} base currencies in {} ms", tables.size(), targets.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Refreshes the prefetched tables, and the matrix, for the given bases
+     * in the background, such as once rates for them have been imported.
+     * Bases that are not prefetched are ignored.
+     *
+     * @param changed The base currency codes
+     */
+    public void refresh(Collection<String> changed) {
+        if (bases.isEmpty()) {
+            return;
+        }
+        final Set<String> targets = targets();
+        for (String base : changed) {
+            final String code = base.toUpperCase();
+            if (targets.contains(code)) {
+                upstreamThreadFactory.newThread(() -> prefetch(code)).start();
+            }
+        }
+    }
+
+    /**
+     * @return The configured bases and the matrix pivot
+     */
+    private Set<String> targets() {
+        final Set<String> targets = new LinkedHashSet<>();
+        for (String base : bases) {
+            targets.add(base.trim().toUpperCase());
+        }
+        targets.add(matrix.getPivot().toUpperCase());
+        return targets;
+    }
+
+    private void prefetch(String base) {
+        try {
+            final List<String> requested = symbolsFor(base);
+            final Map<String, ExchangeRateResponse> allRates = apiService.fetchAllRates(base, requested);
+            final Map<String, Double> averaged = ExchangeRateService.weightedAverages(allRates, weights);
+            if (averaged.isEmpty()) {
+                logger.warn("No rates prefetched for base: {}", base);
+                return;
+            }
+            final LocalDate date = ExchangeRateService.oldestDate(allRates);
+            // A table missing a failing provider is only served until the failure
+            // is retried, like any other partial result, and is kept out of the
+            // change log
+            final Instant now = Instant.now();
+            final boolean partial = negativeCache.isAnyFailing(base);
+            final Instant expiresAt = partial ? negativeCache.failureExpiresAt(now) : expiryPolicy.expiresAt(allRates, now);
+            tables.put(base, averaged, date);
+            expiries.put(base, expiresAt.toEpochMilli());
+            if (!partial) {
+                // Only prefetched symbols can be known to be gone; others were added by misses
+                changes.record(base, averaged, date, new HashSet<>(requested));
+            }
+            if (base.equals(matrix.getPivot().toUpperCase())) {
+                matrix.rebuild(averaged, date, expiresAt);
+            }
+            logger.debug("Prefetched {} rates for base: {}", averaged.size(), base);
+        } catch (RuntimeException e) {
+            logger.warn("Prefetch failed for base: {}: {}", base, e.toString());
+        }
+    }
+
+    private List<String> symbolsFor(String base) {
+        final List<String> result = new ArrayList<>(symbols.size());
+        for (String symbol : symbols) {
+            final String code = symbol.trim().toUpperCase();
+            if (!code.isEmpty() && !code.equals(base)) {
+                result.add(code);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Answers a request from the prefetched tables.
+     *
+     * @param base    The base currency code
+     * @param symbols List of target currency codes
+     * @return The requested rates, or null unless every symbol was prefetched
+     *         and the table has not expired
+     */
+    public ExchangeRateResponse lookup(String base, List<String> symbols) {
+        return isFresh(base) ? tables.get(base, symbols) : null;
+    }
+
+    /**
+     * Checks whether a request can be answered from the prefetched tables.
+     *
+     * @param base    The base currency code
+     * @param symbols List of target currency codes
+     * @return true if every symbol was prefetched for the base and the table
+     *         has not expired
+     */
+    public boolean covers(String base, List<String> symbols) {
+        return isFresh(base) && tables.contains(base, symbols);
+    }
+
+    private boolean isFresh(String base) {
+        final Long expiresAt = expiries.get(base.trim().toUpperCase());
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+}
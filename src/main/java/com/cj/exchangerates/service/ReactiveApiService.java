@@ -0,0 +1,154 @@
+package com.cj.exchangerates.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+
+import jakarta.annotation.PostConstruct;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking service implementation for external API interactions.
+ * 
+ * This service queries every external exchange rate API concurrently with
+ * WebClient and merges the responses as they arrive. Each call is bounded by
+ * a timeout, so a slow provider drops out of the result instead of delaying it.
+ */
+@Service
+@Profile("reactive")
+@Qualifier("ReactiveApiService")
+public class ReactiveApiService implements IReactiveApiService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveApiService.class);
+
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT =
+            new ParameterizedTypeReference<Map<String, Object>>() {};
+
+    @Autowired
+    private ProviderResponseParser responseParser;
+
+    @Autowired
+    private IMetricsService metricsService;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Value("${exchangerates.providers.frankfurter.url:https://api.frankfurter.app}")
+    private String frankfurterUrl;
+
+    @Value("${exchangerates.providers.fawaz.url:https://cdn.jsdelivr.net/npm/@fawazahmed0/currency-api@latest/v1}")
+    private String fawazUrl;
+
+    @Value("${exchangerates.reactive.upstream-timeout:5s}")
+    private Duration upstreamTimeout;
+
+    private WebClient webClient;
+
+    @PostConstruct
+    void init() {
+        webClient = webClientBuilder.build();
+    }
+
+    /**
+     * Fetches exchange rates from all configured external APIs, emitting each
+     * provider's rates as soon as its call completes.
+     *
+     * @param base    The base currency code
+     * @param symbols List of target currency codes
+     * @return Flux of API responses keyed by API name
+     */
+    @Override
+    public Flux<Map.Entry<String, ExchangeRateResponse>> fetchRates(String base, List<String> symbols) {
+        logger.debug("Fetching rates from all external APIs - Base: {}, Symbols: {}", base, symbols);
+
+        return Flux.merge(
+                fetchFrankfurter(base, symbols).map(rates -> Map.entry("frankfurter", rates)),
+                fetchFawaz(base, symbols).map(rates -> Map.entry("fawaz", rates)));
+    }
+
+    /**
+     * Fetches exchange rates from all configured external APIs.
+     *
+     * @param base    The base currency code
+     * @param symbols List of target currency codes
+     * @return Mono of API responses keyed by API name
+     */
+    @Override
+    public Mono<Map<String, ExchangeRateResponse>> fetchAllRates(String base, List<String> symbols) {
+        return fetchRates(base, symbols)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .doOnNext(allRates -> logger.debug("Completed fetching rates from {} APIs", allRates.size()));
+    }
+
+    /**
+     * Fetches current exchange rates from Frankfurter API.
+     *
+     * @param base    The base currency code
+     * @param symbols List of target currency codes
+     * @return Mono of the rates, empty if the call failed or timed out
+     */
+    private Mono<ExchangeRateResponse> fetchFrankfurter(String base, List<String> symbols) {
+        final String url = UriComponentsBuilder.fromUriString(frankfurterUrl)
+                                               .path("/latest")
+                                               .queryParam("from", base)
+                                               .queryParam("to", String.join(",", symbols))
+                                               .toUriString();
+
+        return fetch("frankfurter", url)
+                .mapNotNull(response -> responseParser.parseFrankfurter(base, response));
+    }
+
+    /**
+     * Fetches current exchange rates from Fawazahmed0/currency-api.
+     *
+     * @param base    The base currency code
+     * @param symbols List of target currency codes
+     * @return Mono of the rates, empty if the call failed or timed out
+     */
+    private Mono<ExchangeRateResponse> fetchFawaz(String base, List<String> symbols) {
+        final String url = String.format("%s/currencies/%s.json", fawazUrl, base.toLowerCase());
+
+        return fetch("fawaz", url)
+                .filter(response -> response.containsKey(base.toLowerCase()))
+                .mapNotNull(response -> responseParser.parseFawaz(base, symbols, response));
+    }
+
+    /**
+     * Performs a GET request against an external API with metrics tracking,
+     * a timeout and error suppression.
+     *
+     * @param api The name of the API
+     * @param url The URL to request
+     * @return Mono of the decoded JSON response, empty if the call failed
+     */
+    private Mono<Map<String, Object>> fetch(String api, String url) {
+        return webClient.get()
+                        .uri(url)
+                        .retrieve()
+                        .bodyToMono(JSON_OBJECT)
+                        .timeout(upstreamTimeout)
+                        .doOnSubscribe(subscription -> {
+                            logger.debug("Fetching from {} API: {}", api, url);
+                            metricsService.incrementRequest(api);
+                        })
+                        .doOnNext(response -> metricsService.incrementResponse(api))
+                        .onErrorResume(e -> {
+                            logger.error("Error when calling {} API: {}", api, e.toString());
+                            return Mono.empty();
+                        });
+    }
+}
@@ -0,0 +1,99 @@
+package com.cj.exchangerates.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.cj.exchangerates.cache.CacheKey;
+import com.cj.exchangerates.model.ExchangeRateResponse;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking service implementation for exchange rate operations.
+ * 
+ * This service mirrors ExchangeRateService on top of Reactor: it shares the
+ * validation, cache key and averaging logic, but never blocks the calling
+ * thread while waiting for the external APIs. Concurrent misses for the same
+ * key share a single upstream fetch.
+ */
+@Service
+@Profile("reactive")
+@Qualifier("ReactiveExchangeRateService")
+public class ReactiveExchangeRateService implements IReactiveExchangeRateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveExchangeRateService.class);
+
+    @Autowired
+    private IReactiveApiService apiService;
+
+    @Autowired
+    private IMetricsService metricsService;
+
+    /**
+     * Thread-safe cache for storing exchange rate responses, keyed by the
+     * canonical form of each request (see {@link CacheKey}).
+     */
+    private final Map<CacheKey, ExchangeRateResponse> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Upstream fetches currently in progress, keyed like the cache.
+     */
+    private final Map<CacheKey, Mono<ExchangeRateResponse>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves exchange rates for the specified base currency and target symbols.
+     *
+     * @param base    The base currency code (must not be null or empty)
+     * @param symbols List of target currency codes (must not be null or empty)
+     * @return Mono of the ExchangeRateResponse containing averaged rates,
+     *         or an error with IllegalArgumentException if base or symbols are invalid
+     */
+    @Override
+    public Mono<ExchangeRateResponse> getExchangeRates(String base, List<String> symbols) {
+        return Mono.defer(() -> {
+            ExchangeRateService.validateInput(base, symbols);
+            final CacheKey cacheKey = CacheKey.of(base, symbols);
+            metricsService.incrementTotalQueries();
+
+            final ExchangeRateResponse cached = cache.get(cacheKey);
+            if (cached != null) {
+                logger.debug("Cache hit for key: {}", cacheKey);
+                return Mono.just(cached);
+            }
+
+            logger.debug("Cache miss for key: {}, fetching from external APIs", cacheKey);
+            return inFlight.computeIfAbsent(cacheKey, key -> fetchAndCache(key, base, symbols));
+        });
+    }
+
+    /**
+     * Builds a shared fetch for a cache key that averages the provider rates,
+     * caches the result and then removes itself from the in-flight map.
+     *
+     * @param cacheKey The cache key
+     * @param base     The base currency code
+     * @param symbols  List of target currency codes
+     * @return A cached Mono of the averaged rates
+     */
+    private Mono<ExchangeRateResponse> fetchAndCache(CacheKey cacheKey, String base, List<String> symbols) {
+        return apiService.fetchAllRates(base, symbols)
+                         .map(allRates -> new ExchangeRateResponse(base.toUpperCase(),
+                                 ExchangeRateService.calculateAverages(ExchangeRateService.combineRates(allRates)),
+                                 ExchangeRateService.oldestDate(allRates)))
+                         .doOnNext(result -> {
+                             cache.put(cacheKey, result);
+                             logger.debug("Exchange rates calculated and cached - Base: {}, Symbols: {}, Rates count: {}",
+                                         base, symbols, result.getRates().size());
+                         })
+                         .doFinally(signal -> inFlight.remove(cacheKey))
+                         .cache();
+    }
+}
@@ -0,0 +1,43 @@
+package com.cj.exchangerates.tenant;
+
+/**
+ * Holds the tenant a request is being served for.
+ * 
+ * Tenants are identified by the API key they send. Requests without one, and
+ * work not done for a request (prefetching, replication), belong to the
+ * anonymous tenant. Set by {@link TenantFilter} for the duration of a request
+ * on the servlet stack.
+ */
+public final class TenantContext {
+
+    public static final String ANONYMOUS = "anonymous";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * @return The current tenant, or ANONYMOUS if none is set
+     */
+    public static String current() {
+        final String tenant = CURRENT.get();
+        return tenant != null ? tenant : ANONYMOUS;
+    }
+
+    /**
+     * Sets the current tenant for this thread.
+     *
+     * @param tenant The tenant, or null for the anonymous tenant
+     */
+    public static void set(String tenant) {
+        CURRENT.set(tenant);
+    }
+
+    /**
+     * Clears the current tenant for this thread.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,35 @@
+package com.cj.exchangerates.tenant;
+
+import java.io.IOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.cj.exchangerates.admission.AdmissionControlInterceptor;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Servlet filter that sets the request's tenant from its X-API-Key header.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class TenantFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final String apiKey = request.getHeader(AdmissionControlInterceptor.API_KEY_HEADER);
+        TenantContext.set(apiKey == null || apiKey.isBlank() ? null : apiKey);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.cj.exchangerates.tracing;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * OpenTelemetry span exporter that keeps the most recent slow requests in
+ * memory instead of shipping spans anywhere.
+ * 
+ * Child spans are held per trace until the trace's local root span (the
+ * server request) ends. If the root took at least the threshold, the whole
+ * trace is kept as a {@link SlowRequest}; otherwise it is dropped. Memory is
+ * bounded by the number of pending traces and of slow requests retained.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+    private static final int MAX_PENDING_TRACES = 1024;
+
+    private final long thresholdNanos;
+
+    private final int capacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Map<String, List<SpanData>> pending = new LinkedHashMap<>(64, 0.75f, false) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<SpanData>> eldest) {
+            return size() > MAX_PENDING_TRACES;
+        }
+    };
+
+    private final Deque<SlowRequest> slowRequests = new ArrayDeque<>();
+
+    public InMemorySpanExporter(Duration threshold, int capacity) {
+        this.thresholdNanos = threshold.toNanos();
+        this.capacity = capacity;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        lock.lock();
+        try {
+            for (SpanData span : spans) {
+                if (span.getParentSpanContext().isValid() && !span.getParentSpanContext().isRemote()) {
+                    pending.computeIfAbsent(span.getTraceId(), id -> new ArrayList<>()).add(span);
+                    continue;
+                }
+
+                final List<SpanData> children = pending.remove(span.getTraceId());
+                if (span.getEndEpochNanos() - span.getStartEpochNanos() >= thresholdNanos) {
+                    slowRequests.addFirst(slowRequest(span, children != null ? children : List.of()));
+                    if (slowRequests.size() > capacity) {
+                        slowRequests.removeLast();
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        lock.lock();
+        try {
+            pending.clear();
+        } finally {
+            lock.unlock();
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * @return The retained slow requests, most recent first
+     */
+    public List<SlowRequest> getSlowRequests() {
+        lock.lock();
+        try {
+            return List.copyOf(slowRequests);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static SlowRequest slowRequest(SpanData root, List<SpanData> children) {
+        final List<SpanData> ordered = new ArrayList<>(children);
+        ordered.sort(Comparator.comparingLong(SpanData::getStartEpochNanos));
+
+        final List<SlowRequest.Span> spans = new ArrayList<>(ordered.size());
+        for (SpanData child : ordered) {
+            spans.add(new SlowRequest.Span(child.getName(), child.getSpanId(), child.getParentSpanId(),
+                    millis(child.getStartEpochNanos() - root.getStartEpochNanos()),
+                    millis(child.getEndEpochNanos() - child.getStartEpochNanos()),
+                    attributes(child)));
+        }
+        return new SlowRequest(root.getTraceId(), root.getName(),
+                Instant.ofEpochSecond(0, root.getStartEpochNanos()),
+                millis(root.getEndEpochNanos() - root.getStartEpochNanos()),
+                attributes(root), spans);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static Map<String, String> attributes(SpanData span) {
+        final Map<String, String> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        return attributes;
+    }
+}
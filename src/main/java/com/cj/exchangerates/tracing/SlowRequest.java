@@ -0,0 +1,32 @@
+package com.cj.exchangerates.tracing;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A request that took at least the slow-request threshold, with the spans
+ * recorded beneath it.
+ *
+ * @param traceId    The trace id, as propagated in the traceparent header
+ * @param name       The root span's name
+ * @param start      When the request started
+ * @param durationMs The request's duration
+ * @param attributes The root span's attributes
+ * @param spans      The child spans, in start order
+ */
+public record SlowRequest(String traceId, String name, Instant start, double durationMs,
+                          Map<String, String> attributes, List<Span> spans) {
+
+    /**
+     * @param name       The span's name
+     * @param spanId     The span id
+     * @param parentId   The parent span id
+     * @param offsetMs   When the span started, relative to the request
+     * @param durationMs The span's duration
+     * @param attributes The span's attributes
+     */
+    public record Span(String name, String spanId, String parentId, double offsetMs, double durationMs,
+                       Map<String, String> attributes) {
+    }
+}
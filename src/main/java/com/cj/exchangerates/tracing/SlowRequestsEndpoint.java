@@ -0,0 +1,25 @@
+package com.cj.exchangerates.tracing;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint listing recent slow requests with their per-stage spans,
+ * at /actuator/slowrequests.
+ */
+@Endpoint(id = "slowrequests")
+public class SlowRequestsEndpoint {
+
+    private final InMemorySpanExporter exporter;
+
+    public SlowRequestsEndpoint(InMemorySpanExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @ReadOperation
+    public List<SlowRequest> slowRequests() {
+        return exporter.getSlowRequests();
+    }
+}
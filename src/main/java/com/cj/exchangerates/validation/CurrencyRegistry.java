@@ -0,0 +1,60 @@
+package com.cj.exchangerates.validation;
+
+import java.util.Currency;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cj.exchangerates.cache.CacheKey;
+
+/**
+ * The currency codes requests may use: every ISO 4217 code the JDK knows,
+ * plus any configured extras such as crypto codes a provider quotes.
+ * 
+ * Codes are held as one bit per packed {@link CacheKey} id, so a lookup is a
+ * shift and a mask with no hashing or allocation.
+ */
+@Component
+public class CurrencyRegistry {
+
+    private final long[] known = new long[(1 << 15) / Long.SIZE];
+
+    public CurrencyRegistry() {
+        this(List.of());
+    }
+
+    @Autowired
+    public CurrencyRegistry(@Value("${exchangerates.currencies.extra:}") List<String> extra) {
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            register(currency.getCurrencyCode());
+        }
+        for (String code : extra) {
+            register(code.trim());
+        }
+    }
+
+    /**
+     * @param id A packed id from {@link CacheKey#tryEncode(String)}
+     * @return true if the code is known
+     */
+    public boolean isKnown(int id) {
+        return id >= 0 && (known[id >>> 6] & (1L << id)) != 0;
+    }
+
+    /**
+     * @param code A currency code, in either case
+     * @return true if the code is known
+     */
+    public boolean isKnown(String code) {
+        return isKnown(CacheKey.tryEncode(code));
+    }
+
+    private void register(String code) {
+        final int id = CacheKey.tryEncode(code);
+        if (id >= 0) {
+            known[id >>> 6] |= 1L << id;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.cj.exchangerates.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.cj.exchangerates.cache.CacheKey;
+import com.cj.exchangerates.cache.NegativeCache;
+import com.cj.exchangerates.service.ProviderCapabilities;
+
+/**
+ * Validates exchange rate requests at the edge, before they reach the service.
+ * 
+ * Each code is checked in a single pass over its characters, then against
+ * the {@link CurrencyRegistry} and against what the providers are known to
+ * quote. Problems are returned rather than thrown, so
+ * a flood of invalid requests costs neither regex matching nor stack-trace
+ * capture, and a valid request allocates nothing.
+ */
+@Component
+public class RequestValidator {
+
+    @Autowired
+    private CurrencyRegistry registry = new CurrencyRegistry();
+
+    @Autowired
+    private ProviderCapabilities capabilities = new ProviderCapabilities();
+
+    @Autowired
+    private NegativeCache negativeCache = new NegativeCache();
+
+    /**
+     * Validates a base currency and a list of symbols.
+     *
+     * @param base    The base currency code
+     * @param symbols List of target currency codes
+     * @return Every problem found, or an empty list if the request is valid
+     */
+    public List<ValidationError> validate(String base, List<String> symbols) {
+        List<ValidationError> errors = check(null, -1, base);
+        if (symbols == null || symbols.isEmpty()) {
+            errors = add(errors, new ValidationError("symbols", null, "At least one target currency symbol must be provided"));
+        } else {
+            for (int i = 0; i < symbols.size(); i++) {
+                errors = check(errors, i, symbols.get(i));
+            }
+        }
+        return errors != null ? errors : List.of();
+    }
+
+    /**
+     * Validates a base currency on its own.
+     *
+     * @param base The base currency code
+     * @return Every problem found, or an empty list if the base is valid
+     */
+    public List<ValidationError> validateBase(String base) {
+        final List<ValidationError> errors = check(null, -1, base);
+        return errors != null ? errors : List.of();
+    }
+
+    /**
+     * @param index The symbol's position, or -1 for the base
+     */
+    private List<ValidationError> check(List<ValidationError> errors, int index, String code) {
+        if (code == null || code.isEmpty()) {
+            return add(errors, new ValidationError(field(index), null, "Currency code must be provided"));
+        }
+        final int id = CacheKey.tryEncode(code);
+        if (id < 0) {
+            return add(errors, new ValidationError(field(index), code, "Currency codes must be 3-letter codes"));
+        }
+        if (!registry.isKnown(id)) {
+            return add(errors, new ValidationError(field(index), code, "Unknown currency code"));
+        }
+        if (!capabilities.supportedByAny(id) || (index >= 0 && negativeCache.isUnknown(id))) {
+            return add(errors, new ValidationError(field(index), code, "Currency is not supported by any provider"));
+        }
+        return errors;
+    }
+
+    private static String field(int index) {
+        return index < 0 ? "base" : "symbols[" + index + "]";
+    }
+
+    private static List<ValidationError> add(List<ValidationError> errors, ValidationError error) {
+        final List<ValidationError> list = errors != null ? errors : new ArrayList<>(2);
+        list.add(error);
+        return list;
+    }
+}
@@ -0,0 +1,11 @@
+package com.cj.exchangerates.validation;
+
+/**
+ * One problem found in a request.
+ *
+ * @param field   The request field, e.g. "base" or "symbols[1]"
+ * @param value   The offending value, or null if it was missing
+ * @param message What is wrong with it
+ */
+public record ValidationError(String field, String value, String message) {
+}
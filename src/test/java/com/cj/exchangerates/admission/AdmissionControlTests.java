@@ -0,0 +1,192 @@
+package com.cj.exchangerates.admission;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.cj.exchangerates.exception.AdmissionRejectedException;
+import com.cj.exchangerates.service.IExchangeRateService;
+
+public class AdmissionControlTests {
+
+    @Mock
+    private IExchangeRateService _exchangeRateService;
+
+    @Mock
+    private ObjectProvider<IExchangeRateService> _provider;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Mockito.when(_provider.getIfAvailable()).thenReturn(_exchangeRateService);
+    }
+
+    @Test
+    void testRateLimitPerClient() {
+        final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 2, 100);
+        Assertions.assertEquals(0, limiter.tryAcquire("a"));
+        Assertions.assertEquals(0, limiter.tryAcquire("a"));
+        Assertions.assertTrue(limiter.tryAcquire("a") > 0);
+        Assertions.assertEquals(0, limiter.tryAcquire("b"));
+
+        limiter.evictIdle(0);
+        Assertions.assertEquals(0, limiter.size());
+    }
+
+    @Test
+    void testRateLimitClientsBounded() {
+        final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 2);
+        Assertions.assertEquals(0, limiter.tryAcquire("a"));
+        Assertions.assertEquals(0, limiter.tryAcquire("b"));
+        // Further clients share one bucket.
+        Assertions.assertEquals(0, limiter.tryAcquire("c"));
+        Assertions.assertTrue(limiter.tryAcquire("d") > 0);
+        Assertions.assertEquals(2, limiter.size());
+    }
+
+    @Test
+    void testConcurrencyLimitAdapts() {
+        final GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 2, 100);
+        for (int i = 0; i < 100; i++) {
+            saturate(limiter, 1_000_000, false);
+        }
+        final int steady = limiter.getLimit();
+        Assertions.assertTrue(steady > 10, "limit should grow while latency is steady");
+
+        for (int i = 0; i < 10; i++) {
+            saturate(limiter, 20_000_000, false);
+        }
+        Assertions.assertTrue(limiter.getLimit() < steady, "limit should shrink when latency rises");
+        Assertions.assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testConcurrencyLimitHeldWhileIdle() {
+        final GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 2, 100);
+        for (int i = 0; i < 200; i++) {
+            Assertions.assertTrue(limiter.tryAcquire(1.0));
+            limiter.release(1_000_000, false);
+        }
+        Assertions.assertEquals(10, limiter.getLimit(), "limit should not grow while mostly unused");
+    }
+
+    @Test
+    void testCacheHitsDoNotSkewMissBaseline() {
+        final GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 2, 100);
+        for (int i = 0; i < 100; i++) {
+            saturate(limiter, 20_000, true);
+            saturate(limiter, 20_000_000, false);
+        }
+        // Steady latency within each class keeps growing the limit.
+        Assertions.assertTrue(limiter.getLimit() > 10);
+    }
+
+    @Test
+    void testMissesShedBeforeHits() {
+        final GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 10, 10);
+        final AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(
+                new TokenBucketRateLimiter(1000, 1000, 100), limiter, _provider, Set.of(), 0.5, 1);
+        Mockito.when(_exchangeRateService.isCached("USD", List.of("EUR", "GBP"))).thenReturn(true);
+
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertTrue(interceptor.preHandle(request("JPY"), new MockHttpServletResponse(), null));
+        }
+
+        final AdmissionRejectedException ex = Assertions.assertThrows(AdmissionRejectedException.class,
+                () -> interceptor.preHandle(request("JPY"), new MockHttpServletResponse(), null));
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+        Assertions.assertEquals(1, ex.getRetryAfterSeconds());
+
+        Assertions.assertTrue(interceptor.preHandle(request("EUR,GBP"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void testCachedConversionsUseWholeLimit() {
+        final GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(10, 10, 10);
+        final AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(
+                new TokenBucketRateLimiter(1000, 1000, 100), limiter, _provider, Set.of(), 0.5, 1);
+        Mockito.when(_exchangeRateService.isCached("USD", List.of("EUR"))).thenReturn(true);
+
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertTrue(interceptor.preHandle(conversion("JPY"), new MockHttpServletResponse(), null));
+        }
+        Assertions.assertThrows(AdmissionRejectedException.class,
+                () -> interceptor.preHandle(conversion("JPY"), new MockHttpServletResponse(), null));
+        Assertions.assertTrue(interceptor.preHandle(conversion("EUR"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void testRateLimitRejection() {
+        final AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(
+                new TokenBucketRateLimiter(0.5, 1, 100), new GradientConcurrencyLimiter(10, 10, 10), _provider, Set.of(), 1.0, 1);
+
+        final MockHttpServletRequest request = request("EUR");
+        request.addHeader(AdmissionControlInterceptor.API_KEY_HEADER, "client-1");
+        Assertions.assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+
+        final AdmissionRejectedException ex = Assertions.assertThrows(AdmissionRejectedException.class,
+                () -> interceptor.preHandle(request, new MockHttpServletResponse(), null));
+        Assertions.assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatus());
+        Assertions.assertTrue(ex.getRetryAfterSeconds() >= 1);
+    }
+
+    @Test
+    void testOnlyConfiguredKeysGetOwnBucket() {
+        final AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(
+                new TokenBucketRateLimiter(0.5, 1, 100), new GradientConcurrencyLimiter(10, 10, 10), _provider, Set.of("partner"), 1.0, 1);
+
+        final MockHttpServletRequest first = request("EUR");
+        first.addHeader(AdmissionControlInterceptor.API_KEY_HEADER, "random-1");
+        Assertions.assertTrue(interceptor.preHandle(first, new MockHttpServletResponse(), null));
+
+        // A fresh unknown key is still limited by address.
+        final MockHttpServletRequest second = request("EUR");
+        second.addHeader(AdmissionControlInterceptor.API_KEY_HEADER, "random-2");
+        Assertions.assertThrows(AdmissionRejectedException.class,
+                () -> interceptor.preHandle(second, new MockHttpServletResponse(), null));
+
+        final MockHttpServletRequest partner = request("EUR");
+        partner.addHeader(AdmissionControlInterceptor.API_KEY_HEADER, "partner");
+        Assertions.assertTrue(interceptor.preHandle(partner, new MockHttpServletResponse(), null));
+    }
+
+    /**
+     * Fills the limit, then completes every request with the same latency.
+     */
+    private static void saturate(GradientConcurrencyLimiter limiter, long rttNanos, boolean cached) {
+        int admitted = 0;
+        while (limiter.tryAcquire(1.0)) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            limiter.release(rttNanos, cached);
+        }
+    }
+
+    private static MockHttpServletRequest request(String symbols) {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/exchangeRates/USD");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("base", "USD"));
+        request.setParameter("symbols", symbols);
+        return request;
+    }
+
+    private static MockHttpServletRequest conversion(String target) {
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/convert");
+        request.setParameter("base", "USD");
+        request.setParameter("target", target);
+        return request;
+    }
+}
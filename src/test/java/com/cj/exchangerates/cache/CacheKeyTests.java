@@ -0,0 +1,48 @@
+package com.cj.exchangerates.cache;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CacheKeyTests {
+
+    @Test
+    void testOrderAndCaseInsensitive() {
+        final CacheKey first = CacheKey.of("usd", List.of("GBP", "eur", "JPY"));
+        final CacheKey second = CacheKey.of("USD", List.of("JPY", "GBP", "EUR"));
+        Assertions.assertEquals(first, second);
+        Assertions.assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    void testDuplicateSymbols() {
+        final CacheKey key = CacheKey.of("USD", List.of("EUR", "EUR", "GBP"));
+        Assertions.assertEquals(CacheKey.of("USD", List.of("GBP", "EUR")), key);
+        Assertions.assertEquals(List.of("EUR", "GBP"), key.getSymbols());
+    }
+
+    @Test
+    void testDifferentKeys() {
+        Assertions.assertNotEquals(CacheKey.of("USD", List.of("EUR")), CacheKey.of("EUR", List.of("USD")));
+        Assertions.assertNotEquals(CacheKey.of("USD", List.of("EUR")), CacheKey.of("USD", List.of("EUR", "GBP")));
+    }
+
+    @Test
+    void testToString() {
+        Assertions.assertEquals("USD|EUR,GBP,JPY", CacheKey.of("usd", List.of("JPY", "EUR", "GBP")).toString());
+    }
+
+    @Test
+    void testEncodeRoundTrip() {
+        Assertions.assertEquals("ZAR", CacheKey.decode(CacheKey.encode("zar")));
+        Assertions.assertEquals("AAA", CacheKey.decode(CacheKey.encode("AAA")));
+    }
+
+    @Test
+    void testInvalidCodes() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheKey.of("US", List.of("EUR")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheKey.of("USD", List.of("EU1")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CacheKey.of("USD", List.of("EURO")));
+    }
+}
@@ -0,0 +1,92 @@
+package com.cj.exchangerates.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class NegativeCacheTests {
+
+    private MutableClock _clock;
+
+    private NegativeCache _cache;
+
+    @BeforeEach
+    void init() {
+        _clock = new MutableClock();
+        _cache = new NegativeCache(Duration.ofMinutes(10), Duration.ofSeconds(30), _clock);
+    }
+
+    @Test
+    void testUnknownSymbolExpires() {
+        Assertions.assertFalse(_cache.isUnknown("XAU"));
+
+        _cache.markUnknown("xau");
+        Assertions.assertTrue(_cache.isUnknown("XAU"));
+
+        _clock.advance(Duration.ofMinutes(10));
+        Assertions.assertFalse(_cache.isUnknown("XAU"));
+    }
+
+    @Test
+    void testFailingPairIsPerProviderAndBase() {
+        _cache.markFailing("frankfurter", "EUR");
+
+        Assertions.assertTrue(_cache.isFailing("frankfurter", "eur"));
+        Assertions.assertFalse(_cache.isFailing("fawaz", "EUR"));
+        Assertions.assertFalse(_cache.isFailing("frankfurter", "USD"));
+
+        _clock.advance(Duration.ofSeconds(30));
+        Assertions.assertFalse(_cache.isFailing("frankfurter", "EUR"));
+    }
+
+    @Test
+    void testAnyFailingForBase() {
+        Assertions.assertFalse(_cache.isAnyFailing("EUR"));
+
+        _cache.markFailing("fawaz", "EUR");
+        Assertions.assertTrue(_cache.isAnyFailing("eur"));
+        Assertions.assertFalse(_cache.isAnyFailing("USD"));
+
+        _clock.advance(Duration.ofSeconds(30));
+        Assertions.assertFalse(_cache.isAnyFailing("EUR"));
+    }
+
+    @Test
+    void testInvalidCodesIgnored() {
+        _cache.markUnknown("EURO");
+        _cache.markFailing("fawaz", null);
+
+        Assertions.assertFalse(_cache.isUnknown("EURO"));
+        Assertions.assertFalse(_cache.isFailing("fawaz", null));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-09T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
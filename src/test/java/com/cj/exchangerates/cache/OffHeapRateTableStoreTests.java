@@ -0,0 +1,74 @@
+package com.cj.exchangerates.cache;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+
+public class OffHeapRateTableStoreTests {
+
+    private final OffHeapRateTableStore _store = new OffHeapRateTableStore(new CurrencyIndex(16));
+
+    @Test
+    void testPutAndGet() {
+        _store.put("EUR", Map.of("USD", 1.1, "NZD", 1.6), LocalDate.of(2025, 1, 9));
+
+        final ExchangeRateResponse response = _store.get("eur", List.of("usd", "NZD"));
+        Assertions.assertEquals("EUR", response.getBase());
+        Assertions.assertEquals(Map.of("USD", 1.1, "NZD", 1.6), response.getRates());
+        Assertions.assertEquals(LocalDate.of(2025, 1, 9), response.getDate());
+        Assertions.assertTrue(_store.contains("EUR", List.of("USD")));
+        Assertions.assertEquals(1, _store.size());
+    }
+
+    @Test
+    void testMissingSymbolsAndBases() {
+        _store.put("EUR", Map.of("USD", 1.1), null);
+        Assertions.assertNull(_store.get("EUR", List.of("USD", "JPY")));
+        Assertions.assertNull(_store.get("GBP", List.of("USD")));
+        Assertions.assertNull(_store.get("EUR", List.of("US1")));
+        Assertions.assertFalse(_store.contains("EUR", List.of("JPY")));
+        Assertions.assertNull(_store.get("EUR", List.of("USD")).getDate());
+    }
+
+    @Test
+    void testPutReplacesTable() {
+        _store.put("EUR", Map.of("USD", 1.1, "NZD", 1.6), null);
+        _store.put("EUR", Map.of("USD", 1.2), null);
+        Assertions.assertEquals(1.2, _store.get("EUR", List.of("USD")).getRates().get("USD"), 0.0001);
+        Assertions.assertFalse(_store.contains("EUR", List.of("NZD")));
+    }
+
+    @Test
+    void testCapacityExceeded() {
+        final OffHeapRateTableStore store = new OffHeapRateTableStore(new CurrencyIndex(2));
+        // Registers USD first, whatever order the maps iterate in.
+        store.put("EUR", Map.of("USD", 1.1), null);
+        store.put("EUR", Map.of("USD", 1.1, "NZD", 1.6), null);
+        Assertions.assertNotNull(store.get("EUR", List.of("USD")));
+        Assertions.assertNull(store.get("EUR", List.of("NZD")));
+    }
+
+    @Test
+    void testReadsDuringWritesAreConsistent() throws Exception {
+        _store.put("EUR", Map.of("USD", 1.0, "NZD", 1.0), null);
+
+        // Every table written has equal rates, so a torn read would show different ones.
+        final CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                _store.put("EUR", Map.of("USD", (double) i, "NZD", (double) i), null);
+            }
+        });
+        while (!writer.isDone()) {
+            final Map<String, Double> rates = _store.get("EUR", List.of("USD", "NZD")).getRates();
+            Assertions.assertEquals(rates.get("USD"), rates.get("NZD"));
+        }
+        writer.get(5, TimeUnit.SECONDS);
+    }
+}
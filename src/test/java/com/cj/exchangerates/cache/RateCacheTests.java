@@ -0,0 +1,292 @@
+package com.cj.exchangerates.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+import com.cj.exchangerates.tenant.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class RateCacheTests {
+
+    private static final CacheKey KEY = CacheKey.of("EUR", List.of("USD", "NZD"));
+
+    private static final Instant FUTURE = Instant.now().plusSeconds(3600);
+
+    private InMemoryRemoteCacheStore _store;
+
+    private RateCache _replicaA;
+
+    private RateCache _replicaB;
+
+    @BeforeEach
+    void init() {
+        // Two replicas sharing one remote store.
+        final ICacheValueSerializer serializer = new JacksonCacheValueSerializer(new ObjectMapper().findAndRegisterModules());
+        _store = new InMemoryRemoteCacheStore();
+        _replicaA = new RateCache(_store, serializer);
+        _replicaB = new RateCache(_store, serializer);
+    }
+
+    @AfterEach
+    void clearTenant() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void testLocalOnly() {
+        final RateCache cache = new RateCache();
+        Assertions.assertNull(cache.get(KEY));
+        final ExchangeRateResponse response = new ExchangeRateResponse("EUR", Map.of("USD", 1.1));
+        cache.put(KEY, response, FUTURE);
+        Assertions.assertSame(response, cache.get(KEY));
+    }
+
+    @Test
+    void testWriteThroughSharedAcrossReplicas() {
+        _replicaA.put(KEY, new ExchangeRateResponse("EUR", Map.of("USD", 1.1, "NZD", 1.6)), FUTURE);
+
+        final ExchangeRateResponse shared = _replicaB.get(KEY);
+        Assertions.assertNotNull(shared);
+        Assertions.assertEquals("EUR", shared.getBase());
+        Assertions.assertEquals(1.1, shared.getRates().get("USD"), 0.0001);
+    }
+
+    @Test
+    void testInvalidationRefreshesNearCache() {
+        _replicaA.put(KEY, new ExchangeRateResponse("EUR", Map.of("USD", 1.1)), FUTURE);
+        // Replica B now holds a local copy.
+        Assertions.assertEquals(1.1, _replicaB.get(KEY).getRates().get("USD"), 0.0001);
+
+        _replicaA.put(KEY, new ExchangeRateResponse("EUR", Map.of("USD", 1.2)), FUTURE);
+        Assertions.assertEquals(1.2, _replicaB.get(KEY).getRates().get("USD"), 0.0001);
+    }
+
+    @Test
+    void testEvictBaseAcrossReplicas() {
+        final CacheKey other = CacheKey.of("EUR", List.of("GBP"));
+        final CacheKey unrelated = CacheKey.of("USD", List.of("EUR"));
+        _replicaA.put(KEY, new ExchangeRateResponse("EUR", Map.of("USD", 1.1, "NZD", 1.6)), FUTURE);
+        _replicaA.put(other, new ExchangeRateResponse("EUR", Map.of("GBP", 0.86)), FUTURE);
+        _replicaA.put(unrelated, new ExchangeRateResponse("USD", Map.of("EUR", 0.9)), FUTURE);
+        Assertions.assertNotNull(_replicaB.get(KEY));
+
+        _replicaB.evictBase("eur");
+
+        // Gone from both replicas' local tiers and from the shared tier.
+        Assertions.assertFalse(_replicaA.containsLocal(KEY));
+        Assertions.assertFalse(_replicaB.containsLocal(KEY));
+        Assertions.assertNull(_replicaA.get(other));
+        Assertions.assertNull(_replicaB.get(KEY));
+        Assertions.assertNotNull(_replicaB.get(unrelated));
+        Assertions.assertTrue(_replicaA.containsLocal(unrelated));
+        Assertions.assertEquals(0, statsByTenant(_replicaA).get("anon****").evictions());
+        Assertions.assertEquals(1, statsByTenant(_replicaA).get("anon****").entries());
+    }
+
+    @Test
+    void testRemoteFailureFallsBackToLocal() {
+        final IRemoteCacheStore failing = new InMemoryRemoteCacheStore() {
+            @Override
+            public byte[] get(String key) {
+                throw new IllegalStateException("connection refused");
+            }
+
+            @Override
+            public void put(String key, byte[] value, Duration ttl) {
+                throw new IllegalStateException("connection refused");
+            }
+        };
+        final RateCache cache = new RateCache(failing, new JacksonCacheValueSerializer(new ObjectMapper()));
+
+        Assertions.assertNull(cache.get(KEY));
+        final ExchangeRateResponse response = new ExchangeRateResponse("EUR", Map.of("USD", 1.1));
+        cache.put(KEY, response, FUTURE);
+        Assertions.assertSame(response, cache.get(KEY));
+    }
+
+    @Test
+    void testExpiredEntriesAreMisses() {
+        _replicaA.put(KEY, new ExchangeRateResponse("EUR", Map.of("USD", 1.1)), Instant.now().minusSeconds(1));
+        Assertions.assertNull(_replicaA.get(KEY));
+        Assertions.assertFalse(_replicaA.containsLocal(KEY));
+        Assertions.assertNull(_replicaB.get(KEY));
+    }
+
+    @Test
+    void testSharedEntriesKeepExpiry() {
+        _replicaA.put(KEY, new ExchangeRateResponse("EUR", Map.of("USD", 1.1)), FUTURE);
+        Assertions.assertNotNull(_replicaB.get(KEY));
+        Assertions.assertTrue(_replicaB.containsLocal(KEY));
+    }
+
+    @Test
+    void testTenantQuotaEvictsOwnEntriesOnly() {
+        final RateCache cache = new RateCache();
+        // Room for three single-rate responses per tenant.
+        ReflectionTestUtils.setField(cache, "tenantQuota", DataSize.ofBytes(1024));
+        ReflectionTestUtils.setField(cache, "tenantWeights", "quiet-tenant:1,noisy-tenant:1");
+        cache.init();
+
+        TenantContext.set("quiet-tenant");
+        cache.put(KEY, new ExchangeRateResponse("EUR", Map.of("USD", 1.1)), FUTURE);
+
+        TenantContext.set("noisy-tenant");
+        for (String base : List.of("USD", "GBP", "JPY")) {
+            cache.put(CacheKey.of(base, List.of("NZD")), new ExchangeRateResponse(base, Map.of("NZD", 1.5)), FUTURE);
+        }
+        // USD is used again, so GBP is evicted first.
+        Assertions.assertNotNull(cache.get(CacheKey.of("USD", List.of("NZD"))));
+        cache.put(CacheKey.of("CHF", List.of("NZD")), new ExchangeRateResponse("CHF", Map.of("NZD", 1.9)), FUTURE);
+
+        Assertions.assertNull(cache.get(CacheKey.of("GBP", List.of("NZD"))));
+        Assertions.assertNotNull(cache.get(CacheKey.of("USD", List.of("NZD"))));
+        Assertions.assertFalse(cache.containsLocal(CacheKey.of("GBP", List.of("NZD"))));
+
+        TenantContext.set("quiet-tenant");
+        Assertions.assertNotNull(cache.get(KEY));
+
+        final Map<String, TenantCacheStats> stats = statsByTenant(cache);
+        Assertions.assertEquals(1, stats.get("nois****").evictions());
+        Assertions.assertEquals(3, stats.get("nois****").entries());
+        Assertions.assertEquals(0, stats.get("quie****").evictions());
+        Assertions.assertTrue(stats.get("nois****").bytes() <= 1024);
+    }
+
+    @Test
+    void testTenantsShareIdenticalEntries() {
+        final RateCache cache = new RateCache();
+        ReflectionTestUtils.setField(cache, "tenantQuota", DataSize.ofBytes(1024));
+        ReflectionTestUtils.setField(cache, "tenantWeights", "alpha-tenant:1,bravo-tenant:1");
+        cache.init();
+        final ExchangeRateResponse response = new ExchangeRateResponse("EUR", Map.of("USD", 1.1));
+
+        TenantContext.set("alpha-tenant");
+        cache.put(KEY, response, FUTURE);
+        TenantContext.set("bravo-tenant");
+        Assertions.assertSame(response, cache.get(KEY));
+
+        // Tenant two evicting its hold leaves tenant one's in place.
+        for (String base : List.of("USD", "GBP", "JPY")) {
+            cache.put(CacheKey.of(base, List.of("NZD")), new ExchangeRateResponse(base, Map.of("NZD", 1.5)), FUTURE);
+        }
+        Assertions.assertTrue(cache.containsLocal(KEY));
+        TenantContext.set("alpha-tenant");
+        Assertions.assertSame(response, cache.get(KEY));
+
+        final Map<String, TenantCacheStats> stats = statsByTenant(cache);
+        Assertions.assertEquals(1, stats.get("alph****").entries());
+        Assertions.assertEquals(3, stats.get("brav****").entries());
+        Assertions.assertEquals(1, stats.get("brav****").evictions());
+    }
+
+    @Test
+    void testTenantWeightsAndCounts() {
+        final RateCache cache = new RateCache();
+        ReflectionTestUtils.setField(cache, "tenantWeights", "partner-key:4, other-key:2");
+        cache.init();
+
+        TenantContext.set("partner-key");
+        Assertions.assertNull(cache.get(KEY));
+        cache.put(KEY, new ExchangeRateResponse("EUR", Map.of("USD", 1.1)), FUTURE);
+        // A second look after claiming the fetch is not counted again.
+        Assertions.assertNotNull(cache.recheck(KEY));
+        Assertions.assertNotNull(cache.get(KEY));
+        TenantContext.clear();
+        Assertions.assertNotNull(cache.get(KEY));
+
+        final Map<String, TenantCacheStats> stats = statsByTenant(cache);
+        Assertions.assertEquals(4, stats.get("part****").weight());
+        Assertions.assertEquals(DataSize.ofMegabytes(64).toBytes(), stats.get("part****").quotaBytes());
+        Assertions.assertEquals(1, stats.get("part****").hits());
+        Assertions.assertEquals(1, stats.get("part****").misses());
+        Assertions.assertEquals(1, stats.get("anon****").hits());
+        Assertions.assertEquals(0, stats.get("anon****").misses());
+    }
+
+    @Test
+    void testUnknownTenantsShareAnonymousPartition() {
+        final RateCache cache = new RateCache();
+        ReflectionTestUtils.setField(cache, "tenantWeights", "partner-key:4");
+        cache.init();
+
+        for (String tenant : List.of("made-up-1", "made-up-2", "made-up-3")) {
+            TenantContext.set(tenant);
+            Assertions.assertNull(cache.get(KEY));
+        }
+
+        final Map<String, TenantCacheStats> stats = statsByTenant(cache);
+        Assertions.assertEquals(Set.of("anon****"), stats.keySet());
+        Assertions.assertEquals(3, stats.get("anon****").misses());
+        Assertions.assertEquals(1, stats.get("anon****").weight());
+    }
+
+    @Test
+    void testLocalTierCappedAcrossTenants() {
+        final RateCache cache = new RateCache();
+        ReflectionTestUtils.setField(cache, "tenantWeights", "alpha-tenant:1,bravo-tenant:1");
+        cache.init();
+        // Room for four single-rate responses in all.
+        ReflectionTestUtils.setField(cache, "maxSize", DataSize.ofBytes(1100));
+
+        TenantContext.set("alpha-tenant");
+        cache.put(KEY, new ExchangeRateResponse("EUR", Map.of("USD", 1.1)), FUTURE);
+        TenantContext.set("bravo-tenant");
+        for (String base : List.of("USD", "GBP", "JPY", "CHF")) {
+            cache.put(CacheKey.of(base, List.of("NZD")), new ExchangeRateResponse(base, Map.of("NZD", 1.5)), FUTURE);
+        }
+
+        // The tenant holding the most evicts, within its own quota.
+        Assertions.assertTrue(cache.localBytes() <= 1100);
+        Assertions.assertTrue(cache.containsLocal(KEY));
+        Assertions.assertFalse(cache.containsLocal(CacheKey.of("USD", List.of("NZD"))));
+        final Map<String, TenantCacheStats> stats = statsByTenant(cache);
+        Assertions.assertEquals(1, stats.get("brav****").evictions());
+        Assertions.assertEquals(0, stats.get("alph****").evictions());
+    }
+
+    @Test
+    void testMalformedTenantWeightsRejected() {
+        Assertions.assertEquals(Map.of("partner-key", 4, "other-key", 2), RateCache.parseWeights(" partner-key:4, other-key:2,"));
+        Assertions.assertEquals(Map.of(), RateCache.parseWeights(""));
+        for (String weights : List.of("partner-key", "partner-key:four", "partner-key:0", ":2")) {
+            final RateCache cache = new RateCache();
+            ReflectionTestUtils.setField(cache, "tenantWeights", weights);
+            Assertions.assertThrows(IllegalArgumentException.class, cache::init, weights);
+        }
+    }
+
+    @Test
+    void testPurgeKeepsPartitions() {
+        final RateCache cache = new RateCache();
+        ReflectionTestUtils.setField(cache, "tenantWeights", "partner-key:1");
+        cache.init();
+
+        TenantContext.set("partner-key");
+        cache.put(KEY, new ExchangeRateResponse("EUR", Map.of("USD", 1.1)), Instant.now().minusSeconds(1));
+        cache.purge();
+        Assertions.assertEquals(0, cache.localBytes());
+
+        // The emptied partition is still the one that is charged.
+        cache.put(KEY, new ExchangeRateResponse("EUR", Map.of("USD", 1.1)), FUTURE);
+        Assertions.assertEquals(cache.localBytes(), statsByTenant(cache).get("part****").bytes());
+        Assertions.assertTrue(cache.localBytes() > 0);
+    }
+
+    private static Map<String, TenantCacheStats> statsByTenant(RateCache cache) {
+        final Map<String, TenantCacheStats> stats = new HashMap<>();
+        cache.tenantStats().forEach(s -> stats.put(s.tenant(), s));
+        return stats;
+    }
+}
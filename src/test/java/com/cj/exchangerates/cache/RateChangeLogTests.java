@@ -0,0 +1,97 @@
+package com.cj.exchangerates.cache;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.cj.exchangerates.model.RateChangesResponse;
+
+public class RateChangeLogTests {
+
+    private static final Set<String> ALL = Set.of("USD", "GBP", "JPY", "RUB");
+
+    private final RateChangeLog _log = new RateChangeLog();
+
+    @Test
+    void testFirstSyncIsFull() {
+        final long version = _log.record("eur", Map.of("USD", 1.03, "GBP", 0.83), LocalDate.of(2025, 1, 9), ALL);
+
+        final RateChangesResponse changes = _log.changesSince("EUR", 0);
+        Assertions.assertTrue(changes.isFull());
+        Assertions.assertEquals(version, changes.getVersion());
+        Assertions.assertEquals(Map.of("USD", 1.03, "GBP", 0.83), changes.getChanges());
+        Assertions.assertNull(_log.changesSince("USD", 0));
+    }
+
+    @Test
+    void testOnlyMovedSymbolsAreReturned() {
+        final long first = _log.record("EUR", Map.of("USD", 1.03, "GBP", 0.83, "JPY", 160.0), null, ALL);
+        // GBP moves by less than the epsilon, USD by more
+        final long second = _log.record("EUR", Map.of("USD", 1.04, "GBP", 0.8300000001, "JPY", 160.0), null, ALL);
+
+        Assertions.assertTrue(second > first);
+        final RateChangesResponse changes = _log.changesSince("EUR", first);
+        Assertions.assertFalse(changes.isFull());
+        Assertions.assertEquals(Map.of("USD", 1.04), changes.getChanges());
+        Assertions.assertEquals(List.of(), changes.getRemoved());
+
+        // Nothing after the latest version
+        Assertions.assertTrue(_log.changesSince("EUR", second).getChanges().isEmpty());
+    }
+
+    @Test
+    void testUnchangedRefreshKeepsVersion() {
+        final long first = _log.record("EUR", Map.of("USD", 1.03), null, ALL);
+        Assertions.assertEquals(first, _log.record("EUR", Map.of("USD", 1.03), null, ALL));
+    }
+
+    @Test
+    void testRemovedSymbols() {
+        final long first = _log.record("EUR", Map.of("USD", 1.03, "RUB", 100.0), null, ALL);
+        // A partial refresh does not remove anything
+        _log.record("EUR", Map.of("USD", 1.03), null, Set.of());
+        Assertions.assertTrue(_log.changesSince("EUR", first).getRemoved().isEmpty());
+
+        _log.record("EUR", Map.of("USD", 1.03), null, ALL);
+        final RateChangesResponse changes = _log.changesSince("EUR", first);
+        Assertions.assertEquals(List.of("RUB"), changes.getRemoved());
+        Assertions.assertTrue(changes.getChanges().isEmpty());
+        Assertions.assertFalse(_log.changesSince("EUR", 0).getChanges().containsKey("RUB"));
+    }
+
+    @Test
+    void testSymbolsOutsideScopeKept() {
+        final long first = _log.record("EUR", Map.of("USD", 1.03), null, Set.of("USD"));
+        // Added by a cache miss, outside the refreshed scope
+        _log.record("EUR", Map.of("NZD", 1.8), null, Set.of());
+        _log.record("EUR", Map.of("USD", 1.03), null, Set.of("USD"));
+
+        final RateChangesResponse changes = _log.changesSince("EUR", first);
+        Assertions.assertEquals(Map.of("NZD", 1.8), changes.getChanges());
+        Assertions.assertEquals(List.of(), changes.getRemoved());
+    }
+
+    @Test
+    void testUnknownVersionIsFull() {
+        final long version = _log.record("EUR", Map.of("USD", 1.03), null, ALL);
+        Assertions.assertTrue(_log.changesSince("EUR", version + 1000).isFull());
+        Assertions.assertTrue(version < 1L << 53);
+    }
+
+    @Test
+    void testOtherReplicaVersionIsFull() {
+        final RateChangeLog other = new RateChangeLog();
+        final long version = other.record("EUR", Map.of("USD", 1.03), null, ALL);
+        _log.record("EUR", Map.of("USD", 1.03), null, ALL);
+        _log.record("EUR", Map.of("USD", 1.04), null, ALL);
+
+        // Even where the sequence would line up, another replica's version is not comparable
+        final RateChangesResponse changes = _log.changesSince("EUR", version);
+        Assertions.assertTrue(changes.isFull());
+        Assertions.assertEquals(Map.of("USD", 1.04), changes.getChanges());
+    }
+}
@@ -0,0 +1,60 @@
+package com.cj.exchangerates.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+
+public class RateExpiryPolicyTests {
+
+    private final RateExpiryPolicy _policy = new RateExpiryPolicy();
+
+    @Test
+    void testCurrentDataLastsUntilNextPublication() {
+        // Thursday 10:00 UTC; ECB published Wednesday's rates at 16:00 CET.
+        final Instant now = Instant.parse("2025-01-09T10:00:00Z");
+        Assertions.assertEquals(Instant.parse("2025-01-09T15:05:00Z"),
+                _policy.expiresAt("frankfurter", LocalDate.of(2025, 1, 8), now));
+        Assertions.assertEquals(Instant.parse("2025-01-10T00:05:00Z"),
+                _policy.expiresAt("fawaz", LocalDate.of(2025, 1, 9), now));
+    }
+
+    @Test
+    void testWeekendSkipped() {
+        // Friday evening: ECB next publishes on Monday.
+        final Instant now = Instant.parse("2025-01-10T18:00:00Z");
+        Assertions.assertEquals(Instant.parse("2025-01-13T15:05:00Z"),
+                _policy.expiresAt("frankfurter", LocalDate.of(2025, 1, 10), now));
+    }
+
+    @Test
+    void testStaleDataRetriedSoon() {
+        // Just after the ECB publication, the provider still serves the previous day.
+        final Instant now = Instant.parse("2025-01-09T15:30:00Z");
+        Assertions.assertEquals(now.plus(Duration.ofMinutes(10)),
+                _policy.expiresAt("frankfurter", LocalDate.of(2025, 1, 8), now));
+
+        // Hours later it is taken as a skipped publication.
+        final Instant later = Instant.parse("2025-01-09T20:00:00Z");
+        Assertions.assertEquals(Instant.parse("2025-01-10T15:05:00Z"),
+                _policy.expiresAt("frankfurter", LocalDate.of(2025, 1, 8), later));
+    }
+
+    @Test
+    void testEarliestProviderWins() {
+        final Instant now = Instant.parse("2025-01-09T10:00:00Z");
+        final Instant expiry = _policy.expiresAt(Map.of(
+                "frankfurter", new ExchangeRateResponse("EUR", Map.of("USD", 1.0), LocalDate.of(2025, 1, 8)),
+                "fawaz", new ExchangeRateResponse("EUR", Map.of("USD", 1.0), LocalDate.of(2025, 1, 9))), now);
+        Assertions.assertEquals(Instant.parse("2025-01-09T15:05:00Z"), expiry);
+
+        // Unknown providers and missing dates fall back to the default TTL.
+        Assertions.assertEquals(now.plus(Duration.ofHours(1)), _policy.expiresAt("other", LocalDate.of(2025, 1, 9), now));
+        Assertions.assertEquals(now.plus(Duration.ofMinutes(10)), _policy.expiresAt(Map.of(), now));
+    }
+}
@@ -0,0 +1,62 @@
+package com.cj.exchangerates.cache;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RateMatrixTests {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 1, 9);
+
+    @Test
+    void testCrossRates() {
+        final RateMatrix matrix = new RateMatrix();
+        Assertions.assertNull(matrix.snapshot());
+
+        matrix.rebuild(Map.of("USD", 1.25, "GBP", 0.8), DATE, fresh());
+        Assertions.assertEquals(1.25 / 0.8, matrix.rate("GBP", "USD"), 1e-12);
+        Assertions.assertEquals(3, matrix.snapshot().getCurrencies().size());
+    }
+
+    @Test
+    void testVersionDerivedFromContent() {
+        final RateMatrix replicaA = new RateMatrix();
+        final RateMatrix replicaB = new RateMatrix();
+
+        replicaA.rebuild(Map.of("USD", 1.08, "GBP", 0.85), DATE, fresh());
+        replicaA.rebuild(Map.of("USD", 1.08, "GBP", 0.85), DATE, fresh());
+        replicaB.rebuild(Map.of("GBP", 0.85, "USD", 1.08), DATE, fresh());
+        // Rebuilds and replicas with the same data agree.
+        final long version = replicaA.snapshot().getVersion();
+        Assertions.assertEquals(version, replicaB.snapshot().getVersion());
+        Assertions.assertTrue(version >= 0 && version < 1L << 53);
+
+        replicaB.rebuild(Map.of("USD", 1.0801, "GBP", 0.85), DATE, fresh());
+        Assertions.assertNotEquals(version, replicaB.snapshot().getVersion());
+
+        replicaB.rebuild(Map.of("USD", 1.08, "GBP", 0.85), DATE.plusDays(1), fresh());
+        Assertions.assertNotEquals(version, replicaB.snapshot().getVersion());
+    }
+
+    @Test
+    void testExpiredMatrixNotServed() {
+        final RateMatrix matrix = new RateMatrix();
+        matrix.rebuild(Map.of("USD", 1.25, "GBP", 0.8), DATE, Instant.now().minusSeconds(1));
+
+        Assertions.assertTrue(Double.isNaN(matrix.rate("GBP", "USD")));
+        Assertions.assertNull(matrix.lookup("GBP", List.of("USD")));
+        Assertions.assertFalse(matrix.covers("GBP", List.of("USD")));
+        Assertions.assertNull(matrix.snapshot());
+
+        matrix.rebuild(Map.of("USD", 1.25, "GBP", 0.8), DATE, fresh());
+        Assertions.assertTrue(matrix.covers("GBP", List.of("USD")));
+    }
+
+    private static Instant fresh() {
+        return Instant.now().plusSeconds(3600);
+    }
+}
@@ -0,0 +1,140 @@
+package com.cj.exchangerates.cluster;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+import com.cj.exchangerates.model.ReplicatedRates;
+import com.cj.exchangerates.service.IApiService;
+
+public class ClusterApiServiceTests {
+
+    private static final String SELF = "http://node-a:8080";
+    private static final String PEER = "http://node-b:8080";
+    private static final String OTHER_PEER = "http://node-c:8080";
+
+    private static final List<String> SYMBOLS = List.of("USD", "GBP");
+
+    @InjectMocks
+    private ClusterApiService _service;
+
+    @Mock
+    private IApiService _upstream;
+
+    @Mock
+    private ClusterMembership _membership;
+
+    @Mock
+    private PeerClient _peerClient;
+
+    private Map<String, ExchangeRateResponse> _rates;
+
+    @BeforeEach
+    void init() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(_service, "upstreamThreadFactory", (ThreadFactory) Thread::new);
+        _service.start();
+        when(_membership.getSelf()).thenReturn(SELF);
+        _rates = Map.of("ApiA", new ExchangeRateResponse("EUR", Map.of("USD", 1.08, "GBP", 0.85)));
+    }
+
+    @AfterEach
+    void stop() {
+        _service.stop();
+    }
+
+    @Test
+    void testLeaderFetchesAndReplicates() {
+        when(_membership.leaderFor("EUR")).thenReturn(SELF);
+        when(_membership.livePeers()).thenReturn(List.of(PEER));
+        when(_upstream.fetchAllRates("EUR", SYMBOLS)).thenReturn(_rates);
+
+        Assertions.assertSame(_rates, _service.fetchAllRates("EUR", SYMBOLS));
+        verify(_peerClient, timeout(1_000)).replicate(eq(PEER), any(ReplicatedRates.class));
+        verify(_peerClient, never()).fetch(anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void testFollowerFetchesThroughLeader() {
+        when(_membership.leaderFor("EUR")).thenReturn(PEER);
+        when(_peerClient.fetch(PEER, SELF, "EUR", SYMBOLS)).thenReturn(new ReplicatedRates(PEER, "EUR", SYMBOLS, _rates));
+
+        Assertions.assertEquals(_rates, _service.fetchAllRates("EUR", SYMBOLS));
+        verify(_upstream, never()).fetchAllRates(anyString(), any());
+        verify(_membership, never()).markDown(anyString());
+    }
+
+    @Test
+    void testUnreachableLeaderMarkedDown() {
+        when(_membership.livePeers()).thenReturn(List.of(PEER));
+        when(_membership.leaderFor("EUR")).thenReturn(PEER, SELF);
+        when(_peerClient.fetch(PEER, SELF, "EUR", SYMBOLS)).thenThrow(new ResourceAccessException("Connection refused"));
+        when(_upstream.fetchAllRates("EUR", SYMBOLS)).thenReturn(_rates);
+
+        Assertions.assertSame(_rates, _service.fetchAllRates("EUR", SYMBOLS));
+        verify(_membership).markDown(PEER);
+    }
+
+    @Test
+    void testFailoverTriesEachLeaderOnce() {
+        when(_membership.livePeers()).thenReturn(List.of(PEER, OTHER_PEER));
+        // Leadership never settles on this node, as when peers keep being marked up.
+        when(_membership.leaderFor("EUR")).thenReturn(PEER, OTHER_PEER, PEER);
+        when(_peerClient.fetch(anyString(), eq(SELF), eq("EUR"), eq(SYMBOLS)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+        when(_upstream.fetchAllRates("EUR", SYMBOLS)).thenReturn(_rates);
+
+        Assertions.assertSame(_rates, _service.fetchAllRates("EUR", SYMBOLS));
+        verify(_membership, times(2)).markDown(PEER);
+        verify(_membership).markDown(OTHER_PEER);
+        // Fetched directly, not as leader, so nothing is replicated.
+        verify(_peerClient, never()).replicate(anyString(), any());
+    }
+
+    @Test
+    void testFailingLeaderStaysUp() {
+        when(_membership.leaderFor("EUR")).thenReturn(PEER);
+        when(_peerClient.fetch(PEER, SELF, "EUR", SYMBOLS)).thenThrow(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
+        when(_upstream.fetchAllRates("EUR", SYMBOLS)).thenReturn(_rates);
+
+        Assertions.assertSame(_rates, _service.fetchAllRates("EUR", SYMBOLS));
+        verify(_membership, never()).markDown(anyString());
+        // Fetched directly, not as leader, so nothing is replicated.
+        verify(_peerClient, never()).replicate(anyString(), any());
+    }
+
+    @Test
+    void testUnreachablePeerMarkedDownOnReplication() {
+        when(_membership.leaderFor("EUR")).thenReturn(SELF);
+        when(_membership.livePeers()).thenReturn(List.of(PEER));
+        when(_upstream.fetchAllRates("EUR", SYMBOLS)).thenReturn(_rates);
+        doThrow(new ResourceAccessException("Read timed out"))
+                .when(_peerClient).replicate(eq(PEER), any(ReplicatedRates.class));
+
+        _service.fetchAllRates("EUR", SYMBOLS);
+        verify(_membership, timeout(1_000)).markDown(PEER);
+    }
+}
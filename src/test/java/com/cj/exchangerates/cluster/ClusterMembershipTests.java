@@ -0,0 +1,79 @@
+package com.cj.exchangerates.cluster;
+
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ClusterMembershipTests {
+
+    private static final String NODE_A = "http://node-a:8080";
+    private static final String NODE_B = "http://node-b:8080";
+    private static final String NODE_C = "http://node-c:8080";
+
+    private static final List<String> BASES = List.of("USD", "EUR", "GBP", "JPY", "AUD", "CAD", "CHF", "NZD", "SEK", "NOK");
+
+    private ClusterMembership _nodeA;
+
+    private ClusterMembership _nodeB;
+
+    @BeforeEach
+    void init() {
+        _nodeA = new ClusterMembership(NODE_A, List.of(NODE_A, NODE_B, NODE_C), Duration.ofMinutes(1), mock(PeerClient.class));
+        _nodeB = new ClusterMembership(NODE_B, List.of(NODE_A, NODE_B, NODE_C), Duration.ofMinutes(1), mock(PeerClient.class));
+    }
+
+    @Test
+    void testLeaderOfItselfWhenAlone() {
+        for (String base : BASES) {
+            Assertions.assertTrue(_nodeA.isLeader(base));
+        }
+    }
+
+    @Test
+    void testNodesAgreeOnLeader() {
+        _nodeA.markUp(NODE_B);
+        _nodeA.markUp(NODE_C);
+        _nodeB.markUp(NODE_A);
+        _nodeB.markUp(NODE_C);
+
+        final Set<String> leaders = new HashSet<>();
+        for (String base : BASES) {
+            Assertions.assertEquals(_nodeA.leaderFor(base), _nodeB.leaderFor(base));
+            Assertions.assertEquals(_nodeA.leaderFor(base), _nodeA.leaderFor(base.toLowerCase()));
+            leaders.add(_nodeA.leaderFor(base));
+        }
+        // Leadership is spread over more than one node.
+        Assertions.assertTrue(leaders.size() > 1);
+    }
+
+    @Test
+    void testFailover() {
+        _nodeA.markUp(NODE_B);
+        _nodeA.markUp(NODE_C);
+
+        for (String base : BASES) {
+            final String leader = _nodeA.leaderFor(base);
+            if (leader.equals(NODE_A)) {
+                continue;
+            }
+            _nodeA.markDown(leader);
+            final String next = _nodeA.leaderFor(base);
+            Assertions.assertNotEquals(leader, next);
+            _nodeA.markUp(leader);
+            Assertions.assertEquals(leader, _nodeA.leaderFor(base));
+        }
+    }
+
+    @Test
+    void testUnknownPeerIgnored() {
+        _nodeA.markUp("http://stranger:8080");
+        Assertions.assertTrue(_nodeA.livePeers().isEmpty());
+    }
+}
@@ -0,0 +1,85 @@
+package com.cj.exchangerates.compression;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.cj.exchangerates.compression.ResponseCompressor.Coding;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ResponseCompressorTests {
+
+    private SimpleMeterRegistry _meterRegistry;
+
+    private ResponseCompressor _compressor;
+
+    @BeforeEach
+    void init() {
+        _meterRegistry = new SimpleMeterRegistry();
+        _compressor = new ResponseCompressor(6, 5, 2, _meterRegistry);
+    }
+
+    @Test
+    void testNegotiate() {
+        Assertions.assertNull(ResponseCompressor.negotiate(null, true));
+        Assertions.assertNull(ResponseCompressor.negotiate("identity", true));
+        Assertions.assertEquals(Coding.GZIP, ResponseCompressor.negotiate("gzip, deflate", true));
+        Assertions.assertEquals(Coding.BROTLI, ResponseCompressor.negotiate("gzip, deflate, br", true));
+        Assertions.assertEquals(Coding.GZIP, ResponseCompressor.negotiate("gzip, deflate, br", false));
+        Assertions.assertEquals(Coding.GZIP, ResponseCompressor.negotiate("br;q=0, gzip;q=0.5", true));
+        Assertions.assertNull(ResponseCompressor.negotiate("GZIP;q=0", true));
+        Assertions.assertEquals(Coding.BROTLI, ResponseCompressor.negotiate("*", true));
+    }
+
+    @Test
+    void testGzipRoundTrip() throws IOException {
+        final byte[] body = table(5_000);
+
+        final byte[] compressed = _compressor.compress(Coding.GZIP, body, body.length);
+        Assertions.assertTrue(compressed.length < body.length / 4);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            Assertions.assertArrayEquals(body, in.readAllBytes());
+        }
+
+        // Pooled deflaters and buffers are reset between bodies.
+        final byte[] small = "{\"base\":\"EUR\"}".getBytes(StandardCharsets.UTF_8);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(_compressor.compress(Coding.GZIP, small, small.length)))) {
+            Assertions.assertArrayEquals(small, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void testCompressedBodiesCachedByKey() {
+        final byte[] body = table(100);
+
+        final byte[] first = _compressor.compress(Coding.GZIP, body, body.length, "/exchangeRates/matrix \"3\"");
+        Assertions.assertSame(first, _compressor.compress(Coding.GZIP, body, body.length, "/exchangeRates/matrix \"3\""));
+        Assertions.assertNotSame(first, _compressor.compress(Coding.GZIP, body, body.length, "/exchangeRates/matrix \"4\""));
+        Assertions.assertNotSame(first, _compressor.compress(Coding.GZIP, body, body.length, null));
+    }
+
+    @Test
+    void testRecordsSizeAndRatio() {
+        _compressor.record(Coding.GZIP, 4_000, 1_000);
+        _compressor.record(null, 300, 300);
+
+        Assertions.assertEquals(1_000, _meterRegistry.get("exchangerates.response.size").tag("encoding", "gzip").summary().totalAmount());
+        Assertions.assertEquals(300, _meterRegistry.get("exchangerates.response.size").tag("encoding", "identity").summary().totalAmount());
+        Assertions.assertEquals(4.0, _meterRegistry.get("exchangerates.response.compression.ratio").summary().mean());
+    }
+
+    private static byte[] table(int rows) {
+        final StringBuilder json = new StringBuilder("{\"base\":\"EUR\",\"rates\":{");
+        for (int i = 0; i < rows; i++) {
+            json.append('"').append("C").append(i).append("\":").append(1.0 + i / 1000.0).append(',');
+        }
+        json.append("\"USD\":1.03}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,130 @@
+package com.cj.exchangerates.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.cj.exchangerates.cluster.ClusterApiService;
+import com.cj.exchangerates.cluster.ClusterMembership;
+import com.cj.exchangerates.cluster.ClusterSecret;
+import com.cj.exchangerates.model.ExchangeRateResponse;
+import com.cj.exchangerates.service.IExchangeRateService;
+
+/**
+ * Integration tests for ClusterController.
+ * Tests that peers must present the cluster secret.
+ */
+@WebMvcTest(controllers = ClusterController.class,
+            properties = {"exchangerates.cluster.enabled=true", "exchangerates.cluster.secret=s3cret"})
+@Import(ClusterSecret.class)
+class ClusterControllerIntegrationTest {
+
+    private static final String PEER = "http://node-b:8080";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ClusterMembership membership;
+
+    @MockBean
+    private ClusterApiService clusterApiService;
+
+    @MockBean
+    private IExchangeRateService exchangeRateService;
+
+    @BeforeEach
+    void setUp() {
+        when(membership.getSelf()).thenReturn("http://node-a:8080");
+    }
+
+    @Test
+    void testHeartbeat_WithSecret() throws Exception {
+        mockMvc.perform(get("/internal/cluster/heartbeat")
+                .param("from", PEER)
+                .header(ClusterSecret.HEADER, "s3cret"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("http://node-a:8080"));
+
+        verify(membership).markUp(PEER);
+    }
+
+    @Test
+    void testHeartbeat_WithoutSecret() throws Exception {
+        mockMvc.perform(get("/internal/cluster/heartbeat")
+                .param("from", PEER))
+                .andExpect(status().isUnauthorized());
+
+        verify(membership, never()).markUp(anyString());
+    }
+
+    @Test
+    void testFetchRates_WithSecret() throws Exception {
+        when(clusterApiService.fetchAsLeader("EUR", List.of("USD")))
+            .thenReturn(Map.of("ApiA", new ExchangeRateResponse("EUR", Map.of("USD", 1.08))));
+
+        mockMvc.perform(get("/internal/cluster/rates/EUR")
+                .param("symbols", "USD")
+                .param("from", PEER)
+                .header(ClusterSecret.HEADER, "s3cret"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.base").value("EUR"))
+                .andExpect(jsonPath("$.rates.ApiA.rates.USD").value(1.08));
+
+        verify(exchangeRateService).storeRates(anyString(), anyList(), anyMap());
+    }
+
+    @Test
+    void testFetchRates_WrongSecret() throws Exception {
+        mockMvc.perform(get("/internal/cluster/rates/EUR")
+                .param("symbols", "USD")
+                .param("from", PEER)
+                .header(ClusterSecret.HEADER, "guess"))
+                .andExpect(status().isUnauthorized());
+
+        verify(clusterApiService, never()).fetchAsLeader(anyString(), any());
+    }
+
+    @Test
+    void testReplicate_WithoutSecret() throws Exception {
+        mockMvc.perform(post("/internal/cluster/replicate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"source\":\"" + PEER + "\",\"base\":\"EUR\",\"symbols\":[\"USD\"],\"rates\":{}}"))
+                .andExpect(status().isUnauthorized());
+
+        verify(exchangeRateService, never()).storeRates(anyString(), anyList(), anyMap());
+    }
+
+    @Test
+    void testReplicate_WithSecret() throws Exception {
+        mockMvc.perform(post("/internal/cluster/replicate")
+                .header(ClusterSecret.HEADER, "s3cret")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"source\":\"" + PEER + "\",\"base\":\"EUR\",\"symbols\":[\"USD\"],\"rates\":{}}"))
+                .andExpect(status().isNoContent());
+
+        verify(membership).markUp(PEER);
+        verify(exchangeRateService).storeRates(anyString(), anyList(), anyMap());
+    }
+}
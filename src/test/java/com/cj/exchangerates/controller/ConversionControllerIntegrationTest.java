@@ -0,0 +1,88 @@
+package com.cj.exchangerates.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.cj.exchangerates.service.CurrencyConversionService;
+import com.cj.exchangerates.service.IExchangeRateService;
+
+/**
+ * Integration tests for ConversionController.
+ * Tests both body encodings and error handling.
+ */
+@WebMvcTest(ConversionController.class)
+@Import(CurrencyConversionService.class)
+class ConversionControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IExchangeRateService exchangeRateService;
+
+    @Test
+    void testConvertJson() throws Exception {
+        when(exchangeRateService.getRate("USD", "EUR")).thenReturn(0.5);
+
+        mockMvc.perform(post("/convert")
+                .param("base", "USD")
+                .param("target", "EUR")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[100, 2.5]"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0]").value(50.0))
+                .andExpect(jsonPath("$[1]").value(1.25));
+    }
+
+    @Test
+    void testConvertBinary() throws Exception {
+        when(exchangeRateService.getRate("USD", "EUR")).thenReturn(0.5);
+
+        mockMvc.perform(post("/convert")
+                .param("base", "USD")
+                .param("target", "EUR")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(ByteBuffer.allocate(16).putDouble(10).putDouble(3).array()))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(ByteBuffer.allocate(16).putDouble(5).putDouble(1.5).array()));
+    }
+
+    @Test
+    void testConvert_NoRate() throws Exception {
+        when(exchangeRateService.getRate("USD", "XXX")).thenReturn(Double.NaN);
+
+        mockMvc.perform(post("/convert")
+                .param("base", "USD")
+                .param("target", "XXX")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("No rate available from USD to XXX"));
+    }
+
+    @Test
+    void testConvert_NotAnArray() throws Exception {
+        when(exchangeRateService.getRate("USD", "EUR")).thenReturn(0.5);
+
+        mockMvc.perform(post("/convert")
+                .param("base", "USD")
+                .param("target", "EUR")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amounts\": [1]}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -3,9 +3,12 @@ package com.cj.exchangerates.controller;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -18,17 +21,25 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.cj.exchangerates.cache.NegativeCache;
 import com.cj.exchangerates.model.ExchangeRateResponse;
+import com.cj.exchangerates.model.RateChangesResponse;
+import com.cj.exchangerates.model.RateMatrixResponse;
 import com.cj.exchangerates.service.IExchangeRateService;
+import com.cj.exchangerates.service.ProviderCapabilities;
+import com.cj.exchangerates.validation.CurrencyRegistry;
+import com.cj.exchangerates.validation.RequestValidator;
 
 /**
  * Integration tests for ExchangeRateController.
  * Tests the complete request flow including validation and error handling.
  */
 @WebMvcTest(ExchangeRateController.class)
+@Import({RequestValidator.class, CurrencyRegistry.class, ProviderCapabilities.class, NegativeCache.class})
 class ExchangeRateControllerIntegrationTest {
 
     @Autowired
@@ -87,7 +98,7 @@ class ExchangeRateControllerIntegrationTest {
         when(exchangeRateService.getExchangeRates(anyString(), anyList()))
             .thenThrow(new IllegalArgumentException("Invalid currency code"));
 
-        mockMvc.perform(get("/exchangeRates/INVALID")
+        mockMvc.perform(get("/exchangeRates/USD")
                 .param("symbols", "EUR", "GBP")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
@@ -109,4 +120,61 @@ class ExchangeRateControllerIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testGetExchangeRates_InvalidCodes() throws Exception {
+        mockMvc.perform(get("/exchangeRates/INVALID")
+                .param("symbols", "EUR", "QQQ")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation failed"))
+                .andExpect(jsonPath("$.errors.length()").value(2))
+                .andExpect(jsonPath("$.errors[0].field").value("base"))
+                .andExpect(jsonPath("$.errors[0].message").value("Currency codes must be 3-letter codes"))
+                .andExpect(jsonPath("$.errors[1].field").value("symbols[1]"))
+                .andExpect(jsonPath("$.errors[1].message").value("Unknown currency code"));
+
+        verify(exchangeRateService, never()).getExchangeRates(anyString(), anyList());
+    }
+
+    @Test
+    void testGetRateChanges() throws Exception {
+        when(exchangeRateService.getRateChanges("EUR", 5)).thenReturn(new RateChangesResponse(
+                "EUR", 5, 7, null, false, Map.of("USD", 1.04), List.of("RUB")));
+
+        mockMvc.perform(get("/exchangeRates/EUR/changes").param("since", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(7))
+                .andExpect(jsonPath("$.full").value(false))
+                .andExpect(jsonPath("$.changes.USD").value(1.04))
+                .andExpect(jsonPath("$.removed[0]").value("RUB"));
+
+        mockMvc.perform(get("/exchangeRates/GBP/changes"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/exchangeRates/EURO/changes"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field").value("base"));
+    }
+
+    @Test
+    void testGetRateMatrix() throws Exception {
+        when(exchangeRateService.getRateMatrix()).thenReturn(new RateMatrixResponse(
+                3, null, List.of("EUR", "USD"), new double[] {1.0, 1.1, 1 / 1.1, 1.0}));
+
+        mockMvc.perform(get("/exchangeRates/matrix"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.currencies[1]").value("USD"))
+                .andExpect(jsonPath("$.rates[1]").value(1.1));
+
+        mockMvc.perform(get("/exchangeRates/matrix").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testGetRateMatrix_NotBuilt() throws Exception {
+        mockMvc.perform(get("/exchangeRates/matrix"))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
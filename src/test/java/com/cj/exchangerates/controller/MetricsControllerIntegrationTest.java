@@ -20,6 +20,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import com.cj.exchangerates.model.ApiMetrics;
 import com.cj.exchangerates.model.MetricsSnapshot;
 import com.cj.exchangerates.service.MetricsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * Integration tests for MetricsController.
@@ -31,6 +32,9 @@ class MetricsControllerIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @MockBean
     private MetricsService metricsService;
 
@@ -51,7 +55,7 @@ class MetricsControllerIntegrationTest {
 
     @Test
     void testGetMetrics_Success() throws Exception {
-        when(metricsService.getSnapshot()).thenReturn(mockSnapshot);
+        when(metricsService.getEncodedSnapshot()).thenReturn(objectMapper.writeValueAsBytes(mockSnapshot));
 
         mockMvc.perform(get("/metrics")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -71,7 +75,7 @@ class MetricsControllerIntegrationTest {
     @Test
     void testGetMetrics_EmptyMetrics() throws Exception {
         MetricsSnapshot emptySnapshot = new MetricsSnapshot(0, new ArrayList<>());
-        when(metricsService.getSnapshot()).thenReturn(emptySnapshot);
+        when(metricsService.getEncodedSnapshot()).thenReturn(objectMapper.writeValueAsBytes(emptySnapshot));
 
         mockMvc.perform(get("/metrics")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -83,7 +87,7 @@ class MetricsControllerIntegrationTest {
 
     @Test
     void testGetMetrics_ServiceThrowsException() throws Exception {
-        when(metricsService.getSnapshot()).thenThrow(new RuntimeException("Database error"));
+        when(metricsService.getEncodedSnapshot()).thenThrow(new RuntimeException("Database error"));
 
         mockMvc.perform(get("/metrics")
                 .contentType(MediaType.APPLICATION_JSON))
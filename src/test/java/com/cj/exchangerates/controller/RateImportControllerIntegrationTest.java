@@ -0,0 +1,77 @@
+package com.cj.exchangerates.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.InputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.cj.exchangerates.cluster.ClusterSecret;
+import com.cj.exchangerates.ingest.ImportFormat;
+import com.cj.exchangerates.ingest.ImportedApiService;
+import com.cj.exchangerates.model.ImportResult;
+
+/**
+ * Integration tests for RateImportController.
+ * Tests that uploads must present the cluster secret.
+ */
+@WebMvcTest(controllers = RateImportController.class,
+            properties = {"exchangerates.ingest.enabled=true", "exchangerates.cluster.secret=s3cret"})
+@Import(ClusterSecret.class)
+class RateImportControllerIntegrationTest {
+
+    private static final String CSV = "base,symbol,rate\nEUR,USD,1.0842\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ImportedApiService importedApiService;
+
+    @Test
+    void testImport_WithSecret() throws Exception {
+        when(importedApiService.importStream(eq("upload"), eq(ImportFormat.CSV), any(InputStream.class)))
+            .thenReturn(new ImportResult("upload", "csv", 1, 0, 1, 0));
+
+        mockMvc.perform(post("/internal/rates/imports")
+                .header(ClusterSecret.HEADER, "s3cret")
+                .contentType("text/csv")
+                .content(CSV))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(1));
+    }
+
+    @Test
+    void testImport_WithoutSecret() throws Exception {
+        mockMvc.perform(post("/internal/rates/imports")
+                .contentType("text/csv")
+                .content(CSV))
+                .andExpect(status().isUnauthorized());
+
+        verify(importedApiService, never()).importStream(anyString(), any(), any());
+    }
+
+    @Test
+    void testImport_WrongSecret() throws Exception {
+        mockMvc.perform(post("/internal/rates/imports")
+                .header(ClusterSecret.HEADER, "guess")
+                .contentType("text/csv")
+                .content(CSV))
+                .andExpect(status().isUnauthorized());
+
+        verify(importedApiService, never()).importStream(anyString(), any(), any());
+    }
+}
@@ -0,0 +1,188 @@
+package com.cj.exchangerates.ingest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+import com.cj.exchangerates.model.ImportResult;
+
+public class ImportedApiServiceTests {
+
+    private ImportedApiService _service;
+
+    @TempDir
+    private Path _dir;
+
+    @BeforeEach
+    void init() {
+        _service = new ImportedApiService();
+    }
+
+    @Test
+    void testImportCsv() throws IOException {
+        final ImportResult result = _service.importStream("upload", ImportFormat.CSV, stream(
+                "base,symbol,rate,date\r\n"
+                + "EUR,USD,1.0842," + LocalDate.now(ZoneOffset.UTC) + "\r\n"
+                + " eur , \"gbp\" , 0.86\n"
+                + "\n"
+                + "EUR,JPY,not-a-rate\n"
+                + "EURO,USD,1.1\n"
+                + "EUR,CHF,9.4e-1"));
+
+        Assertions.assertEquals(3, result.getRows());
+        Assertions.assertEquals(2, result.getRejected());
+        Assertions.assertEquals(3, result.getPairs());
+
+        final ExchangeRateResponse imported = _service.fetchAllRates("eur", List.of("USD", "gbp", "CHF", "JPY")).get("imported");
+        Assertions.assertEquals("EUR", imported.getBase());
+        Assertions.assertEquals(Map.of("USD", 1.0842, "GBP", 0.86, "CHF", 0.94), imported.getRates());
+        Assertions.assertEquals(LocalDate.now(ZoneOffset.UTC), imported.getDate());
+        Assertions.assertTrue(_service.fetchAllRates("USD", List.of("EUR")).isEmpty());
+    }
+
+    @Test
+    void testImportNdjson() throws IOException {
+        final ImportResult result = _service.importStream("upload", ImportFormat.NDJSON, stream(
+                "{\"base\":\"EUR\",\"symbol\":\"USD\",\"rate\":1.0842}\n"
+                + "{ \"rate\": \"0.86\", \"desk\": \"london\", \"symbol\": \"GBP\", \"base\": \"EUR\", \"date\": null }\n"
+                + "{\"base\":\"EUR\",\"symbol\":\"JPY\"}\n"
+                + "{\"base\":\"EUR\",\"symbol\":\"NZD\",\"rate\":1.8,\"source\":{\"desk\":\"sydney\"}}\n"
+                + "[1, 2, 3]\n"));
+
+        Assertions.assertEquals(2, result.getRows());
+        Assertions.assertEquals(3, result.getRejected());
+        Assertions.assertEquals(Map.of("USD", 1.0842, "GBP", 0.86),
+                _service.fetchAllRates("EUR", List.of("USD", "GBP", "JPY", "NZD")).get("imported").getRates());
+    }
+
+    @Test
+    void testLatestDateWinsAcrossImports() throws IOException {
+        final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        _service.importStream("upload", ImportFormat.CSV, stream(
+                "EUR,USD,1.10," + today.minusDays(1) + "\n"
+                + "EUR,USD,1.20," + today + "\n"
+                + "EUR,USD,1.00," + today.minusDays(2) + "\n"
+                + "EUR,GBP,0.80," + today.minusDays(30) + "\n"));
+        // An older end-of-day file does not replace newer quotes.
+        _service.importStream("upload", ImportFormat.CSV, stream("EUR,USD,1.30," + today.minusDays(3) + "\n"));
+
+        final ExchangeRateResponse imported = _service.fetchAllRates("EUR", List.of("USD", "GBP")).get("imported");
+        // Rates older than the maximum age are not served.
+        Assertions.assertEquals(Map.of("USD", 1.20), imported.getRates());
+        Assertions.assertEquals(2, _service.size());
+        Assertions.assertEquals(Map.of("imported", Set.of("EUR", "USD", "GBP")), _service.fetchSupportedCurrencies());
+    }
+
+    @Test
+    void testImpossibleAndFutureDatesRejected() throws IOException {
+        final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        final ImportResult result = _service.importStream("upload", ImportFormat.CSV, stream(
+                "base,symbol,rate,date\n"
+                + "EUR,USD,1.10,2025-02-30\n"
+                + "EUR,USD,1.11,2025-04-31\n"
+                + "EUR,USD,1.12,2023-02-29\n"
+                + "EUR,USD,1.13," + today.plusDays(1) + "\n"
+                + "EUR,GBP,0.86," + today + "\n"));
+        final ImportResult ndjson = _service.importStream("upload", ImportFormat.NDJSON, stream(
+                "{\"base\":\"EUR\",\"symbol\":\"USD\",\"rate\":1.14,\"date\":\"2025-06-31\"}\n"
+                + "{\"base\":\"EUR\",\"symbol\":\"USD\",\"rate\":1.15,\"date\":\"" + today.plusYears(1) + "\"}\n"));
+
+        Assertions.assertEquals(1, result.getRows());
+        Assertions.assertEquals(4, result.getRejected());
+        Assertions.assertEquals(0, ndjson.getRows());
+        Assertions.assertEquals(2, ndjson.getRejected());
+        Assertions.assertTrue(_service.fetchAllRates("EUR", List.of("USD")).isEmpty());
+
+        final ByteBuffer leapDay = ByteBuffer.wrap("2024-02-29".getBytes(StandardCharsets.US_ASCII));
+        Assertions.assertEquals(20240229, RateImportParser.date(leapDay, 0, 10));
+        final ByteBuffer notLeapDay = ByteBuffer.wrap("2100-02-29".getBytes(StandardCharsets.US_ASCII));
+        Assertions.assertEquals(-1, RateImportParser.date(notLeapDay, 0, 10));
+    }
+
+    @Test
+    void testImportPublishesAffectedBases() throws IOException {
+        final List<Object> events = new ArrayList<>();
+        ReflectionTestUtils.setField(_service, "events", (ApplicationEventPublisher) events::add);
+
+        _service.importStream("upload", ImportFormat.CSV, stream("EUR,USD,1.08\nusd,JPY,150.2\nEUR,GBP,0.86\n"));
+        // Nothing imported, nothing to refresh.
+        _service.importStream("upload", ImportFormat.CSV, stream("EUR,USD,not-a-rate\n"));
+
+        Assertions.assertEquals(List.of(new RatesImportedEvent(Set.of("EUR", "USD"))), events);
+    }
+
+    @Test
+    void testImportFileAcrossReadBoundaries() throws IOException {
+        // Lines straddle the upload buffer, and the file has no final newline.
+        ReflectionTestUtils.setField(_service, "bufferSize", DataSize.ofBytes(64));
+        final String[] codes = {"USD", "GBP", "JPY", "CHF", "NZD", "AUD", "CAD", "SEK"};
+        final StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            csv.append("EUR,").append(codes[i % codes.length]).append(',').append(1 + i / 100_000.0).append('\n');
+        }
+        csv.setLength(csv.length() - 1);
+        final Path file = Files.writeString(_dir.resolve("rates.csv"), csv);
+
+        final ImportResult fromFile = _service.importFile(file);
+        Assertions.assertEquals(10_000, fromFile.getRows());
+        Assertions.assertEquals(0, fromFile.getRejected());
+        Assertions.assertEquals("rates.csv", fromFile.getSource());
+
+        final ImportedApiService uploaded = new ImportedApiService();
+        ReflectionTestUtils.setField(uploaded, "bufferSize", DataSize.ofBytes(64));
+        Assertions.assertEquals(10_000, uploaded.importStream("upload", ImportFormat.CSV, stream(csv.toString())).getRows());
+        Assertions.assertEquals(_service.fetchAllRates("EUR", List.of(codes)).get("imported").getRates(),
+                                uploaded.fetchAllRates("EUR", List.of(codes)).get("imported").getRates());
+        // The last row of each pair wins.
+        Assertions.assertEquals(1.09999, uploaded.fetchAllRates("EUR", List.of("SEK")).get("imported").getRates().get("SEK"), 1e-12);
+    }
+
+    @Test
+    void testLineLongerThanBufferRejected() {
+        ReflectionTestUtils.setField(_service, "bufferSize", DataSize.ofBytes(16));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> _service.importStream("upload", ImportFormat.CSV, stream("EUR,USD,1.084200000000000000\n")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> _service.importFile(_dir.resolve("rates.txt")));
+    }
+
+    @Test
+    void testNumbersMatchParseDouble() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            final String text = switch (i % 3) {
+                case 0 -> Double.toString(random.nextDouble() * 200);
+                case 1 -> String.format(Locale.ROOT, "%.6f", random.nextDouble() * 20_000);
+                default -> Long.toString(random.nextLong(1_000_000_000_000_000_000L)) + "." + random.nextInt(1000);
+            };
+            final byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+            Assertions.assertEquals(Double.parseDouble(text), RateImportParser.number(ByteBuffer.wrap(bytes), 0, bytes.length), text);
+        }
+        Assertions.assertTrue(Double.isNaN(RateImportParser.number(ByteBuffer.wrap(new byte[] {'1', '.', '2', 'x'}), 0, 4)));
+        Assertions.assertTrue(Double.isNaN(RateImportParser.number(ByteBuffer.wrap(new byte[] {'.'}), 0, 1)));
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,48 @@
+package com.cj.exchangerates.ingest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class RateImportWatcherTests {
+
+    private ImportedApiService _importedApiService;
+
+    private RateImportWatcher _watcher;
+
+    @TempDir
+    private Path _dir;
+
+    @BeforeEach
+    void init() throws IOException {
+        _importedApiService = new ImportedApiService();
+        _watcher = new RateImportWatcher();
+        ReflectionTestUtils.setField(_watcher, "importedApiService", _importedApiService);
+        Files.createDirectories(_dir.resolve(RateImportWatcher.PROCESSED));
+        Files.createDirectories(_dir.resolve(RateImportWatcher.FAILED));
+    }
+
+    @Test
+    void testImportsAndMovesFiles() throws IOException {
+        Files.writeString(_dir.resolve("desk.csv"), "EUR,USD,1.08\n");
+        Files.writeString(_dir.resolve("eod.ndjson"), "{\"base\":\"EUR\",\"symbol\":\"GBP\",\"rate\":0.86}\n");
+        // Still being written, so left alone.
+        Files.writeString(_dir.resolve("eod.ndjson.tmp"), "{\"base\":\"EUR\",\"symbol\":\"JPY\"");
+
+        _watcher.importExisting(_dir);
+
+        Assertions.assertEquals(2, _importedApiService.size());
+        Assertions.assertTrue(Files.exists(_dir.resolve(RateImportWatcher.PROCESSED).resolve("desk.csv")));
+        Assertions.assertTrue(Files.exists(_dir.resolve(RateImportWatcher.PROCESSED).resolve("eod.ndjson")));
+        Assertions.assertTrue(Files.exists(_dir.resolve("eod.ndjson.tmp")));
+        Assertions.assertFalse(Files.exists(_dir.resolve("desk.csv")));
+        Assertions.assertEquals(0.86, _importedApiService.fetchAllRates("EUR", List.of("GBP")).get("imported").getRates().get("GBP"));
+    }
+}
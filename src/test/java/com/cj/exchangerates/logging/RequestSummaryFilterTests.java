@@ -0,0 +1,34 @@
+package com.cj.exchangerates.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class RequestSummaryFilterTests {
+
+    private final RequestSummaryFilter _filter = new RequestSummaryFilter();
+
+    @AfterEach
+    void clearMdc() {
+        MDC.clear();
+    }
+
+    @Test
+    void testRemovesOnlyOwnKeys() throws Exception {
+        MDC.put("traceId", "4bf92f3577b34da6a3ce929d0e0e4736");
+        MDC.put("spanId", "00f067aa0ba902b7");
+
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/exchangeRates/EUR");
+        request.setQueryString("symbols=USD,GBP");
+        _filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> MDC.put("cache", "hit"));
+
+        for (String key : RequestSummaryFilter.KEYS) {
+            Assertions.assertNull(MDC.get(key), key);
+        }
+        Assertions.assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", MDC.get("traceId"));
+        Assertions.assertEquals("00f067aa0ba902b7", MDC.get("spanId"));
+    }
+}
@@ -0,0 +1,52 @@
+package com.cj.exchangerates.logging;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+
+public class SamplingTurboFilterTests {
+
+    private SamplingTurboFilter _filter;
+
+    private LoggerContext _context;
+
+    @BeforeEach
+    void init() {
+        _context = new LoggerContext();
+        _context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.DEBUG);
+        _filter = new SamplingTurboFilter();
+        _filter.setContext(_context);
+        _filter.setRates("com.example=0.0,com.example.kept=1.0");
+    }
+
+    @Test
+    void testSampledCategoryDropped() {
+        final Logger logger = _context.getLogger("com.example.Service");
+        Assertions.assertEquals(FilterReply.DENY, _filter.decide(null, logger, Level.INFO, "message", null, null));
+        Assertions.assertEquals(FilterReply.DENY, _filter.decide(null, logger, Level.DEBUG, "message", null, null));
+    }
+
+    @Test
+    void testLongestCategoryWins() {
+        final Logger logger = _context.getLogger("com.example.kept.Service");
+        Assertions.assertEquals(FilterReply.NEUTRAL, _filter.decide(null, logger, Level.INFO, "message", null, null));
+    }
+
+    @Test
+    void testUnmatchedCategoryKept() {
+        final Logger logger = _context.getLogger("com.other.Service");
+        Assertions.assertEquals(FilterReply.NEUTRAL, _filter.decide(null, logger, Level.INFO, "message", null, null));
+    }
+
+    @Test
+    void testWarningsNeverSampled() {
+        final Logger logger = _context.getLogger("com.example.Service");
+        Assertions.assertEquals(FilterReply.NEUTRAL, _filter.decide(null, logger, Level.WARN, "message", null, null));
+        Assertions.assertEquals(FilterReply.NEUTRAL, _filter.decide(null, logger, Level.ERROR, "message", null, null));
+    }
+}
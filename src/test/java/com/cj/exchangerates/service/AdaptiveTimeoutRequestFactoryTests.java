@@ -0,0 +1,54 @@
+package com.cj.exchangerates.service;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveTimeoutRequestFactoryTests {
+
+    private AdaptiveTimeoutRequestFactory _requestFactory;
+
+    @BeforeEach
+    void init() {
+        _requestFactory = new AdaptiveTimeoutRequestFactory(Duration.ofMillis(100), Duration.ofSeconds(5), 90, 2.0, 20);
+    }
+
+    @Test
+    void testMaxTimeoutUntilLatencyKnown() {
+        Assertions.assertEquals(Duration.ofSeconds(5), _requestFactory.timeout("api.frankfurter.app"));
+        Assertions.assertEquals(Duration.ofSeconds(5), _requestFactory.timeout(null));
+
+        for (int i = 1; i < AdaptiveTimeoutRequestFactory.MIN_SAMPLES; i++) {
+            _requestFactory.record("api.frankfurter.app", Duration.ofMillis(50).toNanos());
+        }
+        Assertions.assertEquals(Duration.ofSeconds(5), _requestFactory.timeout("api.frankfurter.app"));
+    }
+
+    @Test
+    void testTimeoutFollowsPercentilePerHost() {
+        // Ten calls from 100ms to 1s; the 90th percentile is 900ms.
+        for (int i = 1; i <= 10; i++) {
+            _requestFactory.record("cdn.jsdelivr.net", Duration.ofMillis(100L * i).toNanos());
+            _requestFactory.record("api.frankfurter.app", Duration.ofMillis(20).toNanos());
+        }
+        Assertions.assertEquals(Duration.ofMillis(1800), _requestFactory.timeout("cdn.jsdelivr.net"));
+        // Bounded below by the minimum.
+        Assertions.assertEquals(Duration.ofMillis(100), _requestFactory.timeout("api.frankfurter.app"));
+    }
+
+    @Test
+    void testTimeoutBoundedAndWindowed() {
+        for (int i = 0; i < 20; i++) {
+            _requestFactory.record("cdn.jsdelivr.net", Duration.ofSeconds(4).toNanos());
+        }
+        Assertions.assertEquals(Duration.ofSeconds(5), _requestFactory.timeout("cdn.jsdelivr.net"));
+
+        // Once the slow calls leave the window, the timeout comes back down.
+        for (int i = 0; i < 20; i++) {
+            _requestFactory.record("cdn.jsdelivr.net", Duration.ofMillis(200).toNanos());
+        }
+        Assertions.assertEquals(Duration.ofMillis(400), _requestFactory.timeout("cdn.jsdelivr.net"));
+    }
+}
@@ -0,0 +1,175 @@
+package com.cj.exchangerates.service;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.cj.exchangerates.cache.NegativeCache;
+import com.cj.exchangerates.model.ExchangeRateResponse;
+import com.cj.exchangerates.model.ProviderScore;
+
+public class ApiServiceTests {
+
+    private static final String FRANKFURTER = "http://frankfurter.test";
+    private static final String FAWAZ = "http://fawaz.test";
+
+    @InjectMocks
+    private ApiService _service;
+
+    @Mock
+    private RestTemplate _restTemplate;
+
+    @Mock
+    private IMetricsService _metricsService;
+
+    @Spy
+    private ProviderResponseParser _responseParser = new ProviderResponseParser();
+
+    @Spy
+    private NegativeCache _negativeCache = new NegativeCache();
+
+    @Spy
+    private ProviderCapabilities _capabilities = new ProviderCapabilities();
+
+    @BeforeEach
+    void init() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(_service, "upstreamThreadFactory", (ThreadFactory) Thread::new);
+        ReflectionTestUtils.setField(_service, "frankfurterUrl", FRANKFURTER);
+        ReflectionTestUtils.setField(_service, "fawazUrl", FAWAZ);
+    }
+
+    @Test
+    void testFailingProviderMarkedAndSkipped() {
+        stubFrankfurter(Map.of("date", "2025-01-09", "rates", Map.of("USD", 1.08)));
+        when(_restTemplate.getForObject(startsWith(FAWAZ), eq(Map.class)))
+            .thenThrow(new ResourceAccessException("Connection refused"));
+
+        final Map<String, ExchangeRateResponse> first = _service.fetchAllRates("EUR", List.of("USD", "XAU"));
+        Assertions.assertEquals(Map.of("USD", 1.08), first.get("frankfurter").getRates());
+        Assertions.assertTrue(_negativeCache.isFailing("fawaz", "EUR"));
+        // With a provider failing, a symbol nobody quoted is not known to be unknown.
+        Assertions.assertFalse(_negativeCache.isUnknown("XAU"));
+
+        _service.fetchAllRates("EUR", List.of("USD"));
+        verify(_restTemplate, times(1)).getForObject(startsWith(FAWAZ), eq(Map.class));
+        verify(_restTemplate, times(2)).getForObject(startsWith(FRANKFURTER), eq(Map.class));
+    }
+
+    @Test
+    void testNotFoundIsNotAFailure() {
+        when(_restTemplate.getForObject(startsWith(FRANKFURTER), eq(Map.class)))
+            .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+        stubFawaz(Map.of("date", "2025-01-09", "eur", Map.of("usd", 1.08)));
+
+        final Map<String, ExchangeRateResponse> allRates = _service.fetchAllRates("EUR", List.of("USD", "XAU"));
+        Assertions.assertEquals(List.of("fawaz"), List.copyOf(allRates.keySet()));
+        Assertions.assertFalse(_negativeCache.isFailing("frankfurter", "EUR"));
+        // Every provider answered and none quotes XAU.
+        Assertions.assertTrue(_negativeCache.isUnknown("XAU"));
+        Assertions.assertFalse(_negativeCache.isUnknown("USD"));
+    }
+
+    @Test
+    void testInvalidResponseIsAFailure() {
+        stubFrankfurter(Map.of("date", "2025-01-09", "rates", Map.of("USD", 1.08)));
+        stubFawaz(Map.of("date", "2025-01-09"));
+
+        _service.fetchAllRates("EUR", List.of("USD"));
+        Assertions.assertTrue(_negativeCache.isFailing("fawaz", "EUR"));
+        Assertions.assertFalse(_negativeCache.isFailing("frankfurter", "EUR"));
+    }
+
+    @Test
+    void testQuorumTakesBestHealthyProviders() {
+        ReflectionTestUtils.setField(_service, "quorum", 1);
+        stubBoth();
+        when(_metricsService.getProviderScore("frankfurter")).thenReturn(score(true, 10, Instant.now()));
+        when(_metricsService.getProviderScore("fawaz")).thenReturn(score(true, 50, Instant.now()));
+
+        Assertions.assertEquals(List.of("frankfurter"), List.copyOf(_service.fetchAllRates("EUR", List.of("USD")).keySet()));
+        verify(_restTemplate, never()).getForObject(startsWith(FAWAZ), eq(Map.class));
+    }
+
+    @Test
+    void testUnhealthyProviderLeftOut() {
+        stubBoth();
+        when(_metricsService.getProviderScore("frankfurter")).thenReturn(score(false, 10, Instant.now()));
+        when(_metricsService.getProviderScore("fawaz")).thenReturn(score(true, 50, Instant.now()));
+
+        // Below quorum, but the unhealthy provider is still not queried
+        Assertions.assertEquals(List.of("fawaz"), List.copyOf(_service.fetchAllRates("EUR", List.of("USD")).keySet()));
+        verify(_restTemplate, never()).getForObject(startsWith(FRANKFURTER), eq(Map.class));
+    }
+
+    @Test
+    void testBestProviderQueriedWhenNoneHealthy() {
+        stubBoth();
+        when(_metricsService.getProviderScore("frankfurter")).thenReturn(score(false, 80, Instant.now()));
+        when(_metricsService.getProviderScore("fawaz")).thenReturn(score(false, 40, Instant.now()));
+
+        Assertions.assertEquals(List.of("fawaz"), List.copyOf(_service.fetchAllRates("EUR", List.of("USD")).keySet()));
+        verify(_restTemplate, never()).getForObject(startsWith(FRANKFURTER), eq(Map.class));
+    }
+
+    @Test
+    void testIdleProviderProbed() {
+        ReflectionTestUtils.setField(_service, "quorum", 1);
+        stubBoth();
+        when(_metricsService.getProviderScore("frankfurter")).thenReturn(score(true, 10, Instant.now()));
+        when(_metricsService.getProviderScore("fawaz")).thenReturn(score(false, 50, Instant.now().minus(Duration.ofMinutes(1))));
+
+        final Map<String, ExchangeRateResponse> allRates = _service.fetchAllRates("EUR", List.of("USD"));
+        Assertions.assertEquals(2, allRates.size());
+        verify(_restTemplate, times(1)).getForObject(startsWith(FAWAZ), eq(Map.class));
+    }
+
+    @Test
+    void testUnscoredProviderAlwaysQueried() {
+        ReflectionTestUtils.setField(_service, "quorum", 1);
+        stubBoth();
+        when(_metricsService.getProviderScore("frankfurter")).thenReturn(score(true, 10, Instant.now()));
+
+        // Never called, so it has no score yet
+        Assertions.assertTrue(_service.fetchAllRates("EUR", List.of("USD")).containsKey("fawaz"));
+    }
+
+    private void stubBoth() {
+        stubFrankfurter(Map.of("date", "2025-01-09", "rates", Map.of("USD", 1.08)));
+        stubFawaz(Map.of("date", "2025-01-09", "eur", Map.of("usd", 1.081)));
+    }
+
+    private static ProviderScore score(boolean healthy, double score, Instant lastCall) {
+        return new ProviderScore(score, healthy ? 0.0 : 0.5, null, lastCall, 100, healthy, score);
+    }
+
+    private void stubFrankfurter(Map<String, Object> response) {
+        when(_restTemplate.getForObject(startsWith(FRANKFURTER), eq(Map.class))).thenReturn(response);
+    }
+
+    private void stubFawaz(Map<String, Object> response) {
+        when(_restTemplate.getForObject(startsWith(FAWAZ), eq(Map.class))).thenReturn(response);
+    }
+}
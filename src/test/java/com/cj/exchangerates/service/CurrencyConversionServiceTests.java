@@ -0,0 +1,97 @@
+package com.cj.exchangerates.service;
+
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class CurrencyConversionServiceTests {
+
+    @Mock
+    private IExchangeRateService _exchangeRateService;
+
+    private CurrencyConversionService _service;
+
+    @BeforeEach
+    void init() {
+        MockitoAnnotations.openMocks(this);
+        _service = new CurrencyConversionService(_exchangeRateService, new ObjectMapper());
+    }
+
+    @Test
+    void testGetRate() {
+        when(_exchangeRateService.getRate("USD", "EUR")).thenReturn(0.5);
+        when(_exchangeRateService.getRate("USD", "XXX")).thenReturn(Double.NaN);
+
+        Assertions.assertEquals(0.5, _service.getRate("USD", "EUR"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> _service.getRate("USD", "XXX"));
+    }
+
+    @Test
+    void testConvertJson() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final long count = _service.convertJson(0.5, json("[100, 2.5, 0]"), out);
+
+        Assertions.assertEquals(3, count);
+        Assertions.assertEquals("[50.0,1.25,0.0]", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testConvertJsonAcrossChunks() throws Exception {
+        final int size = CurrencyConversionService.CHUNK_SIZE * 2 + 3;
+        final StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            body.append(i == 0 ? "" : ",").append(i);
+        }
+        body.append(']');
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Assertions.assertEquals(size, _service.convertJson(2.0, json(body.toString()), out));
+
+        final double[] converted = new ObjectMapper().readValue(out.toByteArray(), double[].class);
+        Assertions.assertEquals(size, converted.length);
+        Assertions.assertEquals(2.0 * (size - 1), converted[size - 1]);
+    }
+
+    @Test
+    void testConvertJsonInvalid() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> _service.convertJson(1.0, json("{\"amounts\": [1]}"), new ByteArrayOutputStream()));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> _service.convertJson(1.0, json("[1, \"2\"]"), new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void testConvertBinary() throws Exception {
+        final ByteBuffer body = ByteBuffer.allocate(3 * Double.BYTES).putDouble(10).putDouble(-4).putDouble(0.25);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Assertions.assertEquals(3, _service.convertBinary(4.0, new ByteArrayInputStream(body.array()), out));
+
+        final ByteBuffer converted = ByteBuffer.wrap(out.toByteArray());
+        Assertions.assertEquals(40.0, converted.getDouble());
+        Assertions.assertEquals(-16.0, converted.getDouble());
+        Assertions.assertEquals(1.0, converted.getDouble());
+        Assertions.assertFalse(converted.hasRemaining());
+    }
+
+    @Test
+    void testConvertBinaryPartialDouble() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> _service.convertBinary(1.0, new ByteArrayInputStream(new byte[12]), new ByteArrayOutputStream()));
+    }
+
+    private static ByteArrayInputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
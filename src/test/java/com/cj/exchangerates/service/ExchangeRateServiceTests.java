@@ -1,12 +1,23 @@
 package com.cj.exchangerates.service;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,7 +25,14 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
+import com.cj.exchangerates.cache.NegativeCache;
+import com.cj.exchangerates.cache.RateCache;
+import com.cj.exchangerates.cache.RateChangeLog;
+import com.cj.exchangerates.cache.RateExpiryPolicy;
+import com.cj.exchangerates.cache.RateMatrix;
+import com.cj.exchangerates.ingest.RatesImportedEvent;
 import com.cj.exchangerates.model.ExchangeRateResponse;
 
 public class ExchangeRateServiceTests {
@@ -28,6 +46,30 @@ public class ExchangeRateServiceTests {
     @Mock
     private MetricsService _metricsService;
 
+    @Spy
+    private RateCache _cache = new RateCache();
+
+    @Mock
+    private RatePrefetcher _prefetcher;
+
+    @Spy
+    private RateExpiryPolicy _expiryPolicy = new RateExpiryPolicy();
+
+    @Spy
+    private RateMatrix _matrix = new RateMatrix();
+
+    @Spy
+    private RateChangeLog _changeLog = new RateChangeLog();
+
+    @Spy
+    private NegativeCache _negativeCache = new NegativeCache();
+
+    @Spy
+    private ProviderCapabilities _capabilities = new ProviderCapabilities();
+
+    @Spy
+    private ProviderWeights _weights = new ProviderWeights();
+
     @BeforeEach
     void init() {
         MockitoAnnotations.openMocks(this);
@@ -76,6 +118,49 @@ public class ExchangeRateServiceTests {
         verify(_apiService, times(1)).fetchAllRates(base, symbols);
     }
     
+    @Test
+    void testCachedResultAnySymbolOrder() {
+        final String base = "EUR";
+        
+        // Mock.
+        final Map<String, ExchangeRateResponse> mockRates = new HashMap<>();
+        mockRates.put("fawaz", new ExchangeRateResponse(base, Map.of("USD", 1.2, "NZD", 1.7)));
+        when(_apiService.fetchAllRates(base, List.of("USD", "NZD"))).thenReturn(mockRates);
+
+        final ExchangeRateResponse first = _service.getExchangeRates(base, List.of("USD", "NZD"));
+        final ExchangeRateResponse second = _service.getExchangeRates("eur", List.of("nzd", "USD"));
+        Assertions.assertEquals(first, second);
+
+        verify(_apiService, times(1)).fetchAllRates(anyString(), anyList());
+    }
+
+    @Test
+    void testConcurrentMissesShareFetch() throws Exception {
+        final List<String> symbols = List.of("USD", "NZD");
+        final String base = "EUR";
+        final CountDownLatch fetchStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFetch = new CountDownLatch(1);
+        
+        // Mock a slow fetch so the second request arrives while the first is in flight.
+        when(_apiService.fetchAllRates(base, symbols)).thenAnswer(invocation -> {
+            fetchStarted.countDown();
+            releaseFetch.await(5, TimeUnit.SECONDS);
+            return Map.of("fawaz", new ExchangeRateResponse(base, Map.of("USD", 1.2, "NZD", 1.7)));
+        });
+
+        final CompletableFuture<ExchangeRateResponse> first =
+            CompletableFuture.supplyAsync(() -> _service.getExchangeRates(base, symbols));
+        Assertions.assertTrue(fetchStarted.await(5, TimeUnit.SECONDS));
+        final CompletableFuture<ExchangeRateResponse> second =
+            CompletableFuture.supplyAsync(() -> _service.getExchangeRates(base, symbols));
+        
+        releaseFetch.countDown();
+        Assertions.assertEquals(1.2, first.get(5, TimeUnit.SECONDS).getRates().get("USD"), 0.0001);
+        Assertions.assertEquals(1.2, second.get(5, TimeUnit.SECONDS).getRates().get("USD"), 0.0001);
+
+        verify(_apiService, times(1)).fetchAllRates(base, symbols);
+    }
+    
     @Test
     void testAveraging() {
     	final List<String> symbols = List.of("USD", "NZD");
@@ -96,6 +181,25 @@ public class ExchangeRateServiceTests {
 
         verify(_metricsService).incrementTotalQueries();
     }
+
+    @Test
+    void testWeightedAveraging() {
+        final Map<String, ExchangeRateResponse> allRates = new HashMap<>();
+        allRates.put("frankfurter", new ExchangeRateResponse("EUR", Map.of("USD", 1.0, "NZD", 1.5)));
+        allRates.put("fawaz", new ExchangeRateResponse("EUR", Map.of("USD", 5.0)));
+        allRates.put("imported", new ExchangeRateResponse("EUR", Map.of("USD", 1.3, "GBP", 0.86)));
+
+        final Map<String, Double> averaged = ExchangeRateService.weightedAverages(allRates, new ProviderWeights("imported:2, fawaz:0"));
+
+        Assertions.assertEquals(1.2, averaged.get("USD"), 0.0001);
+        Assertions.assertEquals(1.5, averaged.get("NZD"), 0.0001);
+        Assertions.assertEquals(0.86, averaged.get("GBP"), 0.0001);
+        // Equal weights give the plain average.
+        Assertions.assertEquals(ExchangeRateService.calculateAverages(ExchangeRateService.combineRates(allRates)),
+                                ExchangeRateService.weightedAverages(allRates, new ProviderWeights()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ProviderWeights("imported"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ProviderWeights("imported:-1"));
+    }
     
     @Test
     void testValidation() {
@@ -103,5 +207,132 @@ public class ExchangeRateServiceTests {
     	Assertions.assertThrows(IllegalArgumentException.class, () -> _service.getExchangeRates(null, List.of("USD", "NZD")));
     	// Missing symbols.
     	Assertions.assertThrows(IllegalArgumentException.class, () -> _service.getExchangeRates("EUR", null));
+    	// Not a 3-letter code.
+    	Assertions.assertThrows(IllegalArgumentException.class, () -> _service.getExchangeRates("EURO", List.of("USD")));
+    	// Not letters.
+    	Assertions.assertThrows(IllegalArgumentException.class, () -> _service.getExchangeRates("E1R", List.of("USD")));
+    	// Rejected requests are not counted as queries.
+    	verify(_metricsService, never()).incrementTotalQueries();
+    }
+
+    @Test
+    void testPrefetchedResult() {
+        final List<String> symbols = List.of("USD", "NZD");
+        when(_prefetcher.lookup("EUR", symbols)).thenReturn(new ExchangeRateResponse("EUR", Map.of("USD", 1.1, "NZD", 1.6)));
+
+        final ExchangeRateResponse response = _service.getExchangeRates("EUR", symbols);
+        Assertions.assertEquals(1.1, response.getRates().get("USD"), 0.0001);
+
+        verify(_apiService, times(0)).fetchAllRates(anyString(), anyList());
+        verify(_metricsService).incrementTotalQueries();
+    }
+
+    @Test
+    void testOldestProviderDateKept() {
+        final List<String> symbols = List.of("USD");
+        when(_apiService.fetchAllRates("EUR", symbols)).thenReturn(Map.of(
+                "frankfurter", new ExchangeRateResponse("EUR", Map.of("USD", 1.0), LocalDate.of(2025, 1, 9)),
+                "fawaz", new ExchangeRateResponse("EUR", Map.of("USD", 1.2), LocalDate.of(2025, 1, 10))));
+
+        Assertions.assertEquals(LocalDate.of(2025, 1, 9), _service.getExchangeRates("EUR", symbols).getDate());
+    }
+
+    @Test
+    void testMatrixCrossRates() {
+        _matrix.rebuild(Map.of("USD", 1.25, "GBP", 0.8), null, Instant.now().plusSeconds(3600));
+
+        final ExchangeRateResponse response = _service.getExchangeRates("usd", List.of("GBP", "EUR"));
+        Assertions.assertEquals("USD", response.getBase());
+        Assertions.assertEquals(0.64, response.getRates().get("GBP"), 0.0001);
+        Assertions.assertEquals(0.8, response.getRates().get("EUR"), 0.0001);
+        Assertions.assertEquals(1.5625, _service.getRate("GBP", "USD"), 0.0001);
+        Assertions.assertTrue(_service.isCached("GBP", List.of("USD")));
+
+        verify(_apiService, times(0)).fetchAllRates(anyString(), anyList());
+    }
+
+    @Test
+    void testUnsupportedSymbolsRejectedBeforeFetch() {
+        _capabilities.update("frankfurter", List.of("EUR", "USD"));
+        _capabilities.update("fawaz", List.of("eur", "usd", "nzd"));
+        _negativeCache.markUnknown("NZD");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> _service.getExchangeRates("EUR", List.of("USD", "GBP")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> _service.getExchangeRates("EUR", List.of("NZD")));
+
+        verify(_apiService, times(0)).fetchAllRates(anyString(), anyList());
+    }
+
+    @Test
+    void testEmptyResultCachedBriefly() {
+        when(_apiService.fetchAllRates("EUR", List.of("USD"))).thenReturn(Map.of());
+
+        _service.getExchangeRates("EUR", List.of("USD"));
+
+        verify(_negativeCache).failureExpiresAt(any());
+        verify(_expiryPolicy, times(0)).expiresAt(anyMap(), any());
+    }
+
+    @Test
+    void testPartialResultCachedBriefly() {
+        _negativeCache.markFailing("frankfurter", "EUR");
+        when(_apiService.fetchAllRates("EUR", List.of("USD"))).thenReturn(Map.of(
+                "fawaz", new ExchangeRateResponse("EUR", Map.of("USD", 1.2))));
+
+        Assertions.assertEquals(1.2, _service.getExchangeRates("EUR", List.of("USD")).getRates().get("USD"));
+
+        verify(_negativeCache).failureExpiresAt(any());
+        verify(_expiryPolicy, times(0)).expiresAt(anyMap(), any());
+        // Frankfurter's absence is not a change.
+        Assertions.assertNull(_service.getRateChanges("EUR", 0));
+    }
+
+    @Test
+    void testFetchedRatesRecordedAsChanges() {
+        when(_apiService.fetchAllRates("EUR", List.of("USD"))).thenReturn(Map.of(
+                "fawaz", new ExchangeRateResponse("EUR", Map.of("USD", 1.2))));
+
+        _service.getExchangeRates("EUR", List.of("USD"));
+
+        Assertions.assertEquals(Map.of("USD", 1.2), _service.getRateChanges("eur", 0).getChanges());
+        Assertions.assertNull(_service.getRateChanges("GBP", 0));
+    }
+
+    @Test
+    void testImportRefreshesAffectedBases() {
+        when(_apiService.fetchAllRates("EUR", List.of("USD")))
+                .thenReturn(Map.of("fawaz", new ExchangeRateResponse("EUR", Map.of("USD", 1.2))))
+                .thenReturn(Map.of("fawaz", new ExchangeRateResponse("EUR", Map.of("USD", 1.2)),
+                                   "imported", new ExchangeRateResponse("EUR", Map.of("USD", 1.3))));
+        when(_apiService.fetchAllRates("GBP", List.of("USD"))).thenReturn(Map.of(
+                "fawaz", new ExchangeRateResponse("GBP", Map.of("USD", 1.25))));
+        _service.getExchangeRates("EUR", List.of("USD"));
+        _service.getExchangeRates("GBP", List.of("USD"));
+
+        _service.onRatesImported(new RatesImportedEvent(Set.of("EUR")));
+
+        verify(_prefetcher).refresh(Set.of("EUR"));
+        Assertions.assertFalse(_service.isCached("EUR", List.of("USD")));
+        Assertions.assertTrue(_service.isCached("GBP", List.of("USD")));
+        // The next request picks up the imported rate.
+        Assertions.assertEquals(1.25, _service.getExchangeRates("EUR", List.of("USD")).getRates().get("USD"), 0.0001);
+    }
+
+    @Test
+    void testImportedBaseServedOverMatrix() {
+        _matrix.rebuild(Map.of("USD", 1.25, "HKD", 10.0), null, Instant.now().plusSeconds(3600));
+        when(_apiService.fetchAllRates("HKD", List.of("USD"))).thenReturn(Map.of(
+                "imported", new ExchangeRateResponse("HKD", Map.of("USD", 0.128))));
+        Assertions.assertEquals(0.125, _service.getExchangeRates("HKD", List.of("USD")).getRates().get("USD"), 0.0001);
+
+        // HKD is not prefetched, so only the fetch path sees the import.
+        _service.onRatesImported(new RatesImportedEvent(Set.of("HKD")));
+
+        Assertions.assertFalse(_service.isCached("HKD", List.of("USD")));
+        Assertions.assertEquals(0.128, _service.getExchangeRates("hkd", List.of("USD")).getRates().get("USD"), 0.0001);
+        Assertions.assertEquals(0.128, _service.getRate("HKD", "USD"), 0.0001);
+        // Other bases are still crossed from the matrix.
+        Assertions.assertEquals(8.0, _service.getRate("USD", "HKD"), 0.0001);
+        verify(_apiService, times(1)).fetchAllRates(anyString(), anyList());
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,12 @@
 package com.cj.exchangerates.service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +15,7 @@ import org.mockito.Mock;
 
 import com.cj.exchangerates.model.MetricsSnapshot;
 import com.cj.exchangerates.model.MetricsSnapshot.ApiMetricsWithName;
+import com.cj.exchangerates.model.ProviderScore;
 
 public class MetricsServiceTests {
 
@@ -72,4 +79,62 @@ public class MetricsServiceTests {
     	Assertions.assertEquals(2, metric2.getMetrics().getTotalResponses());
     }
     
-}
\ No newline at end of file
+    @Test
+    void testProviderScores() {
+    	_metricsService = new MetricsService(Clock.fixed(Instant.parse("2025-01-10T12:00:00Z"), ZoneOffset.UTC));
+    	Assertions.assertNull(_metricsService.getProviderScore("fast"));
+
+    	_metricsService.incrementRequest("fast");
+    	_metricsService.recordProviderCall("fast", TimeUnit.MILLISECONDS.toNanos(100), true, LocalDate.of(2025, 1, 10));
+    	_metricsService.recordProviderCall("fast", TimeUnit.MILLISECONDS.toNanos(200), true, null);
+    	final ProviderScore fast = _metricsService.getProviderScore("fast");
+    	Assertions.assertEquals(120, fast.getLatencyMillis(), 0.0001);
+    	Assertions.assertEquals(0, fast.getErrorRate(), 0.0001);
+    	Assertions.assertEquals(LocalDate.of(2025, 1, 10), fast.getDataDate());
+    	Assertions.assertEquals(2, fast.getCalls());
+    	Assertions.assertTrue(fast.isHealthy());
+    	Assertions.assertEquals(120, fast.getScore(), 0.0001);
+
+    	// Failures raise the error rate and therefore the expected time to an answer.
+    	_metricsService.recordProviderCall("flaky", TimeUnit.MILLISECONDS.toNanos(100), true, LocalDate.of(2025, 1, 10));
+    	_metricsService.recordProviderCall("flaky", TimeUnit.MILLISECONDS.toNanos(100), false, null);
+    	final ProviderScore flaky = _metricsService.getProviderScore("flaky");
+    	Assertions.assertEquals(0.2, flaky.getErrorRate(), 0.0001);
+    	Assertions.assertEquals(125, flaky.getScore(), 0.0001);
+    	Assertions.assertTrue(flaky.isHealthy());
+
+    	// Data older than the allowed staleness makes a provider unhealthy.
+    	_metricsService.recordProviderCall("stale", TimeUnit.MILLISECONDS.toNanos(50), true, LocalDate.of(2025, 1, 1));
+    	Assertions.assertFalse(_metricsService.getProviderScore("stale").isHealthy());
+
+    	final ApiMetricsWithName metric = _metricsService.getSnapshot().getApis().get(0);
+    	Assertions.assertEquals("fast", metric.getName());
+    	Assertions.assertEquals(120, metric.getHealth().getLatencyMillis(), 0.0001);
+    }
+
+    @Test
+    void testPublishedSnapshot() {
+    	_metricsService.incrementRequest("API 1");
+    	final byte[] first = _metricsService.getEncodedSnapshot();
+    	Assertions.assertEquals("{\"totalQueries\":0,\"apis\":[{\"name\":\"API 1\",\"metrics\":{\"totalRequests\":1,\"totalResponses\":0,\"totalTimeouts\":0}}]}",
+    	                        new String(first, StandardCharsets.UTF_8));
+
+    	// Reads return the published bytes until the next publication.
+    	_metricsService.incrementTotalQueries();
+    	Assertions.assertSame(first, _metricsService.getEncodedSnapshot());
+    	_metricsService.publish();
+    	Assertions.assertTrue(new String(_metricsService.getEncodedSnapshot(), StandardCharsets.UTF_8).startsWith("{\"totalQueries\":1,"));
+    }
+
+    @Test
+    void testIncrementTimeouts() {
+    	_metricsService.incrementRequest("API 1");
+    	_metricsService.incrementRequest("API 1");
+    	_metricsService.incrementTimeout("API 1");
+    	final ApiMetricsWithName metric = _metricsService.getSnapshot().getApis().get(0);
+    	Assertions.assertEquals(2, metric.getMetrics().getTotalRequests());
+    	Assertions.assertEquals(0, metric.getMetrics().getTotalResponses());
+    	Assertions.assertEquals(1, metric.getMetrics().getTotalTimeouts());
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.cj.exchangerates.service;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.cj.exchangerates.cache.CacheKey;
+
+public class ProviderCapabilitiesTests {
+
+    private final ProviderCapabilities _capabilities = new ProviderCapabilities();
+
+    @Test
+    void testEverythingSupportedBeforeDiscovery() {
+        final List<String> symbols = List.of("USD", "XAU");
+
+        Assertions.assertTrue(_capabilities.supportedByAny(CacheKey.tryEncode("XAU")));
+        Assertions.assertSame(symbols, _capabilities.supportedSymbols("frankfurter", symbols));
+    }
+
+    @Test
+    void testDiscoveredLists() {
+        _capabilities.update("frankfurter", List.of("EUR", "USD", "GBP"));
+        _capabilities.update("fawaz", List.of("eur", "usd", "btc", "1inch"));
+
+        Assertions.assertEquals(List.of("USD", "GBP"), _capabilities.supportedSymbols("frankfurter", List.of("BTC", "USD", "GBP")));
+        Assertions.assertEquals(List.of(), _capabilities.supportedSymbols("frankfurter", List.of("BTC")));
+        Assertions.assertTrue(_capabilities.supports("fawaz", "BTC"));
+        Assertions.assertTrue(_capabilities.supportedByAny(CacheKey.tryEncode("gbp")));
+        Assertions.assertFalse(_capabilities.supportedByAny(CacheKey.tryEncode("XAU")));
+    }
+}
@@ -0,0 +1,114 @@
+package com.cj.exchangerates.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.cj.exchangerates.cache.NegativeCache;
+import com.cj.exchangerates.cache.RateChangeLog;
+import com.cj.exchangerates.model.ExchangeRateResponse;
+
+public class RatePrefetcherTests {
+
+    @InjectMocks
+    private RatePrefetcher _prefetcher;
+
+    @Mock
+    private IApiService _apiService;
+
+    @Spy
+    private NegativeCache _negativeCache = new NegativeCache();
+
+    @Spy
+    private RateChangeLog _changes = new RateChangeLog();
+
+    @BeforeEach
+    void init() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(_prefetcher, "upstreamThreadFactory", Executors.defaultThreadFactory());
+        ReflectionTestUtils.setField(_prefetcher, "bases", List.of("EUR", "usd"));
+        ReflectionTestUtils.setField(_prefetcher, "symbols", List.of("EUR", "USD", "NZD"));
+    }
+
+    @Test
+    void testPrefetchAndLookup() {
+        when(_apiService.fetchAllRates("EUR", List.of("USD", "NZD"))).thenReturn(Map.of(
+                "frankfurter", new ExchangeRateResponse("EUR", Map.of("USD", 1.0, "NZD", 1.5)),
+                "fawaz", new ExchangeRateResponse("EUR", Map.of("USD", 1.2, "NZD", 1.7))));
+        when(_apiService.fetchAllRates("USD", List.of("EUR", "NZD"))).thenReturn(Map.of(
+                "fawaz", new ExchangeRateResponse("USD", Map.of("EUR", 0.9, "NZD", 1.4))));
+
+        _prefetcher.prefetch();
+
+        final ExchangeRateResponse response = _prefetcher.lookup("eur", List.of("nzd"));
+        Assertions.assertEquals("EUR", response.getBase());
+        Assertions.assertEquals(Map.of("NZD", 1.6), response.getRates());
+        Assertions.assertTrue(_prefetcher.covers("USD", List.of("EUR", "NZD")));
+
+        // Symbols or bases outside the tables fall through to the normal path.
+        Assertions.assertNull(_prefetcher.lookup("EUR", List.of("USD", "JPY")));
+        Assertions.assertNull(_prefetcher.lookup("GBP", List.of("USD")));
+    }
+
+    @Test
+    void testFailedRefreshKeepsTable() {
+        when(_apiService.fetchAllRates("EUR", List.of("USD", "NZD")))
+                .thenReturn(Map.of("fawaz", new ExchangeRateResponse("EUR", Map.of("USD", 1.2, "NZD", 1.7))))
+                .thenReturn(Map.of());
+
+        _prefetcher.prefetch();
+        _prefetcher.prefetch();
+
+        Assertions.assertEquals(1.2, _prefetcher.lookup("EUR", List.of("USD")).getRates().get("USD"), 0.0001);
+    }
+
+    @Test
+    void testPartialTableExpiresWithFailure() {
+        when(_apiService.fetchAllRates("EUR", List.of("USD", "NZD"))).thenReturn(Map.of(
+                "fawaz", new ExchangeRateResponse("EUR", Map.of("USD", 1.2, "NZD", 1.7))));
+        when(_apiService.fetchAllRates("USD", List.of("EUR", "NZD"))).thenReturn(Map.of(
+                "fawaz", new ExchangeRateResponse("USD", Map.of("EUR", 0.9, "NZD", 1.4))));
+        // Frankfurter is failing for EUR, and its failure has already been retried.
+        doReturn(true).when(_negativeCache).isAnyFailing("EUR");
+        doReturn(Instant.now().minusSeconds(1)).when(_negativeCache).failureExpiresAt(any());
+
+        _prefetcher.prefetch();
+
+        Assertions.assertNull(_prefetcher.lookup("EUR", List.of("USD")));
+        Assertions.assertFalse(_prefetcher.covers("EUR", List.of("USD")));
+        Assertions.assertNotNull(_prefetcher.lookup("USD", List.of("EUR")));
+        // Only the complete table is recorded as changes.
+        Assertions.assertNull(_changes.changesSince("EUR", 0));
+        Assertions.assertNotNull(_changes.changesSince("USD", 0));
+    }
+
+    @Test
+    void testRefreshOnlyPrefetchedBases() {
+        when(_apiService.fetchAllRates("EUR", List.of("USD", "NZD"))).thenReturn(Map.of(
+                "imported", new ExchangeRateResponse("EUR", Map.of("USD", 1.3, "NZD", 1.6))));
+
+        _prefetcher.refresh(List.of("eur", "GBP"));
+
+        verify(_apiService, timeout(1_000)).fetchAllRates("EUR", List.of("USD", "NZD"));
+        verify(_apiService, never()).fetchAllRates(eq("GBP"), any());
+        verify(_apiService, never()).fetchAllRates(eq("USD"), any());
+    }
+}
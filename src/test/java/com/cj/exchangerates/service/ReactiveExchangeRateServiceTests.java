@@ -0,0 +1,85 @@
+package com.cj.exchangerates.service;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.cj.exchangerates.model.ExchangeRateResponse;
+
+import reactor.core.publisher.Mono;
+
+public class ReactiveExchangeRateServiceTests {
+
+    @InjectMocks
+    private ReactiveExchangeRateService _service;
+
+    @Mock
+    private IReactiveApiService _apiService;
+
+    @Mock
+    private MetricsService _metricsService;
+
+    @BeforeEach
+    void init() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testAveraging() {
+        final List<String> symbols = List.of("USD", "NZD");
+        final String base = "EUR";
+
+        // Mock.
+        final Map<String, ExchangeRateResponse> mockRates = new HashMap<>();
+        mockRates.put("frankfurter", new ExchangeRateResponse(base, Map.of("USD", 1.0, "NZD", 1.5)));
+        mockRates.put("fawaz", new ExchangeRateResponse(base, Map.of("USD", 1.2, "NZD", 1.7)));
+        when(_apiService.fetchAllRates(base, symbols)).thenReturn(Mono.just(mockRates));
+
+        final ExchangeRateResponse response = _service.getExchangeRates(base, symbols).block();
+
+        Assertions.assertNotNull(response);
+        Assertions.assertEquals("EUR", response.getBase());
+        Assertions.assertEquals(1.1, response.getRates().get("USD"), 0.0001);
+        Assertions.assertEquals(1.6, response.getRates().get("NZD"), 0.0001);
+
+        verify(_metricsService).incrementTotalQueries();
+    }
+
+    @Test
+    void testCachedResult() {
+        final List<String> symbols = List.of("USD", "NZD");
+        final String base = "EUR";
+
+        // Mock.
+        final Map<String, ExchangeRateResponse> mockRates = new HashMap<>();
+        mockRates.put("fawaz", new ExchangeRateResponse(base, Map.of("USD", 1.2, "NZD", 1.7)));
+        when(_apiService.fetchAllRates(base, symbols)).thenReturn(Mono.just(mockRates));
+
+        final ExchangeRateResponse first = _service.getExchangeRates(base, symbols).block();
+        final ExchangeRateResponse second = _service.getExchangeRates(base, symbols).block();
+        Assertions.assertNotNull(first);
+        Assertions.assertEquals(first, second);
+
+        // The second call should have been served from the cache.
+        verify(_apiService, times(1)).fetchAllRates(base, symbols);
+    }
+
+    @Test
+    void testValidation() {
+        // Missing base.
+        Assertions.assertThrows(IllegalArgumentException.class, () -> _service.getExchangeRates(null, List.of("USD", "NZD")).block());
+        // Missing symbols.
+        Assertions.assertThrows(IllegalArgumentException.class, () -> _service.getExchangeRates("EUR", null).block());
+    }
+}
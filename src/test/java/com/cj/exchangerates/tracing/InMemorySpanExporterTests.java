@@ -0,0 +1,82 @@
+package com.cj.exchangerates.tracing;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+
+public class InMemorySpanExporterTests {
+
+    private static final long START = 1_700_000_000_000L;
+
+    private InMemorySpanExporter _exporter;
+
+    private Tracer _tracer;
+
+    @BeforeEach
+    void init() {
+        _exporter = new InMemorySpanExporter(Duration.ofMillis(100), 2);
+        _tracer = SdkTracerProvider.builder()
+                                   .addSpanProcessor(SimpleSpanProcessor.create(_exporter))
+                                   .build()
+                                   .get("test");
+    }
+
+    @Test
+    void testSlowRequestKeptWithSpans() {
+        final Span root = start("http get /exchangeRates/{base}", null, 0);
+        end(start("cache lookup", root, 10), 30);
+        end(start("frankfurter", root, 30), 180);
+        end(root, 200);
+
+        final List<SlowRequest> slow = _exporter.getSlowRequests();
+        Assertions.assertEquals(1, slow.size());
+        Assertions.assertEquals(root.getSpanContext().getTraceId(), slow.get(0).traceId());
+        Assertions.assertEquals(200.0, slow.get(0).durationMs(), 0.001);
+
+        final List<SlowRequest.Span> spans = slow.get(0).spans();
+        Assertions.assertEquals(List.of("cache lookup", "frankfurter"), spans.stream().map(SlowRequest.Span::name).toList());
+        Assertions.assertEquals(10.0, spans.get(0).offsetMs(), 0.001);
+        Assertions.assertEquals(20.0, spans.get(0).durationMs(), 0.001);
+        Assertions.assertEquals(root.getSpanContext().getSpanId(), spans.get(1).parentId());
+    }
+
+    @Test
+    void testFastRequestDropped() {
+        final Span root = start("http get /exchangeRates/{base}", null, 0);
+        end(start("cache lookup", root, 1), 2);
+        end(root, 50);
+
+        Assertions.assertTrue(_exporter.getSlowRequests().isEmpty());
+    }
+
+    @Test
+    void testCapacityKeepsMostRecent() {
+        for (String name : List.of("first", "second", "third")) {
+            end(start(name, null, 0), 150);
+        }
+
+        Assertions.assertEquals(List.of("third", "second"),
+                _exporter.getSlowRequests().stream().map(SlowRequest::name).toList());
+    }
+
+    private Span start(String name, Span parent, long offsetMillis) {
+        return _tracer.spanBuilder(name)
+                      .setParent(parent != null ? Context.root().with(parent) : Context.root())
+                      .setStartTimestamp(START + offsetMillis, TimeUnit.MILLISECONDS)
+                      .startSpan();
+    }
+
+    private static void end(Span span, long offsetMillis) {
+        span.end(START + offsetMillis, TimeUnit.MILLISECONDS);
+    }
+}
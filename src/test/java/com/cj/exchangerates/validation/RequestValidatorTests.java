@@ -0,0 +1,47 @@
+package com.cj.exchangerates.validation;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class RequestValidatorTests {
+
+    private final RequestValidator _validator = new RequestValidator();
+
+    @Test
+    void testValidRequest() {
+        Assertions.assertTrue(_validator.validate("USD", List.of("EUR", "gbp", "JPY")).isEmpty());
+    }
+
+    @Test
+    void testMissingValues() {
+        Assertions.assertEquals(List.of(
+                new ValidationError("base", null, "Currency code must be provided"),
+                new ValidationError("symbols", null, "At least one target currency symbol must be provided")),
+            _validator.validate(null, List.of()));
+
+        Assertions.assertEquals(List.of(new ValidationError("symbols[1]", null, "Currency code must be provided")),
+            _validator.validate("USD", Arrays.asList("EUR", null)));
+    }
+
+    @Test
+    void testMalformedAndUnknownCodes() {
+        final List<ValidationError> errors = _validator.validate("EURO", List.of("US1", "QQQ", "GBP", ""));
+
+        Assertions.assertEquals(List.of("base", "symbols[0]", "symbols[1]", "symbols[3]"),
+            errors.stream().map(ValidationError::field).toList());
+        Assertions.assertEquals("Currency codes must be 3-letter codes", errors.get(1).message());
+        Assertions.assertEquals("Unknown currency code", errors.get(2).message());
+    }
+
+    @Test
+    void testExtraCurrencies() {
+        Assertions.assertFalse(new CurrencyRegistry().isKnown("BTC"));
+
+        ReflectionTestUtils.setField(_validator, "registry", new CurrencyRegistry(List.of("BTC", " eth ")));
+        Assertions.assertTrue(_validator.validate("btc", List.of("ETH", "USD")).isEmpty());
+    }
+}